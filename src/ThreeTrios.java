@@ -1,16 +1,12 @@
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Set;
 
 import model.Colors;
 import model.OurReadToProviderReadADT;
 import model.ThreeTrioGameModel;
-import model.ruled.FallenAceRule;
-import model.ruled.FlipGreaterRule;
-import model.ruled.PlusRule;
-import model.ruled.ReverseRule;
+import model.ruled.RuleEngine;
+import model.ruled.RuleRegistry;
 import model.ruled.RuledThreeTrioModel;
-import model.ruled.SameRule;
 import model.ruled.ThreeTrioRule;
 import player.HumanPlayer;
 import player.MachinePlayer;
@@ -19,6 +15,7 @@ import player.PlayerActions;
 import controller.ThreeTrioPlayerControllerImpl;
 import filereaders.ReadCardConfig;
 import filereaders.ReadGridConfig;
+import model.ConcurrentThreeTrioModel;
 import model.ModelFeatures;
 import model.UpdatedThreeTrioModel;
 import model.PlayableCard;
@@ -26,12 +23,15 @@ import provider.model.inter.Player;
 import provider.model.inter.ReadOnlyThreesTrioModel;
 import provider.view.implementations.ThreesTrioFrame;
 import provider.view.inter.ThreesTrioView;
+import strategy.AlphaBetaStrategy;
 import strategy.CornerStrategy;
+import strategy.EndgameSolver;
 import strategy.FailableThreeTrioStrategy;
 import strategy.FlipMostCardsStrategy;
 import strategy.InfailableThreeTrioStrategy;
 import strategy.LeastExposedStrategy;
 import strategy.MinMaxStrategy;
+import strategy.MonteCarloStrategy;
 import view.JFrameView;
 import view.ThreeTrioGameView;
 
@@ -41,6 +41,8 @@ import view.ThreeTrioGameView;
  * and then displays the game board in a JFrame.
  */
 public final class ThreeTrios {
+  private static final long SEARCH_BUDGET_MILLIS = 1000; // per move of the searching player
+  private static final int ENDGAME_CELLS = 10; // empty cells left when searches solve the game
 
   /**
    * The main method to run a game of Three Trio.
@@ -54,14 +56,16 @@ public final class ThreeTrios {
     String[] ruleArguments = Arrays.copyOfRange(args, 2, args.length);
     Set<ThreeTrioRule> rules = ThreeTrios.parseRules(ruleArguments);
 
-    ThreeTrioGameModel<PlayableCard> ruledModel = new RuledThreeTrioModel(rules);
-    ModelFeatures<PlayableCard> model = new UpdatedThreeTrioModel(ruledModel);
+    RuleEngine engine = RuleEngine.compile(rules);
+    ThreeTrioGameModel<PlayableCard> ruledModel = new RuledThreeTrioModel(engine);
+    ModelFeatures<PlayableCard> model = new UpdatedThreeTrioModel(
+            new ConcurrentThreeTrioModel<>(ruledModel));
     ReadGridConfig readGrid = new ReadGridConfig("BoardConfig/HoleAndCardCellBoard");
     //    ReadCardConfig readCard = new ReadCardConfig("CardConfig/EnoughForAnyBoardsAce");
     ReadCardConfig readCard = new ReadCardConfig("CardConfig/ForPlus");
 
-    PlayerActions playerOne = ThreeTrios.parseInput(model, args[0]);
-    PlayerActions playerTwo = ThreeTrios.parseInput(model, args[1]);
+    PlayerActions playerOne = ThreeTrios.parseInput(model, engine, args[0]);
+    PlayerActions playerTwo = ThreeTrios.parseInput(model, engine, args[1]);
 
 
     // We need to start the game before creating the second view because their impl calls methods
@@ -96,7 +100,7 @@ public final class ThreeTrios {
   }
 
   // Creates a PlayerAction depending on the input parameters.
-  private static PlayerActions parseInput(ModelFeatures<PlayableCard> model,
+  private static PlayerActions parseInput(ModelFeatures<PlayableCard> model, RuleEngine engine,
                                           String assignmentValue) {
     switch (assignmentValue) {
       case "human":
@@ -113,45 +117,23 @@ public final class ThreeTrios {
       case "strategy4":
         InfailableThreeTrioStrategy<PlayableCard> minMax = new MinMaxStrategy<>();
         return new MachinePlayer<>(model, minMax);
+      case "strategy5":
+        InfailableThreeTrioStrategy<PlayableCard> search = new EndgameSolver<>(engine,
+                ENDGAME_CELLS, new AlphaBetaStrategy<>(engine, SEARCH_BUDGET_MILLIS));
+        return new MachinePlayer<>(model, search);
+      case "strategy6":
+        InfailableThreeTrioStrategy<PlayableCard> monteCarlo = new EndgameSolver<>(engine,
+                ENDGAME_CELLS, new MonteCarloStrategy<>(engine, SEARCH_BUDGET_MILLIS));
+        return new MachinePlayer<>(model, monteCarlo);
       default:
         throw new IllegalArgumentException("Error: Invalid input. Valid inputs include: 'human'"
-                + "'strategy1', 'strategy2', 'strategy3', 'strategy4'");
+                + "'strategy1', 'strategy2', 'strategy3', 'strategy4', 'strategy5', "
+                + "'strategy6'");
     }
   }
 
-  // Create rules based on the remaining inputs.
+  // Create rules based on the remaining inputs, by their names in the RuleRegistry.
   private static Set<ThreeTrioRule> parseRules(String[] args) {
-    if (args.length == 0) {
-      return Set.of(new FlipGreaterRule()); // Returns default upon no input
-    } else {
-      Set<ThreeTrioRule> rulesToAdd = new HashSet<>();
-      for (String arg : args) {
-        rulesToAdd.add(parseRule(arg));
-      }
-      if (!(rulesToAdd.contains(new FlipGreaterRule())
-              || rulesToAdd.contains(new ReverseRule())
-              || rulesToAdd.contains(new FallenAceRule()))) {
-        rulesToAdd.add(new FlipGreaterRule());
-      }
-      return rulesToAdd;
-    }
-  }
-
-  private static ThreeTrioRule parseRule(String input) {
-    switch (input) {
-      case "default":
-        return new FlipGreaterRule();
-      case "reverse":
-        return new ReverseRule();
-      case "fallen-ace":
-        return new FallenAceRule();
-      case "same":
-        return new SameRule();
-      case "plus":
-        return new PlusRule();
-      default:
-        throw new IllegalArgumentException("Error: Invalid rule. Rules include: " +
-                "'default', 'reverse', 'fallen-ace', 'same', 'plus'");
-    }
+    return RuleRegistry.load().createAll(Arrays.asList(args));
   }
-}
\ No newline at end of file
+}
@@ -1,6 +1,5 @@
 package controller;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -173,21 +172,14 @@ public class ThreeTrioPlayerControllerImpl<C extends Card> implements ThreeTrioG
 
     Map<Coordinate, Integer> hintNums = new HashMap<>();
 
-    List<Coordinate> playableCells = new ArrayList<>();
-    for (int row = 0; row < this.model.getGridLength(); row++) {
-      for (int col = 0; col < this.model.getGridWidth(); col++) {
-        if (this.model.checkLegal(row, col)) {
-          playableCells.add(new Coordinate(row, col));
-        }
-      }
-    }
-    List<Integer> numFlip = new ArrayList<>();
-    for (Coordinate cell : playableCells) {
-      int flips = this.model.getFlipCount(playerIdx, this.selectedCard, cell.getX(), cell.getY());
-      numFlip.add(flips);
-    }
-    for (int i = 0; i < playableCells.size(); i++) {
-      hintNums.put(playableCells.get(i), numFlip.get(i));
+    // only the selected card is counted, on the empty cells only
+    int width = this.model.getGridWidth();
+    for (int cell = this.model.nextEmptyCell(0); cell >= 0;
+         cell = this.model.nextEmptyCell(cell + 1)) {
+      int row = cell / width;
+      int col = cell % width;
+      hintNums.put(new Coordinate(row, col),
+              this.model.getFlipCount(playerIdx, this.selectedCard, row, col));
     }
     this.view.setHints(hintNums);
   }
@@ -0,0 +1,158 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The regions of a board: groups of card cells connected to each other through neighboring
+ * card cells. Holes split a board into regions, and cards in different regions can never
+ * battle, so flips, moves and searches in one region never affect another.
+ * Regions are numbered from 0 in the row-major order of their first cell, and cells are
+ * identified by their row-major index (row * width + col).
+ * The regions are found once, with a union-find over the neighbors of every card cell, and
+ * are immutable, so they can be shared by every game on the same board.
+ */
+public final class BoardRegions {
+  /**
+   * The region of a hole, which belongs to no region.
+   */
+  public static final int NO_REGION = -1;
+
+  private final int rows;
+  private final int cols;
+  private final int[] regionOf; // cell -> region or NO_REGION
+  private final List<List<Integer>> cells; // region -> its cells, in row-major order
+
+  private BoardRegions(int rows, int cols, boolean[] holes) {
+    this.rows = rows;
+    this.cols = cols;
+    int[] parent = new int[holes.length];
+    int[] size = new int[holes.length];
+    for (int cell = 0; cell < holes.length; cell++) {
+      parent[cell] = cell;
+      size[cell] = 1;
+    }
+    for (int cell = 0; cell < holes.length; cell++) {
+      if (holes[cell]) {
+        continue;
+      }
+      // the neighbors to the north and west were already joined to this cell
+      if (cell % cols < cols - 1 && !holes[cell + 1]) {
+        union(parent, size, cell, cell + 1);
+      }
+      if (cell + cols < holes.length && !holes[cell + cols]) {
+        union(parent, size, cell, cell + cols);
+      }
+    }
+
+    this.regionOf = new int[holes.length];
+    int[] regionOfRoot = new int[holes.length];
+    Arrays.fill(regionOfRoot, NO_REGION);
+    List<List<Integer>> regions = new ArrayList<>();
+    for (int cell = 0; cell < holes.length; cell++) {
+      if (holes[cell]) {
+        this.regionOf[cell] = NO_REGION;
+        continue;
+      }
+      int root = find(parent, cell);
+      if (regionOfRoot[root] == NO_REGION) {
+        regionOfRoot[root] = regions.size();
+        regions.add(new ArrayList<>());
+      }
+      this.regionOf[cell] = regionOfRoot[root];
+      regions.get(regionOfRoot[root]).add(cell);
+    }
+    List<List<Integer>> frozen = new ArrayList<>();
+    for (List<Integer> region : regions) {
+      frozen.add(Collections.unmodifiableList(region));
+    }
+    this.cells = Collections.unmodifiableList(frozen);
+  }
+
+  // the root of the set of the given cell, halving the path to it on the way
+  private static int find(int[] parent, int cell) {
+    while (parent[cell] != cell) {
+      parent[cell] = parent[parent[cell]];
+      cell = parent[cell];
+    }
+    return cell;
+  }
+
+  // joins the sets of the two cells, hanging the smaller set under the larger one
+  private static void union(int[] parent, int[] size, int first, int second) {
+    int firstRoot = find(parent, first);
+    int secondRoot = find(parent, second);
+    if (firstRoot == secondRoot) {
+      return;
+    }
+    if (size[firstRoot] < size[secondRoot]) {
+      int swap = firstRoot;
+      firstRoot = secondRoot;
+      secondRoot = swap;
+    }
+    parent[secondRoot] = firstRoot;
+    size[firstRoot] += size[secondRoot];
+  }
+
+  /**
+   * Finds the regions of the given grid. Only the shape and the position of holes are read;
+   * cards and colors are ignored.
+   * @param grid the grid to find the regions of.
+   * @return the regions of the grid.
+   * @throws IllegalArgumentException if the grid is empty or its rows differ in length.
+   */
+  public static BoardRegions of(List<List<Cells>> grid) {
+    if (grid == null || grid.isEmpty() || grid.get(0).isEmpty()) {
+      throw new IllegalArgumentException("Grid must have at least one cell.");
+    }
+    int rows = grid.size();
+    int cols = grid.get(0).size();
+    boolean[] holes = new boolean[rows * cols];
+    for (int row = 0; row < rows; row++) {
+      if (grid.get(row).size() != cols) {
+        throw new IllegalArgumentException("Every row of the grid must have the same length.");
+      }
+      for (int col = 0; col < cols; col++) {
+        holes[row * cols + col] = grid.get(row).get(col).isHole();
+      }
+    }
+    return new BoardRegions(rows, cols, holes);
+  }
+
+  /**
+   * Returns the number of regions of the board.
+   * @return the number of regions, 0 if every cell is a hole.
+   */
+  public int getRegionCount() {
+    return this.cells.size();
+  }
+
+  /**
+   * Returns the region of the cell at the given coordinate.
+   * @param row the row of the cell. 0 index based.
+   * @param col the column of the cell. 0 index based.
+   * @return the region of the cell, or NO_REGION if it is a hole.
+   * @throws IllegalArgumentException if the coordinate is not on the board.
+   */
+  public int regionOf(int row, int col) {
+    if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+      throw new IllegalArgumentException("Invalid row or column given.");
+    }
+    return this.regionOf[row * this.cols + col];
+  }
+
+  /**
+   * Returns the cells of the given region.
+   * @param region the region, from 0 to getRegionCount() - 1.
+   * @return an unmodifiable list of the row-major indices of its cells, in increasing order.
+   * @throws IllegalArgumentException if there is no such region.
+   */
+  public List<Integer> getCells(int region) {
+    if (region < 0 || region >= this.cells.size()) {
+      throw new IllegalArgumentException("Invalid region given.");
+    }
+    return this.cells.get(region);
+  }
+}
@@ -0,0 +1,141 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An immutable view of a Three Trio board at one point of a game: which cells are holes, which
+ * cards are on the board and who owns them. Snapshots are taken from a PersistentBoard and
+ * share with it every part of the board that has not changed since, so taking one is cheap.
+ * Nothing can change a snapshot once it is taken, so it can be kept and read from any thread
+ * while the game goes on.
+ */
+public final class BoardSnapshot {
+  private final int rows;
+  private final int cols;
+  private final boolean[] holes;
+  private final Card[][] cards; // chunk -> cell in chunk -> card, or null if none
+  private final Colors[][] owners; // chunk -> cell in chunk -> owner, or null if none
+
+  /**
+   * Constructor for a snapshot of the given arrays, which must never be written to again.
+   */
+  BoardSnapshot(int rows, int cols, boolean[] holes, Card[][] cards, Colors[][] owners) {
+    this.rows = rows;
+    this.cols = cols;
+    this.holes = holes;
+    this.cards = cards;
+    this.owners = owners;
+  }
+
+  /**
+   * Returns the number of rows of the board.
+   * @return the number of rows.
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Returns the number of columns of the board.
+   * @return the number of columns.
+   */
+  public int getCols() {
+    return this.cols;
+  }
+
+  /**
+   * Determines if the cell at the given coordinate is a hole.
+   * @param row The row of the board. 0 index based.
+   * @param col The column of the board. 0 index based.
+   * @return true iff the cell is a hole.
+   * @throws IllegalArgumentException if the coordinate is not on the board.
+   */
+  public boolean isHole(int row, int col) {
+    return this.holes[this.indexOf(row, col)];
+  }
+
+  /**
+   * Returns the card on the cell at the given coordinate, if there is one.
+   * @param row The row of the board. 0 index based.
+   * @param col The column of the board. 0 index based.
+   * @return the card on the cell, or empty if the cell is a hole or has no card.
+   * @throws IllegalArgumentException if the coordinate is not on the board.
+   */
+  public Optional<Card> getContent(int row, int col) {
+    int cell = this.indexOf(row, col);
+    return Optional.ofNullable(
+            this.cards[cell / PersistentBoard.CHUNK_SIZE][cell % PersistentBoard.CHUNK_SIZE]);
+  }
+
+  /**
+   * Returns the color of the player owning the card on the cell at the given coordinate.
+   * @param row The row of the board. 0 index based.
+   * @param col The column of the board. 0 index based.
+   * @return the color of the owner, or null if the cell is a hole or has no card.
+   * @throws IllegalArgumentException if the coordinate is not on the board.
+   */
+  public Colors getOwner(int row, int col) {
+    int cell = this.indexOf(row, col);
+    return this.owners[cell / PersistentBoard.CHUNK_SIZE][cell % PersistentBoard.CHUNK_SIZE];
+  }
+
+  /**
+   * Returns a new cell with the contents of the cell at the given coordinate. The cell has no
+   * neighbors, and modifying it has no effect on this snapshot.
+   * @param row The row of the board. 0 index based.
+   * @param col The column of the board. 0 index based.
+   * @return a HoleCell if the cell is a hole, otherwise a CardCell with the same card and color.
+   * @throws IllegalArgumentException if the coordinate is not on the board.
+   */
+  public Cells getCell(int row, int col) {
+    if (this.isHole(row, col)) {
+      return new HoleCell();
+    }
+    Cells cell = new CardCell(this.getContent(row, col).orElse(null));
+    cell.changeColor(this.getOwner(row, col));
+    return cell;
+  }
+
+  /**
+   * Returns a new grid with the contents of this snapshot, in the same form as getGrid of the
+   * model, with every cell linked to its neighbors. Modifying it has no effect on this snapshot.
+   * @return a copy of the board as a grid.
+   */
+  public List<List<Cells>> toGrid() {
+    List<List<Cells>> grid = new ArrayList<>();
+    for (int row = 0; row < this.rows; row++) {
+      List<Cells> cells = new ArrayList<>();
+      for (int col = 0; col < this.cols; col++) {
+        cells.add(this.getCell(row, col));
+      }
+      grid.add(cells);
+    }
+    for (int row = 0; row < this.rows; row++) {
+      for (int col = 0; col < this.cols; col++) {
+        Cells cell = grid.get(row).get(col);
+        if (row > 0) {
+          cell.addNeighbor(grid.get(row - 1).get(col), Direction.NORTH);
+        }
+        if (row < this.rows - 1) {
+          cell.addNeighbor(grid.get(row + 1).get(col), Direction.SOUTH);
+        }
+        if (col < this.cols - 1) {
+          cell.addNeighbor(grid.get(row).get(col + 1), Direction.EAST);
+        }
+        if (col > 0) {
+          cell.addNeighbor(grid.get(row).get(col - 1), Direction.WEST);
+        }
+      }
+    }
+    return grid;
+  }
+
+  private int indexOf(int row, int col) {
+    if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+      throw new IllegalArgumentException("Invalid coordinate");
+    }
+    return row * this.cols + col;
+  }
+}
@@ -21,4 +21,15 @@ public interface Card {
    * @return A Number representing the value of the card for the given direction.
    */
   Numbers valueAt(Direction direction);
+
+  /**
+   * Returns the value of the card given a direction as a number, the same as
+   * valueAt(direction).toNum(). Cards that keep their values as numbers can override it to
+   * skip going through Numbers.
+   *
+   * @return A number from 1 to 10 representing the value of the card for the given direction.
+   */
+  default int numAt(Direction direction) {
+    return this.valueAt(direction).toNum();
+  }
 }
@@ -4,21 +4,21 @@ import java.util.HashMap;
 
 /**
  * A concrete Cells class representing a cell that can contain a card in the Three Trio Game.
- * A CardCell can either have one card or no card represented by null. It also has a HashMap
- * called neighbors that maps neighboring cells to the direction that are in relation to this
- * CardCell. Example: There is a neighboring cell to the right of this cell, then the
+ * A CardCell can either have one card or no card represented by null. It also keeps its
+ * neighbors indexed by the direction they are in relation to this CardCell.
+ * Example: There is a neighboring cell to the right of this cell, then the
  * neighboring cell is East of this cell.
  */
 public class CardCell implements Cells {
   private Card card;
-  private final HashMap<Cells, Direction> neighbors;
+  private final Neighbors neighbors;
   private Colors color;
 
   /**
    * Constructor to create a CardCell to be used as part of a grid to be played on.
    */
   public CardCell() {
-    this.neighbors = new HashMap<>();
+    this.neighbors = new Neighbors();
     this.color = null;
   }
 
@@ -28,7 +28,7 @@ public class CardCell implements Cells {
    */
   public CardCell(Card card) {
     this.card = card;
-    this.neighbors = new HashMap<>();
+    this.neighbors = new Neighbors();
     this.color = null;
   }
 
@@ -51,7 +51,7 @@ public class CardCell implements Cells {
 
   @Override
   public void addNeighbor(Cells cell, Direction direction) {
-    this.neighbors.put(cell, direction);
+    this.neighbors.set(direction, cell);
   }
 
   @Override
@@ -63,6 +63,14 @@ public class CardCell implements Cells {
     return false;
   }
 
+  @Override
+  public Card removeCard() {
+    Card removed = this.card;
+    this.card = null;
+    this.color = null;
+    return removed;
+  }
+
   @Override
   public boolean isHole() {
     return false;
@@ -75,7 +83,19 @@ public class CardCell implements Cells {
 
   @Override
   public HashMap<Cells, Direction> getNeighbors() {
-    return new HashMap<>(this.neighbors);
+    HashMap<Cells, Direction> copy = new HashMap<>();
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = this.neighbors.get(dir);
+      if (neighbor != null) {
+        copy.put(neighbor, Direction.fromIndex(dir));
+      }
+    }
+    return copy;
+  }
+
+  @Override
+  public Neighbors neighbors() {
+    return this.neighbors;
   }
 
   @Override
@@ -36,6 +36,13 @@ public interface Cells {
    */
   boolean putCard(Card card);
 
+  /**
+   * Takes the card off of this cell, leaving the cell empty and without a color.
+   * Does nothing if the cell is a hole cell or has no card.
+   * @return the card that was on this cell, or null if there was none.
+   */
+  Card removeCard();
+
   /**
    * Determines if a Cell is a hole or not.
    * @return True is Cell is a HoleCell. False otherwise.
@@ -69,4 +76,13 @@ public interface Cells {
    *         where the cell calling this method is.
    */
   HashMap<Cells, Direction> getNeighbors();
+
+  /**
+   * Returns this cell's neighbors indexed by their direction relative to this cell.
+   * The returned Neighbors is not a copy: it cannot be modified by the caller, but it reflects
+   * neighbors added to this cell later on. Reading it does not allocate, so it is the way to
+   * walk neighbors while battling.
+   * @return the neighbors of this cell, which is empty for cells that keep no neighbors.
+   */
+  Neighbors neighbors();
 }
\ No newline at end of file
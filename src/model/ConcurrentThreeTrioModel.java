@@ -0,0 +1,274 @@
+package model;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * A ThreeTrioGameModel that can be shared by threads that play and threads that watch, such
+ * as the controllers, the views and machine players thinking in the background.
+ * Wraps another model and guards it with a StampedLock. A move holds the write lock from the
+ * moment its card is played until its battle is over, so other threads never see a card
+ * placed before its flips: every card played must be battled, by the same thread, before
+ * other threads can observe the model again. The thread making a move can observe it between
+ * the two, reading the model directly.
+ * Observations first read without any lock and then check that no move was made while they
+ * read; only if one was do they read again, holding the read lock. Frequent observers
+ * therefore neither stall the game nor each other, and never see a torn position.
+ * Reading without a lock runs the wrapped model's own code against a board and hands that
+ * may be changing at the same time, so it can see them inconsistent and throw. An observation
+ * that throws a RuntimeException while a move is being made is therefore read again too, so
+ * it only throws if it would have thrown without the move.
+ * The snapshot of the board is taken once per move, while the move holds the lock, so
+ * getSnapshot never waits at all.
+ * The wrapped model must allow its observations to be made by several threads at once, as the
+ * ThreeTrioModel does, and must only be changed through this model.
+ * @param <C> The type of cards used to play a game of Three Trio.
+ */
+public class ConcurrentThreeTrioModel<C extends Card> implements ThreeTrioGameModel<C> {
+  private final ThreeTrioGameModel<C> delegate;
+  private final StampedLock lock;
+  private volatile BoardSnapshot snapshot; // of the board after the latest move
+  private volatile Thread mover; // the thread between playing a card and its battle, if any
+  private long moveStamp; // the write stamp that thread holds
+
+  /**
+   * Constructor for a model guarding the given model.
+   * @param delegate the model to guard, which must not be changed any other way afterward.
+   * @throws IllegalArgumentException if the model is null.
+   */
+  public ConcurrentThreeTrioModel(ThreeTrioGameModel<C> delegate) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    this.delegate = delegate;
+    this.lock = new StampedLock();
+  }
+
+  // WRITES BELOW
+
+  @Override
+  public void startGame(List<List<Cells>> grid, List<C> deck) {
+    long stamp = this.writeLock();
+    try {
+      this.delegate.startGame(grid, deck);
+      this.snapshot = this.delegate.getSnapshot();
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Plays the card like the guarded model, and keeps the write lock until the card is
+   * battled, so no other thread observes the card placed before its flips.
+   * @param handIdx The hand index for a card that the user wants to play. 0 index based.
+   * @param row The row of the grid. 0 index based.
+   * @param col The column of the grid. 0 index based.
+   */
+  @Override
+  public void playCard(int handIdx, int row, int col) {
+    long stamp = this.writeLock();
+    try {
+      this.delegate.playCard(handIdx, row, col);
+    } catch (RuntimeException e) {
+      this.lock.unlockWrite(stamp);
+      throw e;
+    }
+    this.moveStamp = stamp;
+    this.mover = Thread.currentThread();
+  }
+
+  @Override
+  public void battle() {
+    long stamp = this.writeLock();
+    try {
+      this.delegate.battle();
+      this.snapshot = this.delegate.getSnapshot();
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  // Takes the write lock, or the stamp of the card this thread played and has not battled.
+  private long writeLock() {
+    if (this.mover == Thread.currentThread()) {
+      this.mover = null;
+      return this.moveStamp;
+    }
+    return this.lock.writeLock();
+  }
+
+  // Reads optimistically, then under the read lock if a write got in the way. The thread
+  // making a move already holds the write lock, so it reads directly.
+  private <T> T read(Supplier<T> reader) {
+    if (this.mover == Thread.currentThread()) {
+      return reader.get();
+    }
+    long stamp = this.lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        T result = reader.get();
+        if (this.lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        if (this.lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+    stamp = this.lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  // OBSERVATIONS BELOW
+
+  @Override
+  public boolean isGameOver() {
+    return this.read(this.delegate::isGameOver);
+  }
+
+  @Override
+  public boolean didPlayerOneWin() {
+    return this.read(this.delegate::didPlayerOneWin);
+  }
+
+  @Override
+  public boolean didPlayerTwoWin() {
+    return this.read(this.delegate::didPlayerTwoWin);
+  }
+
+  @Override
+  public List<C> getCurrentPlayerHand() {
+    return this.read(this.delegate::getCurrentPlayerHand);
+  }
+
+  @Override
+  public List<List<Cells>> getGrid() {
+    return this.read(this.delegate::getGrid);
+  }
+
+  @Override
+  public int getTurn() {
+    return this.read(this.delegate::getTurn);
+  }
+
+  @Override
+  public int getScore(int playerIdx) {
+    return this.read(() -> this.delegate.getScore(playerIdx));
+  }
+
+  @Override
+  public int getFlipCount(int playerIdx, int handIdx, int row, int col) {
+    return this.read(() -> this.delegate.getFlipCount(playerIdx, handIdx, row, col));
+  }
+
+  @Override
+  public int[][] getFlipCounts(int playerIdx, boolean parallel) {
+    return this.read(() -> this.delegate.getFlipCounts(playerIdx, parallel));
+  }
+
+  @Override
+  public boolean checkLegal(int row, int col) {
+    return this.read(() -> this.delegate.checkLegal(row, col));
+  }
+
+  @Override
+  public Colors getCardOwner(int row, int col) {
+    return this.read(() -> this.delegate.getCardOwner(row, col));
+  }
+
+  @Override
+  public Colors getPlayerColor(int playerIdx) {
+    return this.read(() -> this.delegate.getPlayerColor(playerIdx));
+  }
+
+  @Override
+  public List<C> getPlayerHand(int playerIdx) {
+    return this.read(() -> this.delegate.getPlayerHand(playerIdx));
+  }
+
+  @Override
+  public int getHandSize(int playerIdx) {
+    return this.read(() -> this.delegate.getHandSize(playerIdx));
+  }
+
+  @Override
+  public C getCardInHand(int playerIdx, int handIdx) {
+    return this.read(() -> this.delegate.getCardInHand(playerIdx, handIdx));
+  }
+
+  @Override
+  public int countCardsAbove(int playerIdx, Direction side, int value) {
+    return this.read(() -> this.delegate.countCardsAbove(playerIdx, side, value));
+  }
+
+  @Override
+  public BoardRegions getRegions() {
+    return this.read(this.delegate::getRegions);
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    return this.read(this.delegate::getEmptyCellCount);
+  }
+
+  @Override
+  public int nextEmptyCell(int from) {
+    return this.read(() -> this.delegate.nextEmptyCell(from));
+  }
+
+  @Override
+  public int getLegalMoves(int playerIdx, int[] moves) {
+    return this.read(() -> this.delegate.getLegalMoves(playerIdx, moves));
+  }
+
+  @Override
+  public Optional<Card> getContentAtCell(int row, int col) {
+    return this.read(() -> this.delegate.getContentAtCell(row, col));
+  }
+
+  @Override
+  public int getGridLength() {
+    return this.read(this.delegate::getGridLength);
+  }
+
+  @Override
+  public int getGridWidth() {
+    return this.read(this.delegate::getGridWidth);
+  }
+
+  @Override
+  public int lastPlayedRow() {
+    return this.read(this.delegate::lastPlayedRow);
+  }
+
+  @Override
+  public int lastPlayedCol() {
+    return this.read(this.delegate::lastPlayedCol);
+  }
+
+  @Override
+  public List<Integer> getLastFlips() {
+    return this.read(this.delegate::getLastFlips);
+  }
+
+  @Override
+  public long getPositionHash() {
+    return this.read(this.delegate::getPositionHash);
+  }
+
+  @Override
+  public BoardSnapshot getSnapshot() {
+    BoardSnapshot latest = this.snapshot;
+    if (latest == null) {
+      throw new IllegalStateException("Game has not started yet.");
+    }
+    return latest;
+  }
+}
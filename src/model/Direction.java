@@ -6,6 +6,19 @@ package model;
 public enum Direction {
   NORTH, SOUTH, EAST, WEST;
 
+  // values() copies the array on every call, so the lookup below keeps its own.
+  private static final Direction[] BY_INDEX = Direction.values();
+
+  /**
+   * Gets the direction with the given ordinal without allocating.
+   * @param index the ordinal of the direction.
+   * @return the direction whose ordinal is index.
+   * @throws ArrayIndexOutOfBoundsException if index is not the ordinal of a direction.
+   */
+  public static Direction fromIndex(int index) {
+    return BY_INDEX[index];
+  }
+
   /**
    * Gets the opposite direction of this direction.
    * @return The opposite of this direction.
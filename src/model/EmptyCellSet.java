@@ -0,0 +1,142 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The set of card cells of a board that have no card yet, kept up to date as cards are
+ * placed and taken back. Cells are identified by their row-major index (row * width + col).
+ * Each cell is kept both in a list, so the set can be sized and sampled in constant time,
+ * and in a bitmask, so membership is one lookup and walking the set with next visits the cells
+ * in row-major order in time proportional to the cells left, not to the size of the board.
+ * Adding, removing and walking the set never allocate.
+ */
+public final class EmptyCellSet {
+  private final int[] cells; // the cells of the set, in no particular order
+  private final int[] positions; // cell -> its index in cells, or -1 if not in the set
+  private final long[] bits; // bit (cell % 64) of word (cell / 64) is set iff cell is in the set
+  private int size;
+
+  /**
+   * Constructor for an empty set of the cells of a board with the given number of cells.
+   * @param capacity the number of cells of the board, holes included.
+   * @throws IllegalArgumentException if the capacity is negative.
+   */
+  public EmptyCellSet(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative.");
+    }
+    this.cells = new int[capacity];
+    this.positions = new int[capacity];
+    Arrays.fill(this.positions, -1);
+    this.bits = new long[(capacity + 63) >>> 6];
+  }
+
+  /**
+   * Adds the given cell to the set. Adding a cell already in the set does nothing.
+   * @param cell the row-major index of the cell.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+  public void add(int cell) {
+    this.throwIfBadCell(cell);
+    if (this.positions[cell] >= 0) {
+      return;
+    }
+    this.positions[cell] = this.size;
+    this.cells[this.size++] = cell;
+    this.bits[cell >>> 6] |= 1L << cell;
+  }
+
+  /**
+   * Removes the given cell from the set. The last cell of the list takes its place, so
+   * removing is constant time. Removing a cell not in the set does nothing.
+   * @param cell the row-major index of the cell.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+  public void remove(int cell) {
+    this.throwIfBadCell(cell);
+    int position = this.positions[cell];
+    if (position < 0) {
+      return;
+    }
+    int last = this.cells[--this.size];
+    this.cells[position] = last;
+    this.positions[last] = position;
+    this.positions[cell] = -1;
+    this.bits[cell >>> 6] &= ~(1L << cell);
+  }
+
+  /**
+   * Determines if the given cell is in the set. Cells off the board are not.
+   * @param cell the row-major index of the cell.
+   * @return true iff the cell is in the set.
+   */
+  public boolean contains(int cell) {
+    return cell >= 0 && cell < this.positions.length && this.positions[cell] >= 0;
+  }
+
+  /**
+   * Returns the number of cells in the set.
+   * @return the size of the set.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the cell at the given index of the set's list. The order of the list changes as
+   * cells are removed, so this is meant for sampling the set, not for walking it in order.
+   * @param index the index, from 0 to size() - 1.
+   * @return the row-major index of the cell.
+   * @throws IllegalArgumentException if the index is out of bounds.
+   */
+  public int get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IllegalArgumentException("Invalid index given.");
+    }
+    return this.cells[index];
+  }
+
+  /**
+   * Returns the first cell of the set at or after the given cell, in row-major order. Every
+   * cell of the set is visited, in order, by
+   * {@code for (int cell = set.next(0); cell >= 0; cell = set.next(cell + 1))}.
+   * @param from the row-major index to start looking from. Negative values start at 0.
+   * @return the row-major index of the cell found, or -1 if there is none.
+   */
+  public int next(int from) {
+    int start = Math.max(from, 0);
+    int word = start >>> 6;
+    if (word >= this.bits.length) {
+      return -1;
+    }
+    long remaining = this.bits[word] & (-1L << start);
+    while (remaining == 0) {
+      if (++word == this.bits.length) {
+        return -1;
+      }
+      remaining = this.bits[word];
+    }
+    return (word << 6) + Long.numberOfTrailingZeros(remaining);
+  }
+
+  /**
+   * Overwrites this set with the cells of another set of the same capacity.
+   * @param other the set to copy.
+   * @throws IllegalArgumentException if the capacities differ.
+   */
+  public void copyFrom(EmptyCellSet other) {
+    if (other.positions.length != this.positions.length) {
+      throw new IllegalArgumentException("Sets must have the same capacity.");
+    }
+    System.arraycopy(other.cells, 0, this.cells, 0, other.size);
+    System.arraycopy(other.positions, 0, this.positions, 0, this.positions.length);
+    System.arraycopy(other.bits, 0, this.bits, 0, this.bits.length);
+    this.size = other.size;
+  }
+
+  private void throwIfBadCell(int cell) {
+    if (cell < 0 || cell >= this.positions.length) {
+      throw new IllegalArgumentException("Invalid cell given.");
+    }
+  }
+}
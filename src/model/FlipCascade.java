@@ -0,0 +1,157 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Works out which cards a newly placed card flips, including every combo that follows.
+ * Cells are identified by their row-major index (row * width + col) into a flattened grid.
+ * The cascade is walked breadth first with a queue of cell indices instead of recursion, so a
+ * long combo cannot overflow the stack, and a visited bitset makes sure each cell is reached
+ * once. The grid is never changed: the visited bitset is an overlay of the cells the player
+ * would own, and the flipped cells are reported in the order they were flipped for the caller
+ * to apply. The card being placed is given separately, so a placement can be tried on the live
+ * grid without putting the card on it.
+ * The queue and bitset are reused between runs, so one cascade serves a whole game, but a
+ * cascade must only be run by one thread at a time.
+ */
+final class FlipCascade {
+  /**
+   * Decides if a card beats a neighboring card during a battle.
+   */
+  interface Judge {
+    /**
+     * Determines if the attacking card flips the defending card.
+     * @param combo false for the card just placed, true for cards flipped by the cascade.
+     * @param attacker the attacking card.
+     * @param defender the card being attacked.
+     * @param direction the direction of the defender in relation to the attacker.
+     * @return true iff the defending card is flipped.
+     */
+    boolean beats(boolean combo, Card attacker, Card defender, Direction direction);
+  }
+
+  private final int rows;
+  private final int cols;
+  private final Judge judge;
+  private final int[] queue; // cells flipped, in the order they were flipped
+  private final long[] visited;
+  private int flips;
+  private int depth;
+
+  /**
+   * Constructor for a cascade over grids of the given size.
+   * @param rows the number of rows of the grid.
+   * @param cols the number of columns of the grid.
+   * @param judge decides which cards beat their neighbors.
+   */
+  FlipCascade(int rows, int cols, Judge judge) {
+    this.rows = rows;
+    this.cols = cols;
+    this.judge = judge;
+    this.queue = new int[rows * cols];
+    this.visited = new long[(rows * cols + 63) >>> 6];
+  }
+
+  /**
+   * Finds every card flipped by the card at origin, played by the player with the given color.
+   * The card at origin battles its neighbors first, then every card it flips battles in turn
+   * as a combo, until no more cards flip. The cards flipped by the placed card are the first
+   * level of the cascade, the cards they flip the second, and so on.
+   * @param cells the flattened grid, in row-major order.
+   * @param origin the index of the cell the card was placed on.
+   * @param card the card placed on origin, which does not have to be on the grid yet.
+   * @param color the color of the player who placed the card.
+   * @param placementMask the directions around origin whose opposing card is flipped by the
+   *                      placement itself, whatever the judge says. Bit d is the direction
+   *                      whose ordinal is d.
+   * @return the number of cards flipped.
+   */
+  int run(Cells[] cells, int origin, Card card, Colors color, int placementMask) {
+    Arrays.fill(this.visited, 0L);
+    this.visit(origin);
+    this.flips = 0;
+    this.depth = 0;
+    this.battleFrom(cells, origin, card, false, color, placementMask);
+    for (int levelStart = 0; levelStart < this.flips; ) {
+      int levelEnd = this.flips;
+      this.depth++;
+      for (int next = levelStart; next < levelEnd; next++) {
+        int cell = this.queue[next];
+        this.battleFrom(cells, cell, cells[cell].getCard(), true, color, 0);
+      }
+      levelStart = levelEnd;
+    }
+    return this.flips;
+  }
+
+  // battles the given card at the given cell against its neighbors, queueing the ones it flips
+  private void battleFrom(Cells[] cells, int cell, Card card, boolean combo, Colors color,
+                          int mask) {
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      int neighbor = this.neighborOf(cell, dir);
+      if (neighbor < 0 || this.isVisited(neighbor)) {
+        continue;
+      }
+      Cells neighborCell = cells[neighbor];
+      if (neighborCell.isHole() || !neighborCell.hasCard()
+              || color.equals(neighborCell.cellColor())) {
+        continue;
+      }
+      if ((mask & (1 << dir)) != 0
+              || this.judge.beats(combo, card, neighborCell.getCard(), Direction.fromIndex(dir))) {
+        this.visit(neighbor);
+        this.queue[this.flips++] = neighbor;
+      }
+    }
+  }
+
+  // the index of the cell in the given direction, or -1 if that is off the grid
+  private int neighborOf(int cell, int direction) {
+    int row = cell / this.cols;
+    int col = cell % this.cols;
+    switch (direction) {
+      case 0: // NORTH
+        return row > 0 ? cell - this.cols : -1;
+      case 1: // SOUTH
+        return row < this.rows - 1 ? cell + this.cols : -1;
+      case 2: // EAST
+        return col < this.cols - 1 ? cell + 1 : -1;
+      default: // WEST
+        return col > 0 ? cell - 1 : -1;
+    }
+  }
+
+  private boolean isVisited(int cell) {
+    return (this.visited[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  private void visit(int cell) {
+    this.visited[cell >>> 6] |= 1L << cell;
+  }
+
+  /**
+   * Returns the number of cards flipped by the latest run.
+   * @return the number of cards flipped.
+   */
+  int flipCount() {
+    return this.flips;
+  }
+
+  /**
+   * Returns how many levels deep the latest run went: 0 if nothing flipped, 1 if only the
+   * placed card flipped cards, and one more for every round of combos after that.
+   * @return the depth of the latest cascade.
+   */
+  int depth() {
+    return this.depth;
+  }
+
+  /**
+   * Returns the cell flipped at the given point of the latest run.
+   * @param order 0 for the first cell flipped, up to flipCount() - 1 for the last.
+   * @return the row-major index of that cell.
+   */
+  int flipped(int order) {
+    return this.queue[order];
+  }
+}
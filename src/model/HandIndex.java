@@ -0,0 +1,91 @@
+package model;
+
+/**
+ * Counts the cards of a hand by side and value, so asking how many cards of the hand have a
+ * value greater than some value on some side takes a single lookup instead of a scan of the
+ * hand. This is what deciding whether a card can be beaten by a hand comes down to: a card
+ * with value v facing direction d is beaten by every card of the hand with a value greater
+ * than v on the opposite side.
+ * The counts are updated as cards are added to and removed from the hand, which takes a few
+ * steps per side, and are never recomputed from the hand.
+ */
+public final class HandIndex {
+  private static final int SIDES = Direction.values().length;
+  private static final int VALUES = Numbers.values().length + 1; // 0 to 10
+
+  private final int[] above; // side * VALUES + value -> cards with more than value on side
+  private int size;
+
+  /**
+   * Constructor for the index of an empty hand.
+   */
+  public HandIndex() {
+    this.above = new int[SIDES * VALUES];
+  }
+
+  /**
+   * Counts a card added to the hand.
+   * @param card the card added.
+   */
+  public void add(Card card) {
+    this.update(card, 1);
+    this.size++;
+  }
+
+  /**
+   * Stops counting a card removed from the hand. The card must have been added before.
+   * @param card the card removed.
+   * @throws IllegalStateException if the hand is already empty.
+   */
+  public void remove(Card card) {
+    if (this.size == 0) {
+      throw new IllegalStateException("No cards left to remove.");
+    }
+    this.update(card, -1);
+    this.size--;
+  }
+
+  private void update(Card card, int change) {
+    for (int dir = 0; dir < SIDES; dir++) {
+      int start = dir * VALUES;
+      int num = card.numAt(Direction.fromIndex(dir));
+      for (int value = 0; value < num; value++) {
+        this.above[start + value] += change;
+      }
+    }
+  }
+
+  /**
+   * Overwrites these counts with the counts of another hand.
+   * @param other the index to copy.
+   */
+  public void copyFrom(HandIndex other) {
+    System.arraycopy(other.above, 0, this.above, 0, this.above.length);
+    this.size = other.size;
+  }
+
+  /**
+   * Returns how many cards of the hand have a value greater than the given value on the
+   * given side.
+   * @param side the side of the cards to look at.
+   * @param value the value to beat. Values below 0 count every card and values above 10 none.
+   * @return the number of cards with a greater value on that side.
+   */
+  public int countAbove(Direction side, int value) {
+    if (value < 0) {
+      return this.size;
+    }
+    if (value >= VALUES) {
+      return 0;
+    }
+    return this.above[side.ordinal() * VALUES + value];
+  }
+
+  /**
+   * Returns the number of cards counted.
+   * @return the size of the hand.
+   */
+  public int size() {
+    return this.size;
+  }
+}
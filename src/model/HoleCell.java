@@ -37,6 +37,11 @@ public class HoleCell implements Cells {
     return false;
   }
 
+  @Override
+  public Card removeCard() {
+    return null;
+  }
+
   @Override
   public boolean isHole() {
     return true;
@@ -47,6 +52,11 @@ public class HoleCell implements Cells {
     return null;
   }
 
+  @Override
+  public Neighbors neighbors() {
+    return Neighbors.NONE;
+  }
+
   @Override
   public boolean hasCard() {
     return false;
@@ -14,6 +14,15 @@ public interface ModelPlayer<C extends Card> {
    */
   void addCardToHand(C card);
 
+  /**
+   * Adds the given card to the player's hand at the given index, sliding the cards at and
+   * after that index to the right.
+   * @param handIdx The index the card will be at. 0 index based.
+   * @param card A card to be added to the player's hand.
+   * @throws IllegalArgumentException if handIdx < 0 or handIdx > the size of the hand
+   */
+  void addCardToHand(int handIdx, C card);
+
   /**
    * Remove the given card from the player's hand.
    * @param card A card to be removed from a player's hand.
@@ -21,6 +30,15 @@ public interface ModelPlayer<C extends Card> {
    */
   void removeCardFromHand(C card);
 
+  /**
+   * Removes the card at the given index of the player's hand, sliding the cards after it to
+   * the left. Unlike removing by card, the hand is not searched.
+   * @param handIdx The index of the card to remove. 0 index based.
+   * @return the card removed.
+   * @throws IllegalArgumentException if handIdx < 0 or handIdx >= the size of the hand
+   */
+  C removeCardFromHand(int handIdx);
+
   /**
    * Gets a player's hand.
    * Modifying returned list has no effect on the list.
@@ -28,6 +46,36 @@ public interface ModelPlayer<C extends Card> {
    */
   List<C> getHand();
 
+  /**
+   * Gets a read-only view of the player's hand, which follows the hand as it changes.
+   * Nothing is copied, and trying to modify the view throws an UnsupportedOperationException.
+   * @return A list of cards representing a player's hand.
+   */
+  List<C> getHandView();
+
+  /**
+   * Gets the card at the given index of the player's hand without copying the hand.
+   * @param handIdx The index of the card. 0 index based.
+   * @return the card at that index.
+   * @throws IllegalArgumentException if handIdx < 0 or handIdx >= the size of the hand
+   */
+  C getCardAt(int handIdx);
+
+  /**
+   * Gets the number of cards in the player's hand.
+   * @return the size of the hand.
+   */
+  int getHandSize();
+
+  /**
+   * Gets the number of cards in the player's hand with a value greater than the given value
+   * on the given side, without scanning the hand.
+   * @param side The side of the cards to look at.
+   * @param value The value to beat.
+   * @return the number of cards with a greater value on that side.
+   */
+  int countCardsAbove(Direction side, int value);
+
   /**
    * Returns the player's color: either Red or Blue.
    * @return The color representing the player.
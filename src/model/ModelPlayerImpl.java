@@ -1,14 +1,18 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * An implementation for a ModelPlayer.
  * Holds information on the hand of each player and the color of the player.
+ * The hand is also counted in a HandIndex, kept up to date as cards are added and removed.
  */
 public class ModelPlayerImpl implements ModelPlayer<PlayableCard> {
   private final List<PlayableCard> hand;
+  private final List<PlayableCard> handView; // read-only, follows hand
+  private final HandIndex index; // counts the cards of hand by side and value
   private final Colors color; // represents the color a player is
 
   /**
@@ -17,20 +21,41 @@ public class ModelPlayerImpl implements ModelPlayer<PlayableCard> {
    */
   public ModelPlayerImpl(Colors color) {
     this.hand = new ArrayList<>();
+    this.handView = Collections.unmodifiableList(this.hand);
+    this.index = new HandIndex();
     this.color = color;
   }
 
   @Override
   public void addCardToHand(PlayableCard card) {
     this.hand.add(card);
+    this.index.add(card);
+  }
+
+  @Override
+  public void addCardToHand(int handIdx, PlayableCard card) {
+    if (handIdx < 0 || handIdx > this.hand.size()) {
+      throw new IllegalArgumentException("Invalid hand index");
+    }
+    this.hand.add(handIdx, card);
+    this.index.add(card);
   }
 
   @Override
   public void removeCardFromHand(PlayableCard card) {
-    if (!this.hand.contains(card)) {
+    int handIdx = this.hand.indexOf(card);
+    if (handIdx < 0) {
       throw new IllegalArgumentException("Given card is not in Player's hand");
     }
-    this.hand.remove(card);
+    this.index.remove(this.hand.remove(handIdx));
+  }
+
+  @Override
+  public PlayableCard removeCardFromHand(int handIdx) {
+    this.throwIfBadIndex(handIdx);
+    PlayableCard card = this.hand.remove(handIdx);
+    this.index.remove(card);
+    return card;
   }
 
   @Override
@@ -38,8 +63,35 @@ public class ModelPlayerImpl implements ModelPlayer<PlayableCard> {
     return new ArrayList<>(this.hand);
   }
 
+  @Override
+  public List<PlayableCard> getHandView() {
+    return this.handView;
+  }
+
+  @Override
+  public PlayableCard getCardAt(int handIdx) {
+    this.throwIfBadIndex(handIdx);
+    return this.hand.get(handIdx);
+  }
+
+  @Override
+  public int getHandSize() {
+    return this.hand.size();
+  }
+
+  @Override
+  public int countCardsAbove(Direction side, int value) {
+    return this.index.countAbove(side, value);
+  }
+
   @Override
   public Colors getColor() {
     return this.color;
   }
+
+  private void throwIfBadIndex(int handIdx) {
+    if (handIdx < 0 || handIdx >= this.hand.size()) {
+      throw new IllegalArgumentException("Invalid hand index");
+    }
+  }
 }
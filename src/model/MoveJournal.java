@@ -0,0 +1,196 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A record of every move made in a ThreeTrioModel, so moves can be undone in the reverse order
+ * they were made. A move is a card played from a hand plus the cells flipped by its battle.
+ * Moves and flips are kept on two stacks backed by arrays that only ever grow, so once a game
+ * has been played to some depth, recording and undoing moves to that depth allocates nothing.
+ */
+final class MoveJournal {
+  private static final int INITIAL_CAPACITY = 16;
+
+  // one entry per move
+  private int moves;
+  private int[] players;
+  private int[] handIdxs;
+  private PlayableCard[] cards;
+  private Cells[] cells;
+  private int[] prevPlayedRows;
+  private int[] prevPlayedCols;
+  private boolean[] battled;
+  private int[] flipStarts; // index into the flip stack of this move's first flip
+
+  // one entry per flip, across every move
+  private int flips;
+  private int[] flipped; // row-major index of the cell flipped
+  private Colors[] flippedFrom;
+
+  /**
+   * Constructor for an empty journal.
+   */
+  MoveJournal() {
+    this.players = new int[INITIAL_CAPACITY];
+    this.handIdxs = new int[INITIAL_CAPACITY];
+    this.cards = new PlayableCard[INITIAL_CAPACITY];
+    this.cells = new Cells[INITIAL_CAPACITY];
+    this.prevPlayedRows = new int[INITIAL_CAPACITY];
+    this.prevPlayedCols = new int[INITIAL_CAPACITY];
+    this.battled = new boolean[INITIAL_CAPACITY];
+    this.flipStarts = new int[INITIAL_CAPACITY];
+    this.flipped = new int[INITIAL_CAPACITY];
+    this.flippedFrom = new Colors[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Records a card being played, which starts a new move.
+   * @param player the index of the player who played the card.
+   * @param handIdx the index in the player's hand the card was played from.
+   * @param card the card played.
+   * @param cell the cell the card was played on.
+   * @param prevPlayedRow the last played row before this card was played.
+   * @param prevPlayedCol the last played column before this card was played.
+   */
+  void recordPlay(int player, int handIdx, PlayableCard card, Cells cell,
+                  int prevPlayedRow, int prevPlayedCol) {
+    if (this.moves == this.players.length) {
+      int capacity = this.moves * 2;
+      this.players = Arrays.copyOf(this.players, capacity);
+      this.handIdxs = Arrays.copyOf(this.handIdxs, capacity);
+      this.cards = Arrays.copyOf(this.cards, capacity);
+      this.cells = Arrays.copyOf(this.cells, capacity);
+      this.prevPlayedRows = Arrays.copyOf(this.prevPlayedRows, capacity);
+      this.prevPlayedCols = Arrays.copyOf(this.prevPlayedCols, capacity);
+      this.battled = Arrays.copyOf(this.battled, capacity);
+      this.flipStarts = Arrays.copyOf(this.flipStarts, capacity);
+    }
+    this.players[this.moves] = player;
+    this.handIdxs[this.moves] = handIdx;
+    this.cards[this.moves] = card;
+    this.cells[this.moves] = cell;
+    this.prevPlayedRows[this.moves] = prevPlayedRow;
+    this.prevPlayedCols[this.moves] = prevPlayedCol;
+    this.battled[this.moves] = false;
+    this.flipStarts[this.moves] = this.flips;
+    this.moves++;
+  }
+
+  /**
+   * Records a cell being flipped by the battle of the latest move.
+   * @param cell the row-major index of the cell flipped.
+   * @param from the color of the cell before it was flipped.
+   */
+  void recordFlip(int cell, Colors from) {
+    if (this.flips == this.flipped.length) {
+      int capacity = this.flips * 2;
+      this.flipped = Arrays.copyOf(this.flipped, capacity);
+      this.flippedFrom = Arrays.copyOf(this.flippedFrom, capacity);
+    }
+    this.flipped[this.flips] = cell;
+    this.flippedFrom[this.flips] = from;
+    this.flips++;
+  }
+
+  /**
+   * Records the latest move's battle being finished, which means the turn has changed.
+   */
+  void recordBattle() {
+    if (this.moves > 0) {
+      this.battled[this.moves - 1] = true;
+    }
+  }
+
+  /**
+   * Determines if there is a move to undo.
+   * @return true iff at least one move has been recorded and not yet undone.
+   */
+  boolean hasMoves() {
+    return this.moves > 0;
+  }
+
+  /**
+   * Returns the number of cells the latest move has flipped so far.
+   * @return the number of flips recorded since the latest card was played.
+   */
+  int lastFlipCount() {
+    return this.flips - this.flipStarts[this.moves - 1];
+  }
+
+  /**
+   * Returns the cell of the latest flip recorded. The latest move must have flipped a cell.
+   * @return the row-major index of the cell flipped most recently.
+   */
+  int lastFlipped() {
+    return this.flipped[this.flips - 1];
+  }
+
+  /**
+   * Returns the color the cell of the latest flip had before it was flipped.
+   * @return the old color of the cell flipped most recently.
+   */
+  Colors lastFlippedFrom() {
+    return this.flippedFrom[this.flips - 1];
+  }
+
+  /**
+   * Forgets the latest flip, once the cell has been given its old color back.
+   */
+  void popFlip() {
+    this.flips--;
+    this.flippedFrom[this.flips] = null;
+  }
+
+  /**
+   * Returns the cells flipped by the latest move, in the order they were flipped.
+   * @return the row-major indices of the flipped cells, empty if no card has been played.
+   */
+  List<Integer> lastFlips() {
+    List<Integer> lastFlips = new ArrayList<>();
+    if (this.moves > 0) {
+      for (int flip = this.flipStarts[this.moves - 1]; flip < this.flips; flip++) {
+        lastFlips.add(this.flipped[flip]);
+      }
+    }
+    return lastFlips;
+  }
+
+  /**
+   * Forgets the latest move. Its flips must already have been undone.
+   */
+  void popMove() {
+    this.moves--;
+    this.cards[this.moves] = null;
+    this.cells[this.moves] = null;
+  }
+
+  int lastPlayer() {
+    return this.players[this.moves - 1];
+  }
+
+  int lastHandIdx() {
+    return this.handIdxs[this.moves - 1];
+  }
+
+  PlayableCard lastCard() {
+    return this.cards[this.moves - 1];
+  }
+
+  Cells lastCell() {
+    return this.cells[this.moves - 1];
+  }
+
+  int lastPrevPlayedRow() {
+    return this.prevPlayedRows[this.moves - 1];
+  }
+
+  int lastPrevPlayedCol() {
+    return this.prevPlayedCols[this.moves - 1];
+  }
+
+  boolean lastBattled() {
+    return this.battled[this.moves - 1];
+  }
+}
@@ -0,0 +1,47 @@
+package model;
+
+/**
+ * Encodes a move, the card at a hand index played on a cell, as a single int so lists of
+ * moves can be kept in int arrays instead of lists of objects. The cell is the row-major index
+ * (row * width + col) of the cell played on.
+ */
+public final class Moves {
+  private static final int HAND_BITS = 16;
+  private static final int HAND_MASK = (1 << HAND_BITS) - 1;
+
+  private Moves() {
+    // only static helpers
+  }
+
+  /**
+   * Encodes the move playing the card at the given hand index on the given cell.
+   * @param cell the row-major index of the cell, from 0 to 32767.
+   * @param handIdx the index of the card in hand, from 0 to 65535.
+   * @return the encoded move.
+   * @throws IllegalArgumentException if the cell or hand index is out of range.
+   */
+  public static int encode(int cell, int handIdx) {
+    if (cell < 0 || cell > Short.MAX_VALUE || handIdx < 0 || handIdx > HAND_MASK) {
+      throw new IllegalArgumentException("Cell or hand index out of range.");
+    }
+    return cell << HAND_BITS | handIdx;
+  }
+
+  /**
+   * Returns the cell of an encoded move.
+   * @param move the encoded move.
+   * @return the row-major index of the cell played on.
+   */
+  public static int cellOf(int move) {
+    return move >>> HAND_BITS;
+  }
+
+  /**
+   * Returns the hand index of an encoded move.
+   * @param move the encoded move.
+   * @return the index of the card played in its player's hand.
+   */
+  public static int handIdxOf(int move) {
+    return move & HAND_MASK;
+  }
+}
@@ -0,0 +1,58 @@
+package model;
+
+/**
+ * The neighbors of a cell, indexed by the ordinal of the Direction they are in relative to
+ * that cell. A cell has at most one neighbor per direction, and a direction without a neighbor
+ * holds null. Only the cell that owns a Neighbors can change it, through addNeighbor, so
+ * everyone else gets a read-only view that can be walked without allocating:
+ * <pre>
+ * for (int dir = 0; dir &lt; Neighbors.SIZE; dir++) {
+ *   Cells neighbor = cell.neighbors().get(dir);
+ *   if (neighbor != null) { ... Direction.fromIndex(dir) ... }
+ * }
+ * </pre>
+ */
+public final class Neighbors {
+  /**
+   * The number of directions a cell can have a neighbor in.
+   */
+  public static final int SIZE = 4;
+
+  /**
+   * The neighbors of a cell that has none, such as a HoleCell.
+   */
+  public static final Neighbors NONE = new Neighbors();
+
+  private final Cells[] cells;
+
+  /**
+   * Constructor for an empty set of neighbors. Only cells in this package create them.
+   */
+  Neighbors() {
+    this.cells = new Cells[SIZE];
+  }
+
+  // Replaces the neighbor in the given direction.
+  void set(Direction direction, Cells cell) {
+    this.cells[direction.ordinal()] = cell;
+  }
+
+  /**
+   * Returns the neighbor in the given direction.
+   * @param direction the direction of the neighbor relative to the owning cell.
+   * @return the neighboring cell, or null if there is none in that direction.
+   */
+  public Cells get(Direction direction) {
+    return this.cells[direction.ordinal()];
+  }
+
+  /**
+   * Returns the neighbor in the direction with the given ordinal.
+   * @param direction the ordinal of the direction, from 0 to SIZE - 1.
+   * @return the neighboring cell, or null if there is none in that direction.
+   * @throws ArrayIndexOutOfBoundsException if direction is not between 0 and SIZE - 1.
+   */
+  public Cells get(int direction) {
+    return this.cells[direction];
+  }
+}
@@ -15,6 +15,8 @@ public enum Numbers {
   Nine,
   A; // A represents the number 10
 
+  private static final Numbers[] BY_NUM = Numbers.values();
+
   /**
    * Returns a String representation of a number.
    * @return "1" for One, "2" for Two, ..., "9" for Nine, and "A" for value of 10.
@@ -49,11 +51,20 @@ public enum Numbers {
    * @return an int representing a number.
    */
   public int toNum() {
-    if (this.toString().equals("A")) {
-      return 10;
-    }
-    else {
-      return Integer.parseInt(this.toString());
+    // constants are declared in order from One to A
+    return this.ordinal() + 1;
+  }
+
+  /**
+   * Returns the Number representing the given number.
+   * @param num a number from 1 to 10.
+   * @return One for 1, Two for 2, ..., Nine for 9, and A for 10.
+   * @throws IllegalArgumentException if num is not between 1 and 10.
+   */
+  public static Numbers fromNum(int num) {
+    if (num < 1 || num > BY_NUM.length) {
+      throw new IllegalArgumentException("Illegal number given.");
     }
+    return BY_NUM[num - 1];
   }
 }
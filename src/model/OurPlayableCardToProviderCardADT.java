@@ -28,24 +28,29 @@ public class OurPlayableCardToProviderCardADT implements provider.model.inter.Ca
     return adaptee.valueAt(direction);
   }
 
+  @Override
+  public int numAt(Direction direction) {
+    return adaptee.numAt(direction);
+  }
+
   @Override
   public int getNorthValue() {
-    return adaptee.valueAt(Direction.NORTH).toNum();
+    return adaptee.numAt(Direction.NORTH);
   }
 
   @Override
   public int getSouthValue() {
-    return adaptee.valueAt(Direction.SOUTH).toNum();
+    return adaptee.numAt(Direction.SOUTH);
   }
 
   @Override
   public int getEastValue() {
-    return adaptee.valueAt(Direction.EAST).toNum();
+    return adaptee.numAt(Direction.EAST);
   }
 
   @Override
   public int getWestValue() {
-    return adaptee.valueAt(Direction.WEST).toNum();
+    return adaptee.numAt(Direction.WEST);
   }
 
   @Override
@@ -59,14 +59,14 @@ public class OurReadToProviderReadADT implements ReadOnlyThreesTrioModel,
 
   @Override
   public Cell getCell(int row, int col) {
-    Cells ourCell = adaptee.getGrid().get(row).get(col);
+    Cells ourCell = adaptee.getSnapshot().getCell(row, col);
     return new OurCellsToProviderCellADT(ourCell);
   }
 
   @Override
   public int getCardCellCount() {
-    return adaptee.getScore(0) - adaptee.getPlayerHand(0).size()
-            + adaptee.getScore(1) - adaptee.getPlayerHand(1).size();
+    return adaptee.getScore(0) - adaptee.getHandSize(0)
+            + adaptee.getScore(1) - adaptee.getHandSize(1);
   }
 
   @Override
@@ -108,6 +108,41 @@ public class OurReadToProviderReadADT implements ReadOnlyThreesTrioModel,
     return adaptee.getPlayerHand(playerIdx);
   }
 
+  @Override
+  public int getHandSize(int playerIdx) {
+    return adaptee.getHandSize(playerIdx);
+  }
+
+  @Override
+  public PlayableCard getCardInHand(int playerIdx, int handIdx) {
+    return adaptee.getCardInHand(playerIdx, handIdx);
+  }
+
+  @Override
+  public int countCardsAbove(int playerIdx, Direction side, int value) {
+    return adaptee.countCardsAbove(playerIdx, side, value);
+  }
+
+  @Override
+  public BoardRegions getRegions() {
+    return adaptee.getRegions();
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    return adaptee.getEmptyCellCount();
+  }
+
+  @Override
+  public int nextEmptyCell(int from) {
+    return adaptee.nextEmptyCell(from);
+  }
+
+  @Override
+  public int getLegalMoves(int playerIdx, int[] moves) {
+    return adaptee.getLegalMoves(playerIdx, moves);
+  }
+
   @Override
   public boolean isGameOver() {
     return adaptee.isGameOver();
@@ -160,6 +195,11 @@ public class OurReadToProviderReadADT implements ReadOnlyThreesTrioModel,
     return adaptee.getFlipCount(playerIdx, handIdx, row, col);
   }
 
+  @Override
+  public int[][] getFlipCounts(int playerIdx, boolean parallel) {
+    return adaptee.getFlipCounts(playerIdx, parallel);
+  }
+
   @Override
   public boolean checkLegal(int row, int col) {
     return adaptee.checkLegal(row, col);
@@ -201,6 +241,21 @@ public class OurReadToProviderReadADT implements ReadOnlyThreesTrioModel,
     return adaptee.lastPlayedCol();
   }
 
+  @Override
+  public List<Integer> getLastFlips() {
+    return adaptee.getLastFlips();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return adaptee.getPositionHash();
+  }
+
+  @Override
+  public BoardSnapshot getSnapshot() {
+    return adaptee.getSnapshot();
+  }
+
   @Override
   public Player getWinner() {
     return null;
@@ -223,15 +278,15 @@ public class OurReadToProviderReadADT implements ReadOnlyThreesTrioModel,
     int playerIdx = -1;
     int cardIdx = -1;
 
-    for (int i = 0; i < adaptee.getPlayerHand(0).size(); i++) {
-      if (adaptee.getPlayerHand(0).get(i).equals(card)) {
+    for (int i = 0; i < adaptee.getHandSize(0); i++) {
+      if (adaptee.getCardInHand(0, i).equals(card)) {
         playerIdx = 0;
         cardIdx = i;
       }
     }
 
-    for (int i = 0; i < adaptee.getPlayerHand(1).size(); i++) {
-      if (adaptee.getPlayerHand(1).get(i).equals(card)) {
+    for (int i = 0; i < adaptee.getHandSize(1); i++) {
+      if (adaptee.getCardInHand(1, i).equals(card)) {
         playerIdx = 1;
         cardIdx = i;
       }
@@ -0,0 +1,111 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The cards and owners of a Three Trio board, kept so that a BoardSnapshot of it can be taken
+ * in constant time. Cells are identified by their row-major index (row * width + col) and are
+ * stored in fixed-size chunks. Taking a snapshot copies nothing: the snapshot and this board
+ * share every chunk until the board changes. The first change to a chunk after a snapshot
+ * copies that chunk, and the first change of any kind copies the small table of chunks, so a
+ * board diverges from its snapshots at the cost of the chunks that actually changed.
+ * A chunk is only written to while no snapshot can see it, which is what makes snapshots safe
+ * to read from other threads. The board itself is meant to be written to by a single thread.
+ */
+public final class PersistentBoard {
+  /**
+   * The number of cells in each chunk.
+   */
+  static final int CHUNK_SIZE = 16;
+
+  private final int rows;
+  private final int cols;
+  private final boolean[] holes; // never changes, so it is shared by every snapshot
+  private Card[][] cards;
+  private Colors[][] owners;
+  private int[] chunkGenerations; // the generation each chunk was last copied in
+  private int generation; // goes up every time a snapshot is taken
+  private boolean tableShared; // whether the latest snapshot holds the current chunk tables
+  private BoardSnapshot latest; // the snapshot of the board as it is now, if one was taken
+
+  /**
+   * Constructor for a board with the same holes, cards and colors as the given grid.
+   * @param grid the grid to copy. Every row must have the same length.
+   * @throws IllegalArgumentException if the grid is empty.
+   */
+  public PersistentBoard(List<List<Cells>> grid) {
+    if (grid.isEmpty() || grid.get(0).isEmpty()) {
+      throw new IllegalArgumentException("Grid must have at least one cell.");
+    }
+    this.rows = grid.size();
+    this.cols = grid.get(0).size();
+    int size = this.rows * this.cols;
+    int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    this.holes = new boolean[size];
+    this.cards = new Card[chunks][CHUNK_SIZE];
+    this.owners = new Colors[chunks][CHUNK_SIZE];
+    this.chunkGenerations = new int[chunks];
+    for (int cell = 0; cell < size; cell++) {
+      Cells given = grid.get(cell / this.cols).get(cell % this.cols);
+      this.holes[cell] = given.isHole();
+      if (!given.isHole() && given.hasCard()) {
+        this.cards[cell / CHUNK_SIZE][cell % CHUNK_SIZE] = given.getCard();
+        this.owners[cell / CHUNK_SIZE][cell % CHUNK_SIZE] = given.cellColor();
+      }
+    }
+  }
+
+  /**
+   * Puts the given card owned by the given player on the cell with the given index, or
+   * empties the cell if both are null.
+   * @param cell the row-major index of the cell.
+   * @param card the card now on the cell, or null if there is none.
+   * @param owner the color of the player owning the card, or null if there is no card.
+   */
+  public void set(int cell, Card card, Colors owner) {
+    int chunk = this.writableChunk(cell);
+    this.cards[chunk][cell % CHUNK_SIZE] = card;
+    this.owners[chunk][cell % CHUNK_SIZE] = owner;
+  }
+
+  /**
+   * Changes the owner of the card on the cell with the given index.
+   * @param cell the row-major index of the cell.
+   * @param owner the color of the player now owning the card.
+   */
+  public void setOwner(int cell, Colors owner) {
+    this.owners[this.writableChunk(cell)][cell % CHUNK_SIZE] = owner;
+  }
+
+  // Makes sure no snapshot can see the chunk of the given cell, copying what is shared.
+  private int writableChunk(int cell) {
+    this.latest = null;
+    if (this.tableShared) {
+      this.cards = this.cards.clone();
+      this.owners = this.owners.clone();
+      this.chunkGenerations = this.chunkGenerations.clone();
+      this.tableShared = false;
+    }
+    int chunk = cell / CHUNK_SIZE;
+    if (this.chunkGenerations[chunk] != this.generation) {
+      this.cards[chunk] = this.cards[chunk].clone();
+      this.owners[chunk] = this.owners[chunk].clone();
+      this.chunkGenerations[chunk] = this.generation;
+    }
+    return chunk;
+  }
+
+  /**
+   * Returns a snapshot of the board as it is now, in constant time. Taking another snapshot
+   * before the board changes gives back the same snapshot.
+   * @return an immutable view of the board.
+   */
+  public BoardSnapshot snapshot() {
+    if (this.latest == null) {
+      this.latest = new BoardSnapshot(this.rows, this.cols, this.holes, this.cards, this.owners);
+      this.tableShared = true;
+      this.generation++;
+    }
+    return this.latest;
+  }
+}
@@ -2,13 +2,16 @@ package model;
 
 /**
  * Represents a card that can be used in the Three Trio Game.
+ * The four values of the card are packed into a single int, four bits per value, so reading a
+ * value is a shift and a mask. The value in direction d is kept in bits 4 * d to 4 * d + 3,
+ * where d is the ordinal of the Direction.
  */
 public class PlayableCard implements Card {
+  private static final int BITS_PER_VALUE = 4;
+  private static final int VALUE_MASK = 0xF;
+
   private final String name;
-  private final Numbers northValue;
-  private final Numbers southValue;
-  private final Numbers eastValue;
-  private final Numbers westValue;
+  private final int values;
 
   /**
    * Constructor to create a PlayableCard that can be used as part of a player's
@@ -18,14 +21,21 @@ public class PlayableCard implements Card {
    * @param southValue The south attack value of this card.
    * @param eastValue The east attack value of this card.
    * @param westValue The west attack value of this card.
+   * @throws IllegalArgumentException if any of the values are null.
    */
   public PlayableCard(String name, Numbers northValue, Numbers southValue, Numbers eastValue,
                       Numbers westValue) {
+    if (northValue == null || southValue == null || eastValue == null || westValue == null) {
+      throw new IllegalArgumentException("Card values can not be null.");
+    }
     this.name = name;
-    this.northValue = northValue;
-    this.southValue = southValue;
-    this.eastValue = eastValue;
-    this.westValue = westValue;
+    this.values = pack(Direction.NORTH, northValue) | pack(Direction.SOUTH, southValue)
+            | pack(Direction.EAST, eastValue) | pack(Direction.WEST, westValue);
+  }
+
+  // the given value shifted into the bits of the given direction
+  private static int pack(Direction direction, Numbers value) {
+    return value.toNum() << (direction.ordinal() * BITS_PER_VALUE);
   }
 
   @Override
@@ -35,17 +45,20 @@ public class PlayableCard implements Card {
 
   @Override
   public Numbers valueAt(Direction direction) {
-    switch (direction) {
-      case NORTH:
-        return this.northValue;
-      case SOUTH:
-        return this.southValue;
-      case EAST:
-        return this.eastValue;
-      case WEST:
-        return this.westValue;
-      default:
-        return null;
-    }
+    return Numbers.fromNum(this.numAt(direction));
+  }
+
+  @Override
+  public int numAt(Direction direction) {
+    return (this.values >>> (direction.ordinal() * BITS_PER_VALUE)) & VALUE_MASK;
+  }
+
+  /**
+   * Returns the four values of this card packed into one int, four bits per value, with the
+   * value in direction d in bits 4 * d to 4 * d + 3, where d is the ordinal of the Direction.
+   * @return the packed values of this card.
+   */
+  public int getPackedValues() {
+    return this.values;
   }
 }
@@ -0,0 +1,105 @@
+package model;
+
+import java.util.Optional;
+
+/**
+ * The keys of the 64-bit Zobrist hash of a Three Trio position, which covers which cells have
+ * cards, which cards they are, who owns them, what is left in each hand, and whose turn it is.
+ * The hash is the sum of the keys of every occupied cell and of every card in each hand, plus
+ * the side key when it is the second player's turn. Unlike classic Zobrist hashing, keys are
+ * summed rather than XORed, so that two copies of the same card in a hand do not cancel out;
+ * the order of cards in a hand does not matter.
+ * Keys are worked out from the contents of the position rather than drawn at random, so the
+ * same position hashes the same in every game and every model that plays on the same board.
+ * Models keep the hash up to date as cards are played and flipped by combining these keys.
+ */
+public final class PositionHash {
+  /**
+   * The key added to the hash while it is the second player's turn.
+   */
+  public static final long SIDE = mix(0x5EED5EED5EED5EEDL);
+
+  private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+  private PositionHash() {
+    // only static keys
+  }
+
+  // the finalizer of SplitMix64, which spreads every input bit over the whole output
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Returns the code identifying a card by its name and values, which the other keys use.
+   * @param card the card to identify.
+   * @return the code of the card.
+   */
+  public static long cardCode(Card card) {
+    long code = card.getName().hashCode();
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      code = code * 11 + card.numAt(Direction.fromIndex(dir)) - 1;
+    }
+    return mix(code);
+  }
+
+  /**
+   * Returns the key of a card on the cell with the given index, owned by the given player.
+   * @param cell the row-major index of the cell, row * width + col.
+   * @param cardCode the code of the card on the cell.
+   * @param playerIdx the index of the player owning the card, or -1 if nobody owns it.
+   * @return the key added to the hash while that card is there with that owner.
+   */
+  public static long cell(int cell, long cardCode, int playerIdx) {
+    return mix(cardCode + GOLDEN * (cell * 3L + playerIdx + 2));
+  }
+
+  /**
+   * Returns the key of a card in the hand of the given player.
+   * @param playerIdx the index of the player holding the card.
+   * @param cardCode the code of the card.
+   * @return the key added to the hash for every copy of that card in that hand.
+   */
+  public static long hand(int playerIdx, long cardCode) {
+    return mix(cardCode ^ (GOLDEN * (playerIdx + 1)));
+  }
+
+  /**
+   * Works out the hash of the position of the given game from scratch, as models do when a
+   * game starts. Models give the same hash from getPositionHash without looking at the grid.
+   * @param model the started game to hash.
+   * @return the hash of the position of the game.
+   * @throws IllegalStateException if the game has not started.
+   */
+  public static long of(ReadOnlyThreeTrioGameModel<?> model) {
+    long hash = 0;
+    int width = model.getGridWidth();
+    for (int row = 0; row < model.getGridLength(); row++) {
+      for (int col = 0; col < width; col++) {
+        Optional<Card> card = model.getContentAtCell(row, col);
+        if (card.isPresent()) {
+          hash += cell(row * width + col, cardCode(card.get()),
+                  ownerOf(model, model.getCardOwner(row, col)));
+        }
+      }
+    }
+    for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+      for (int handIdx = 0; handIdx < model.getHandSize(playerIdx); handIdx++) {
+        hash += hand(playerIdx, cardCode(model.getCardInHand(playerIdx, handIdx)));
+      }
+    }
+    return model.getTurn() == 1 ? hash + SIDE : hash;
+  }
+
+  // the index of the player with the given color, or -1 if no player has it
+  private static int ownerOf(ReadOnlyThreeTrioGameModel<?> model, Colors color) {
+    for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+      if (model.getPlayerColor(playerIdx) == color) {
+        return playerIdx;
+      }
+    }
+    return -1;
+  }
+}
@@ -85,6 +85,19 @@ public interface ReadOnlyThreeTrioGameModel<C extends Card> {
    */
   int getFlipCount(int playerIdx, int handIdx, int row, int col);
 
+  /**
+   * Finds the number of cards the given player can flip with every card in their hand on
+   * every cell of the grid, all at once. This gives the same counts as calling getFlipCount
+   * for every pair, but the grid is only looked at once instead of once per pair.
+   * @param playerIdx The index of a player. If playerI, then playerIdx = I-1.
+   * @param parallel true to count the cards of the hand in parallel.
+   * @return flips[handIdx][row * getGridWidth() + col], the count of cards flipped by playing
+   *         that card on that cell, or -1 if the cell is a hole or already contains a card.
+   * @throws IllegalArgumentException given player index < 0 or >= number of players
+   * @throws IllegalStateException if the game has not started.
+   */
+  int[][] getFlipCounts(int playerIdx, boolean parallel);
+
   /**
    * Checks if a player can play at the given coordinate: Within the grid, not a hole cell,
    * and cell does not contain a card.
@@ -123,6 +136,84 @@ public interface ReadOnlyThreeTrioGameModel<C extends Card> {
    */
   List<C> getPlayerHand(int playerIdx);
 
+  /**
+   * Returns the number of cards in the indicated player's hand, without copying the hand.
+   * @param playerIdx the index of the player. 0 index based.
+   * @return the size of the player's hand.
+   * @throws IllegalStateException if the game has not started.
+   * @throws IllegalArgumentException given player index < 0 or >= number of players
+   */
+  int getHandSize(int playerIdx);
+
+  /**
+   * Returns the card at the given index of the indicated player's hand, without copying the
+   * hand. Cards cannot be modified, so the card can be kept.
+   * @param playerIdx the index of the player. 0 index based.
+   * @param handIdx the index of the card in the hand. 0 index based.
+   * @return the card at that index of the hand.
+   * @throws IllegalStateException if the game has not started.
+   * @throws IllegalArgumentException given player index < 0 or >= number of players, or
+   *         given hand index < 0 or >= the size of the hand
+   */
+  C getCardInHand(int playerIdx, int handIdx);
+
+  /**
+   * Returns how many cards in the indicated player's hand have a value greater than the given
+   * value on the given side. A card placed with value v facing direction d can be beaten by
+   * countCardsAbove(opponent, d.getOpposite(), v) cards of the opponent's hand. The hand is
+   * indexed as it changes, so this does not scan the hand.
+   * @param playerIdx the index of the player. 0 index based.
+   * @param side the side of the cards in hand to look at.
+   * @param value the value to beat.
+   * @return the number of cards in the hand with a greater value on that side.
+   * @throws IllegalStateException if the game has not started.
+   * @throws IllegalArgumentException given player index < 0 or >= number of players
+   */
+  int countCardsAbove(int playerIdx, Direction side, int value);
+
+  /**
+   * Returns the regions of the grid: the groups of card cells that can reach each other
+   * through neighboring card cells. Cards in different regions never battle, so each region
+   * can be played and searched on its own. The regions are found when the game starts.
+   * @return the regions of the grid.
+   * @throws IllegalStateException if the game has not started.
+   */
+  BoardRegions getRegions();
+
+  /**
+   * Returns the number of card cells without a card, which are the cells a card can be
+   * played on.
+   * @return the number of empty card cells.
+   * @throws IllegalStateException if the game has not started.
+   */
+  int getEmptyCellCount();
+
+  /**
+   * Returns the first empty card cell at or after the given cell, in row-major order
+   * (row * width + col). Every empty card cell is visited, in order and without allocating,
+   * by {@code for (int cell = model.nextEmptyCell(0); cell >= 0;
+   * cell = model.nextEmptyCell(cell + 1))}. The empty cells are kept as a set as cards are
+   * played, so this takes time in proportion to the empty cells, not the size of the grid.
+   * @param from the row-major index to start looking from. Negative values start at 0.
+   * @return the row-major index of the cell found, or -1 if there is none.
+   * @throws IllegalStateException if the game has not started.
+   */
+  int nextEmptyCell(int from);
+
+  /**
+   * Writes every legal move of the indicated player into the given array, encoded as in
+   * Moves: every card of the hand on every empty card cell, by cell in row-major order, then
+   * by hand index. Nothing is allocated, so one array can be reused for a whole game.
+   * @param playerIdx the index of the player. 0 index based.
+   * @param moves the array to write the moves to, from index 0.
+   * @return the number of moves written, which is the number of empty card cells times the
+   *         size of the player's hand.
+   * @throws IllegalStateException if the game has not started.
+   * @throws IllegalArgumentException given player index < 0 or >= number of players, or the
+   *         array is too small to hold every move.
+   */
+  int getLegalMoves(int playerIdx, int[] moves);
+
   /**
    * Gets the content of a cell at the given coordinate.
    * @param row The row of the grid. 0 index based.
@@ -161,4 +252,33 @@ public interface ReadOnlyThreeTrioGameModel<C extends Card> {
    * @throws IllegalStateException if the game has not started.
    */
   int lastPlayedCol();
+
+  /**
+   * Finds the cells whose cards were flipped by the battle of the card last played, in the
+   * order they were flipped. Each cell is given by its row-major index, row * width + col.
+   * Modifying the returned list has no effect on the game.
+   * @return the indices of the flipped cells, which is empty if the card last played has not
+   *         battled yet or flipped nothing.
+   * @throws IllegalStateException if the game has not started.
+   */
+  List<Integer> getLastFlips();
+
+  /**
+   * Returns the 64-bit hash of the current position: the cards on the grid and who owns them,
+   * the cards left in each hand, and whose turn it is. Equal positions have equal hashes, even
+   * across games on the same board, and the hash is kept up to date as the game goes on, so
+   * getting it costs nothing. See PositionHash for how it is made.
+   * @return the hash of the current position.
+   * @throws IllegalStateException if the game has not started.
+   */
+  long getPositionHash();
+
+  /**
+   * Returns an immutable snapshot of the grid: its holes, the cards on it and who owns them.
+   * Unlike getGrid, nothing is copied, so a snapshot can be taken after every move. The
+   * snapshot never changes as the game goes on and can be read from any thread.
+   * @return the snapshot of the current grid.
+   * @throws IllegalStateException if the game has not started.
+   */
+  BoardSnapshot getSnapshot();
 }
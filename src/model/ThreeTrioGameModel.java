@@ -37,7 +37,8 @@ public interface ThreeTrioGameModel<C extends Card> extends ReadOnlyThreeTrioGam
    * Side effect: If neighbor of this cell with a card that has a lower attack value
    * than the card just played, then switch the neighbor cell card color to the color
    * of the card just played. Traverse to neighboring cells.
-   * @throws IllegalStateException if the game has not started or is over.
+   * @throws IllegalStateException if the game has not started or is over, or if no card has
+   *                               been played yet.
    */
   void battle();
 }
@@ -2,17 +2,23 @@ package model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 /**
  * Represents the states and behaviors of a game of ThreeTrioGame.
  * This model maintains the grid, players, deck to be distributed to players, game turn,
  * maximum hand size, last played coordinates, and the game state.
  * After a user plays a card, their hand slides down left.
+ * Every card played and every cell flipped is recorded in a journal so moves can be undone.
+ * Scores, the set of empty card cells and the PositionHash of the game are kept up to
+ * date as cards are played and flipped, so checking them never scans the grid.
+ * Flip counts are worked out as dry runs against the live grid without copying or changing it,
+ * so getFlipCount and getFlipCounts can be called from several threads at once, as long as no
+ * move is made while they run.
  * Invariant: this.turn is always within the index bounds of the number of players. (0 or 1).
  */
-public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
+public class ThreeTrioModel implements UndoableThreeTrioGameModel<PlayableCard> {
   /*
   grid is 0 index based. 0,0 is the top left. As row increases--0 to 1 to 2...--row goes from top
   to bottom. As column increases--0 to 1 to 2...--column goes from left to right.
@@ -26,6 +32,15 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
   protected Integer playedRow; // 0 index based
   protected Integer playedCol; // 0 index based
   private GameState gamestate;
+  private final MoveJournal journal;
+  private final int[] scores; // cards in hand + cards owned on the grid, per player
+  private EmptyCellSet emptyCells; // card cells without a card
+  private Cells[] cells; // the cells of grid in row-major order: row * width + col
+  private long hash; // see PositionHash
+  private FlipCascade cascade;
+  private ThreadLocal<FlipCascade> dryRuns; // a cascade per thread, for flip counts
+  private PersistentBoard board; // the cards and owners of grid, for getSnapshot
+  private BoardRegions regions; // the groups of card cells of grid that can reach each other
 
   private enum GameState {
     NotStarted,
@@ -46,10 +61,12 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
     this.grid = new ArrayList<>();
     this.gamestate = GameState.NotStarted;
     this.turn = 0;
+    this.journal = new MoveJournal();
 
     this.playerColors = new ArrayList<>();
     this.playerColors.add(Colors.Red);
     this.playerColors.add(Colors.Blue);
+    this.scores = new int[this.playerColors.size()];
   }
 
   @Override
@@ -81,6 +98,65 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
 
     // link the neighbors so each cell knows its neighbors
     this.linkNeighbors(this.grid);
+    this.cells = this.flatten(this.grid);
+    int rows = this.grid.size();
+    int cols = this.grid.get(0).size();
+    this.cascade = new FlipCascade(rows, cols, this::beats);
+    this.dryRuns = ThreadLocal.withInitial(() -> new FlipCascade(rows, cols,
+            this::dryRunBeats));
+    this.initializeCounts();
+    this.board = new PersistentBoard(this.grid);
+    this.regions = BoardRegions.of(this.grid);
+    this.hash = PositionHash.of(this);
+  }
+
+  // the cells of the given grid in row-major order
+  private Cells[] flatten(List<List<Cells>> grid) {
+    int width = grid.get(0).size();
+    Cells[] flat = new Cells[grid.size() * width];
+    for (int row = 0; row < grid.size(); row++) {
+      for (int col = 0; col < width; col++) {
+        flat[row * width + col] = grid.get(row).get(col);
+      }
+    }
+    return flat;
+  }
+
+  // counts every player's score and the empty card cells from scratch, only done at the start
+  private void initializeCounts() {
+    this.emptyCells = new EmptyCellSet(this.cells.length);
+    for (int playerIdx = 0; playerIdx < this.players.size(); playerIdx++) {
+      this.scores[playerIdx] = this.players.get(playerIdx).getHandSize();
+    }
+    for (int cell = 0; cell < this.cells.length; cell++) {
+      if (!this.cells[cell].isHole() && !this.cells[cell].hasCard()) {
+        this.emptyCells.add(cell);
+      } else if (!this.cells[cell].isHole()) {
+        this.addToScore(this.cells[cell].cellColor(), 1);
+      }
+    }
+  }
+
+  // adds the given amount to the score of the player with the given color, if there is one
+  private void addToScore(Colors color, int amount) {
+    int playerIdx = this.playerColors.indexOf(color);
+    if (playerIdx >= 0) {
+      this.scores[playerIdx] += amount;
+    }
+  }
+
+  // changes the color of the cell with a card on it at the given row-major index, moving the
+  // card between players' scores and between owners in the hash
+  private void recolor(int cell, Colors color) {
+    Cells recolored = this.cells[cell];
+    long cardCode = PositionHash.cardCode(recolored.getCard());
+    int from = this.playerColors.indexOf(recolored.cellColor());
+    int to = this.playerColors.indexOf(color);
+    this.hash += PositionHash.cell(cell, cardCode, to) - PositionHash.cell(cell, cardCode, from);
+    this.addToScore(recolored.cellColor(), -1);
+    this.addToScore(color, 1);
+    recolored.changeColor(color);
+    this.board.setOwner(cell, color);
   }
 
   // counts the number of card cells on board
@@ -114,8 +190,8 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
       draw(0);
       draw(1);
 
-      if (this.players.get(0).getHand().size() == this.maxHandSize
-              && this.players.get(1).getHand().size() == this.maxHandSize) {
+      if (this.players.get(0).getHandSize() == this.maxHandSize
+              && this.players.get(1).getHandSize() == this.maxHandSize) {
         return;
       }
     }
@@ -175,36 +251,33 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
     if (!this.isValid(row, col)) {
       throw new IllegalArgumentException("Invalid row or column given.");
     }
-    if (this.turn == 0 && (handIdx < 0 || handIdx >= this.players.get(0).getHand().size())) {
-      throw new IllegalArgumentException("Invalid hand index");
-    }
-    if (this.turn == 1 && (handIdx < 0 || handIdx >= this.players.get(1).getHand().size())) {
+    ModelPlayer<PlayableCard> current = this.players.get(this.turn);
+    if (handIdx < 0 || handIdx >= current.getHandSize()) {
       throw new IllegalArgumentException("Invalid hand index");
     }
 
-    PlayableCard cardFromHand;
-    if (this.turn == 0) {
-      cardFromHand = this.players.get(0).getHand().get(handIdx);
-    } else {
-      cardFromHand = this.players.get(1).getHand().get(handIdx);
-    }
+    PlayableCard cardFromHand = current.getCardAt(handIdx);
 
     // if the condition results in false, then body will not execute and card will be placed on grid
     if (!this.grid.get(row).get(col).putCard(cardFromHand)) {
       throw new IllegalArgumentException("cell already has a card or is a hole");
     }
 
+    this.journal.recordPlay(this.turn, handIdx, cardFromHand, this.grid.get(row).get(col),
+            this.playedRow, this.playedCol);
     this.playedRow = row;
     this.playedCol = col;
 
     // Remove card after playing
-    if (this.turn == 0) {
-      this.players.get(0).removeCardFromHand(cardFromHand);
-    } else {
-      this.players.get(1).removeCardFromHand(cardFromHand);
-    }
-    Colors colorToBe = this.players.get(this.turn).getColor();
+    current.removeCardFromHand(handIdx);
+    Colors colorToBe = current.getColor();
     this.grid.get(playedRow).get(playedCol).changeColor(colorToBe);
+    // the card moved from the player's hand to the grid, so only the empty cells change
+    this.emptyCells.remove(row * this.getGridWidth() + col);
+    long cardCode = PositionHash.cardCode(cardFromHand);
+    this.hash -= PositionHash.hand(this.turn, cardCode);
+    this.hash += PositionHash.cell(row * this.getGridWidth() + col, cardCode, this.turn);
+    this.board.set(row * this.getGridWidth() + col, cardFromHand, colorToBe);
   }
 
   @Override
@@ -232,12 +305,8 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
 
   // if isGameOver is true, and both didPlayerOneWin and didPlayerTwoWin are false, then tie
   protected void updateGameState() {
-    for (List<Cells> rows : this.grid) {
-      for (Cells cell : rows) {
-        if (!cell.isHole() && !cell.hasCard()) {
-          return; // Does nothing if the game isn't over
-        }
-      }
+    if (this.emptyCells.size() > 0) {
+      return; // Does nothing if the game isn't over
     }
 
     // Now that it is confirmed that every cell is either
@@ -250,20 +319,8 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
   private void determineWinner() {
     this.throwIfNotStarted();
 
-    int player1TotalCards = this.players.get(0).getHand().size();
-    int player2TotalCards = this.players.get(1).getHand().size();
-
-    for (List<Cells> row : grid) {
-      for (Cells cell : row) {
-        if (!cell.isHole() && cell.hasCard()) {
-          if (cell.cellColor() == Colors.Red) {
-            player1TotalCards++;
-          } else {
-            player2TotalCards++;
-          }
-        }
-      }
-    }
+    int player1TotalCards = this.scores[0];
+    int player2TotalCards = this.scores[1];
 
     if (player1TotalCards > player2TotalCards) {
       this.gamestate = GameState.PlayerOneWin;
@@ -278,52 +335,149 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
   public void battle() {
     this.throwIfNotStarted();
     this.throwIfGameOver();
-    Cells currentCell = grid.get(playedRow).get(playedCol);
-    battleFromCell(currentCell);
+    if (this.playedRow < 0) {
+      throw new IllegalStateException("No card has been played yet.");
+    }
+    Colors playerColor = this.players.get(this.turn).getColor();
+    int played = this.playedRow * this.getGridWidth() + this.playedCol;
+    this.cascade.run(this.cells, played, this.cells[played].getCard(), playerColor,
+            this.placementMask(this.cells[played]));
+    for (int flip = 0; flip < this.cascade.flipCount(); flip++) {
+      this.flipCell(this.cascade.flipped(flip), playerColor);
+    }
+    this.afterCascade(this.cascade.flipCount(), this.cascade.depth());
+    this.endTurn();
+  }
+
+  /**
+   * Called once the flips of a battle are applied, before the turn ends. Dry runs made for
+   * flip counts are not battles and are not reported. The base game does nothing with it.
+   * @param flips the number of cards the battle flipped.
+   * @param depth the number of levels of the cascade: 0 if nothing flipped, 1 if only the
+   *              placed card flipped cards, and one more for every round of combos after that.
+   */
+  protected void afterCascade(int flips, int depth) {
+    // nothing to record in the base game
+  }
+
+  /**
+   * Ends the turn of the current player once their battle is finished, which may end the game.
+   */
+  protected void endTurn() {
     // only change turns after battles are finished
     this.turn = (this.turn + 1) % this.players.size();
+    this.hash += this.turn == 1 ? PositionHash.SIDE : -PositionHash.SIDE;
+    this.journal.recordBattle();
     this.updateGameState();
+  }
 
+  // flips the cell at the given row-major index to the given color, recording it to be undone
+  private void flipCell(int cell, Colors color) {
+    this.journal.recordFlip(cell, this.cells[cell].cellColor());
+    this.recolor(cell, color);
   }
 
-  private void battleFromCell(Cells cell) {
-    Colors playerColor = this.players.get(turn).getColor();
-    for (Map.Entry<Cells, Direction> entry : cell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
-      // the direction of the neighbor in relation to this cell
-      Direction direction = entry.getValue();
-      if (neighbor.isHole() || !neighbor.hasCard()) {
-        continue;
-      } else if (!neighbor.cellColor().equals(playerColor)) {
-        int compareResult = compareCardValues(cell, neighbor, direction);
-        if (compareResult <= 0) {
-          // go to next entry in for each loop if current cell is equal or less than neighbor
-          continue;
-        }
-        // this cell is greater than neighbor, so switch neighbor color and continue traversing
-        neighbor.changeColor(playerColor);
-        battleFromCell(neighbor);
-      }
-    }
+  @Override
+  public int applyMove(int handIdx, int row, int col) {
+    this.throwIfNotStarted();
+    this.throwIfGameOver();
+    this.playCard(handIdx, row, col);
+    this.battle();
+    return this.journal.lastFlipCount();
   }
 
-  protected int compareCardValues(Cells cell, Cells neighbor, Direction direction) {
-    switch (direction) {
-      case NORTH:
-        return cell.getCard().valueAt(Direction.NORTH)
-                .compareTo(neighbor.getCard().valueAt(Direction.SOUTH));
-      case SOUTH:
-        return cell.getCard().valueAt(Direction.SOUTH)
-                .compareTo(neighbor.getCard().valueAt(Direction.NORTH));
-      case EAST:
-        return cell.getCard().valueAt(Direction.EAST)
-                .compareTo(neighbor.getCard().valueAt(Direction.WEST));
-      case WEST:
-        return cell.getCard().valueAt(Direction.WEST)
-                .compareTo(neighbor.getCard().valueAt(Direction.EAST));
-      default:
-        throw new IllegalArgumentException("Unknown direction");
+  @Override
+  public void undoMove() {
+    this.throwIfNotStarted();
+    if (!this.journal.hasMoves()) {
+      throw new IllegalStateException("No card has been played.");
     }
+    if (this.journal.lastBattled()) {
+      while (this.journal.lastFlipCount() > 0) {
+        this.recolor(this.journal.lastFlipped(), this.journal.lastFlippedFrom());
+        this.journal.popFlip();
+      }
+      this.hash += (this.journal.lastPlayer() - this.turn) * PositionHash.SIDE;
+      this.turn = this.journal.lastPlayer();
+      this.gamestate = GameState.Ongoing;
+    }
+    long cardCode = PositionHash.cardCode(this.journal.lastCard());
+    int played = this.playedRow * this.getGridWidth() + this.playedCol;
+    this.hash -= PositionHash.cell(played, cardCode, this.journal.lastPlayer());
+    this.hash += PositionHash.hand(this.journal.lastPlayer(), cardCode);
+    this.journal.lastCell().removeCard();
+    this.board.set(played, null, null);
+    this.emptyCells.add(played);
+    this.players.get(this.journal.lastPlayer())
+            .addCardToHand(this.journal.lastHandIdx(), this.journal.lastCard());
+    this.playedRow = this.journal.lastPrevPlayedRow();
+    this.playedCol = this.journal.lastPrevPlayedCol();
+    this.journal.popMove();
+  }
+
+  @Override
+  public boolean canUndo() {
+    this.throwIfNotStarted();
+    return this.journal.hasMoves();
+  }
+
+  /**
+   * Determines if the attacking card flips the defending card during a battle.
+   * A card flips its neighbor if its value facing the neighbor is greater.
+   * This may be called from several threads at once, so it must not change any state.
+   * @param combo false for the card just placed, true for cards flipped by the cascade.
+   * @param attacker the attacking card.
+   * @param defender the card being attacked.
+   * @param direction the direction of the defender in relation to the attacker.
+   * @return true iff the defending card is flipped.
+   */
+  protected boolean beats(boolean combo, Card attacker, Card defender, Direction direction) {
+    return this.compareCardValues(attacker, defender, direction) > 0;
+  }
+
+  /**
+   * Returns which neighbors of a newly placed card are flipped by the placement itself,
+   * whatever beats() says about them. This is worked out once per placement, for rules that
+   * look at every neighbor of the placed card at once. Bit d of the result is set iff the
+   * neighbor in the direction whose ordinal is d is flipped. The base game has no such rules.
+   * This may be called from several threads at once, so it must not change any state.
+   * @param placed the cell of the card just placed, linked to its neighbors.
+   * @return the bitmask of the directions whose neighbor is flipped by the placement.
+   */
+  protected int placementMask(Cells placed) {
+    return 0;
+  }
+
+  /**
+   * Determines if the attacking card would flip the defending card in a dry run made for flip
+   * counts, which is not a battle. By default, the same as beats().
+   * This may be called from several threads at once, so it must not change any state.
+   * @param combo false for the card being tried, true for cards it would flip.
+   * @param attacker the attacking card.
+   * @param defender the card being attacked.
+   * @param direction the direction of the defender in relation to the attacker.
+   * @return true iff the defending card would be flipped.
+   */
+  protected boolean dryRunBeats(boolean combo, Card attacker, Card defender,
+                                Direction direction) {
+    return this.beats(combo, attacker, defender, direction);
+  }
+
+  /**
+   * Returns which neighbors of a card tried in a dry run made for flip counts would be
+   * flipped by the placement itself. By default, the same as placementMask().
+   * This may be called from several threads at once, so it must not change any state.
+   * @param placed a stand-in cell of the card tried, linked to the neighbors of its cell.
+   * @return the bitmask of the directions whose neighbor would be flipped by the placement.
+   */
+  protected int dryRunPlacementMask(Cells placed) {
+    return this.placementMask(placed);
+  }
+
+  // positive if the attacker has a greater value facing the defender than the defender has
+  // facing back, negative if it is smaller and 0 if they are equal
+  protected int compareCardValues(Card attacker, Card defender, Direction direction) {
+    return attacker.numAt(direction) - defender.numAt(direction.getOpposite());
   }
 
 
@@ -334,9 +488,9 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
     this.throwIfNotStarted();
     // Update in future if more than 2 players are present.
     if (this.turn == 0) {
-      return new ArrayList<>(this.players.get(0).getHand());
+      return this.players.get(0).getHand();
     } else {
-      return new ArrayList<>(this.players.get(1).getHand());
+      return this.players.get(1).getHand();
     }
   }
 
@@ -379,19 +533,7 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
       throw new IllegalArgumentException("Invalid player index");
     }
 
-    int playerTotalCards = this.players.get(playerIdx).getHand().size();
-
-    for (List<Cells> row : grid) {
-      for (Cells cell : row) {
-        if (!cell.isHole() && cell.hasCard()) {
-          if (cell.cellColor() == this.players.get(playerIdx).getColor()) {
-            playerTotalCards++;
-          }
-        }
-      }
-    }
-
-    return playerTotalCards;
+    return this.scores[playerIdx];
   }
 
   @Override
@@ -404,51 +546,101 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
       throw new IllegalArgumentException("Invalid coordinate: either off the grid, "
               + "on a hole cell, or on a cell already containing a card");
     }
-    if (handIdx < 0 || handIdx >= this.players.get(playerIdx).getHand().size()) {
+    if (handIdx < 0 || handIdx >= this.players.get(playerIdx).getHandSize()) {
       throw new IllegalArgumentException("Invalid hand index");
     }
 
-    // use copy of grid to not change actual grid being played on
-    List<List<Cells>> copyGrid = this.getGrid();
-    copyGrid.get(row).get(col).changeColor(getPlayerColor(playerIdx));
-    copyGrid.get(row).get(col).putCard(this.players.get(playerIdx).getHand().get(handIdx));
+    return this.dryRun(this.players.get(playerIdx).getCardAt(handIdx),
+            this.players.get(playerIdx).getColor(), row * this.getGridWidth() + col);
+  }
 
-    // get cell from a copy of the grid to not affect grid used in game
-    Cells cell = copyGrid.get(row).get(col);
+  // Counts the cards the given card would flip if the player with the given color placed it on
+  // the given empty cell. The cascade runs on the live grid with the card kept off of it, so
+  // nothing is copied or changed and each thread only touches its own cascade.
+  private int dryRun(PlayableCard card, Colors color, int cell) {
+    return this.dryRuns.get().run(this.cells, cell, card, color,
+            this.dryRunPlacementMask(this.standIn(card, color, cell)));
+  }
 
-    return helpCountFlips(cell, this.players.get(playerIdx).getColor());
+  // A cell with the given card that is linked to the neighbors of the given cell of the grid,
+  // for placement rules to look at. The grid itself does not point back to it.
+  private Cells standIn(PlayableCard card, Colors color, int cell) {
+    Cells placed = new CardCell(card);
+    placed.changeColor(color);
+    Neighbors neighbors = this.cells[cell].neighbors();
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      if (neighbors.get(dir) != null) {
+        placed.addNeighbor(neighbors.get(dir), Direction.fromIndex(dir));
+      }
+    }
+    return placed;
   }
 
-  private int helpCountFlips(Cells cell, Colors color) {
-    int flips = 0;
-    for (Map.Entry<Cells, Direction> entry : cell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
-      // the direction of the neighbor in relation to this cell
-      Direction direction = entry.getValue();
-      if (neighbor.isHole() || !neighbor.hasCard()) {
-        continue;
-      } else if (!neighbor.cellColor().equals(color)) {
-        int compareResult = compareCardValues(cell, neighbor, direction);
-        if (compareResult <= 0) {
-          // go to next entry in for each loop if current cell is equal or less than neighbor
-          continue;
-        }
-        // this cell is greater than neighbor, so add 1 to flips and change color of neighbor
-        // and continue traversing
-        neighbor.changeColor(color);
-        flips += 1;
-        flips += helpCountFlips(neighbor, color);
+  @Override
+  public int[][] getFlipCounts(int playerIdx, boolean parallel) {
+    this.throwIfNotStarted();
+    if (playerIdx < 0 || playerIdx >= this.players.size()) {
+      throw new IllegalArgumentException("Invalid player index");
+    }
+    List<PlayableCard> hand = this.players.get(playerIdx).getHandView();
+    Colors color = this.players.get(playerIdx).getColor();
+    int[][] flips = new int[hand.size()][];
+    if (parallel) {
+      IntStream.range(0, hand.size()).parallel().forEach(handIdx ->
+              flips[handIdx] = this.countFlips(hand.get(handIdx), color));
+    } else {
+      for (int handIdx = 0; handIdx < hand.size(); handIdx++) {
+        flips[handIdx] = this.countFlips(hand.get(handIdx), color);
       }
     }
     return flips;
   }
 
+  // Counts the flips of the given card on every empty cell of the grid.
+  private int[] countFlips(PlayableCard card, Colors color) {
+    int[] flips = new int[this.cells.length];
+    for (int cell = 0; cell < this.cells.length; cell++) {
+      Cells target = this.cells[cell];
+      flips[cell] = target.isHole() || target.hasCard() ? -1 : this.dryRun(card, color, cell);
+    }
+    return flips;
+  }
+
   @Override
-  public synchronized boolean checkLegal(int row, int col) {
+  public boolean checkLegal(int row, int col) {
     this.throwIfNotStarted();
-    return this.isValid(row, col)
-            && !this.grid.get(row).get(col).isHole()
-            && !this.grid.get(row).get(col).hasCard();
+    return this.isValid(row, col) && this.emptyCells.contains(row * this.getGridWidth() + col);
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    this.throwIfNotStarted();
+    return this.emptyCells.size();
+  }
+
+  @Override
+  public int nextEmptyCell(int from) {
+    this.throwIfNotStarted();
+    return this.emptyCells.next(from);
+  }
+
+  @Override
+  public int getLegalMoves(int playerIdx, int[] moves) {
+    this.throwIfNotStarted();
+    if (playerIdx < 0 || playerIdx >= this.players.size()) {
+      throw new IllegalArgumentException("Invalid player index");
+    }
+    int handSize = this.players.get(playerIdx).getHandSize();
+    if (moves.length < this.emptyCells.size() * handSize) {
+      throw new IllegalArgumentException("Array too small for every legal move.");
+    }
+    int count = 0;
+    for (int cell = this.emptyCells.next(0); cell >= 0; cell = this.emptyCells.next(cell + 1)) {
+      for (int handIdx = 0; handIdx < handSize; handIdx++) {
+        moves[count++] = Moves.encode(cell, handIdx);
+      }
+    }
+    return count;
   }
 
   @Override
@@ -470,6 +662,39 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
     return this.players.get(playerIdx).getHand();
   }
 
+  @Override
+  public int getHandSize(int playerIdx) {
+    this.throwIfNotStarted();
+    if (playerIdx < 0 || playerIdx >= this.players.size()) {
+      throw new IllegalArgumentException("Invalid player index");
+    }
+    return this.players.get(playerIdx).getHandSize();
+  }
+
+  @Override
+  public PlayableCard getCardInHand(int playerIdx, int handIdx) {
+    this.throwIfNotStarted();
+    if (playerIdx < 0 || playerIdx >= this.players.size()) {
+      throw new IllegalArgumentException("Invalid player index");
+    }
+    return this.players.get(playerIdx).getCardAt(handIdx);
+  }
+
+  @Override
+  public int countCardsAbove(int playerIdx, Direction side, int value) {
+    this.throwIfNotStarted();
+    if (playerIdx < 0 || playerIdx >= this.players.size()) {
+      throw new IllegalArgumentException("Invalid player index");
+    }
+    return this.players.get(playerIdx).countCardsAbove(side, value);
+  }
+
+  @Override
+  public BoardRegions getRegions() {
+    this.throwIfNotStarted();
+    return this.regions;
+  }
+
   @Override
   public Optional<Card> getContentAtCell(int row, int col) {
     this.throwIfNotStarted();
@@ -507,6 +732,24 @@ public class ThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
     return this.playedCol;
   }
 
+  @Override
+  public BoardSnapshot getSnapshot() {
+    this.throwIfNotStarted();
+    return this.board.snapshot();
+  }
+
+  @Override
+  public long getPositionHash() {
+    this.throwIfNotStarted();
+    return this.hash;
+  }
+
+  @Override
+  public List<Integer> getLastFlips() {
+    this.throwIfNotStarted();
+    return this.journal.lastFlips();
+  }
+
   // Private Methods
   protected void throwIfNotStarted() {
     if (this.gamestate == GameState.NotStarted) {
@@ -0,0 +1,37 @@
+package model;
+
+/**
+ * A ThreeTrioGameModel that remembers the moves made in it, so they can be taken back.
+ * This lets a game be played forward and rolled back again while looking ahead, without
+ * copying the grid: undoing a move only touches the cells that move changed.
+ * @param <C> The type of card used
+ */
+public interface UndoableThreeTrioGameModel<C extends Card> extends ThreeTrioGameModel<C> {
+  /**
+   * Plays the card at the given card index at the position (row,col) for the current player
+   * and then battles, just like playCard followed by battle.
+   * @param handIdx The hand index for a card that the user wants to play. 0 index based.
+   * @param row The row of the grid. 0 index based.
+   * @param col The column of the grid. 0 index based.
+   * @return the number of cards flipped by the battle.
+   * @throws IllegalArgumentException if handIdx, row, or col are invalid as in playCard.
+   * @throws IllegalStateException if the game has not started or is over.
+   */
+  int applyMove(int handIdx, int row, int col);
+
+  /**
+   * Takes back the latest card played, whether it came from applyMove or playCard.
+   * If that card has battled, the cards it flipped get their old colors back, the turn goes
+   * back to the player who played it, and a game that ended with it is ongoing again.
+   * The card goes back to the same index in its player's hand it was played from.
+   * @throws IllegalStateException if the game has not started or no card has been played.
+   */
+  void undoMove();
+
+  /**
+   * Determines if there is a played card that can be taken back with undoMove.
+   * @return true iff at least one card has been played and not yet taken back.
+   * @throws IllegalStateException if the game has not started.
+   */
+  boolean canUndo();
+}
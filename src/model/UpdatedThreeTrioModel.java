@@ -110,8 +110,7 @@ public class UpdatedThreeTrioModel implements ModelFeatures<PlayableCard> {
   public void playCard(int handIdx, int row, int col) {
     if (!checkLegal(row, col)) {
       String errMsg = "Invalid move!";
-      Cells cell = this.getGrid().get(row).get(col);
-      if (cell.isHole()) {
+      if (this.getSnapshot().isHole(row, col)) {
         errMsg += " The tile you are trying to place this card on is a hole!";
       }
       else {
@@ -170,6 +169,11 @@ public class UpdatedThreeTrioModel implements ModelFeatures<PlayableCard> {
     return this.existing.getFlipCount(playerIdx, handIdx, row, col);
   }
 
+  @Override
+  public int[][] getFlipCounts(int playerIdx, boolean parallel) {
+    return this.existing.getFlipCounts(playerIdx, parallel);
+  }
+
   @Override
   public boolean checkLegal(int row, int col) {
     return this.existing.checkLegal(row, col);
@@ -190,6 +194,41 @@ public class UpdatedThreeTrioModel implements ModelFeatures<PlayableCard> {
     return this.existing.getPlayerHand(playerIdx);
   }
 
+  @Override
+  public int getHandSize(int playerIdx) {
+    return this.existing.getHandSize(playerIdx);
+  }
+
+  @Override
+  public PlayableCard getCardInHand(int playerIdx, int handIdx) {
+    return this.existing.getCardInHand(playerIdx, handIdx);
+  }
+
+  @Override
+  public int countCardsAbove(int playerIdx, Direction side, int value) {
+    return this.existing.countCardsAbove(playerIdx, side, value);
+  }
+
+  @Override
+  public BoardRegions getRegions() {
+    return this.existing.getRegions();
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    return this.existing.getEmptyCellCount();
+  }
+
+  @Override
+  public int nextEmptyCell(int from) {
+    return this.existing.nextEmptyCell(from);
+  }
+
+  @Override
+  public int getLegalMoves(int playerIdx, int[] moves) {
+    return this.existing.getLegalMoves(playerIdx, moves);
+  }
+
   @Override
   public Optional<Card> getContentAtCell(int row, int col) {
     return this.existing.getContentAtCell(row, col);
@@ -214,4 +253,19 @@ public class UpdatedThreeTrioModel implements ModelFeatures<PlayableCard> {
   public int lastPlayedCol() {
     return this.existing.lastPlayedCol();
   }
+
+  @Override
+  public List<Integer> getLastFlips() {
+    return this.existing.getLastFlips();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return this.existing.getPositionHash();
+  }
+
+  @Override
+  public BoardSnapshot getSnapshot() {
+    return this.existing.getSnapshot();
+  }
 }
@@ -0,0 +1,197 @@
+package model.packed;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.BoardRegions;
+import model.Cells;
+
+/**
+ * The immutable shape of a Three Trio board: its size, which cells are holes, and which cell
+ * lies in each direction of every other cell. Cells are identified by their row-major index
+ * (row * width + col). The geometries of the boards used most recently are interned, so every
+ * game played on the same board shares one neighbor table and one set of BoardRegions no matter
+ * how many games are alive at once, while boards no longer played on are let go.
+ */
+public final class BoardGeometry {
+  /**
+   * The number of directions a cell can have a neighbor in. Directions are indexed by
+   * their ordinal in {@link model.Direction}, so the opposite of direction d is d ^ 1.
+   */
+  public static final int DIRECTIONS = 4;
+
+  /**
+   * Marks a missing neighbor in the neighbor table: either off the board or a hole.
+   */
+  public static final int NO_NEIGHBOR = -1;
+
+  private static final int INTERNED_BOARDS = 64; // the most boards kept at once
+  // shape -> geometry, least recently used first, guarded by itself
+  private static final Map<String, BoardGeometry> INTERNED = new LinkedHashMap<>(16, 0.75f,
+          true);
+
+  private final int rows;
+  private final int cols;
+  private final boolean[] holes;
+  private final int[] neighbors; // cell * DIRECTIONS + direction -> neighbor index or NO_NEIGHBOR
+  private final int cardCellCount;
+  private final BoardRegions regions;
+  private final long key; // of the shape, see getKey
+
+  private BoardGeometry(int rows, int cols, boolean[] holes, BoardRegions regions, String shape) {
+    this.rows = rows;
+    this.cols = cols;
+    this.holes = holes;
+    this.regions = regions;
+    this.key = hashOf(shape);
+    this.neighbors = new int[rows * cols * DIRECTIONS];
+
+    int cardCells = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int cell = row * cols + col;
+        if (!holes[cell]) {
+          cardCells++;
+        }
+        int base = cell * DIRECTIONS;
+        this.neighbors[base] = this.cardCellAt(row - 1, col); // NORTH
+        this.neighbors[base + 1] = this.cardCellAt(row + 1, col); // SOUTH
+        this.neighbors[base + 2] = this.cardCellAt(row, col + 1); // EAST
+        this.neighbors[base + 3] = this.cardCellAt(row, col - 1); // WEST
+      }
+    }
+    this.cardCellCount = cardCells;
+  }
+
+  // index of the card cell at (row, col), or NO_NEIGHBOR if it is off the board or a hole
+  private int cardCellAt(int row, int col) {
+    if (row < 0 || row >= this.rows || col < 0 || col >= this.cols
+            || this.holes[row * this.cols + col]) {
+      return NO_NEIGHBOR;
+    }
+    return row * this.cols + col;
+  }
+
+  // a 64-bit FNV-1a hash of the given shape, with its bits mixed so every bit depends on all
+  private static long hashOf(String shape) {
+    long hash = 0xcbf29ce484222325L;
+    for (int index = 0; index < shape.length(); index++) {
+      hash = (hash ^ shape.charAt(index)) * 0x100000001b3L;
+    }
+    hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+    return hash ^ (hash >>> 33);
+  }
+
+  /**
+   * Returns the shared geometry of the given grid. Only the shape and the position of holes
+   * are read; cards and colors are ignored.
+   * @param grid the grid to read the shape of.
+   * @return the geometry shared by every grid with the same shape, as long as that shape is
+   *         among the boards used most recently.
+   * @throws IllegalArgumentException if the grid is empty or its rows differ in length.
+   */
+  public static BoardGeometry of(List<List<Cells>> grid) {
+    if (grid.isEmpty() || grid.get(0).isEmpty()) {
+      throw new IllegalArgumentException("Grid must have at least one cell.");
+    }
+    int rows = grid.size();
+    int cols = grid.get(0).size();
+    boolean[] holes = new boolean[rows * cols];
+    StringBuilder key = new StringBuilder().append(rows).append('x').append(cols).append(':');
+    for (int row = 0; row < rows; row++) {
+      if (grid.get(row).size() != cols) {
+        throw new IllegalArgumentException("Every row of the grid must have the same length.");
+      }
+      for (int col = 0; col < cols; col++) {
+        boolean hole = grid.get(row).get(col).isHole();
+        holes[row * cols + col] = hole;
+        key.append(hole ? 'X' : 'C');
+      }
+    }
+    synchronized (INTERNED) {
+      BoardGeometry geometry = INTERNED.get(key.toString());
+      if (geometry == null) {
+        geometry = new BoardGeometry(rows, cols, holes, BoardRegions.of(grid), key.toString());
+        INTERNED.put(key.toString(), geometry);
+        if (INTERNED.size() > INTERNED_BOARDS) {
+          Iterator<BoardGeometry> leastRecent = INTERNED.values().iterator();
+          leastRecent.next();
+          leastRecent.remove();
+        }
+      }
+      return geometry;
+    }
+  }
+
+  /**
+   * Returns the number of rows of the board.
+   * @return the number of rows.
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Returns the number of columns of the board.
+   * @return the number of columns.
+   */
+  public int getCols() {
+    return this.cols;
+  }
+
+  /**
+   * Returns the total number of cells, holes included.
+   * @return rows * cols.
+   */
+  public int size() {
+    return this.holes.length;
+  }
+
+  /**
+   * Returns the number of cells a card can be placed on.
+   * @return the number of card cells.
+   */
+  public int getCardCellCount() {
+    return this.cardCellCount;
+  }
+
+  /**
+   * Determines if the cell at the given index is a hole.
+   * @param cell the row-major index of the cell.
+   * @return true iff the cell is a hole.
+   */
+  public boolean isHole(int cell) {
+    return this.holes[cell];
+  }
+
+  /**
+   * Returns a 64-bit key of the shape of the board and the position of its holes, the same for
+   * every board of that shape and almost surely different for boards of other shapes. Position
+   * hashes do not cover the board, so this tells the same position hash on different boards
+   * apart.
+   * @return the key of the shape of the board.
+   */
+  public long getKey() {
+    return this.key;
+  }
+
+  /**
+   * Returns the regions of the board, the groups of card cells that can reach each other.
+   * @return the regions of the board.
+   */
+  public BoardRegions getRegions() {
+    return this.regions;
+  }
+
+  /**
+   * Returns the card cell next to the given cell in the given direction.
+   * @param cell the row-major index of the cell.
+   * @param direction the ordinal of the direction to look in.
+   * @return the index of the neighboring card cell, or NO_NEIGHBOR if there is none.
+   */
+  public int neighbor(int cell, int direction) {
+    return this.neighbors[cell * DIRECTIONS + direction];
+  }
+}
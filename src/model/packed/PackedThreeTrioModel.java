@@ -0,0 +1,811 @@
+package model.packed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import model.BoardRegions;
+import model.BoardSnapshot;
+import model.Card;
+import model.CardCell;
+import model.Cells;
+import model.Colors;
+import model.Direction;
+import model.EmptyCellSet;
+import model.HandIndex;
+import model.HoleCell;
+import model.Moves;
+import model.PersistentBoard;
+import model.PlayableCard;
+import model.PositionHash;
+import model.ReadOnlyThreeTrioGameModel;
+import model.ThreeTrioGameModel;
+import model.ruled.FlipGreaterRule;
+import model.ruled.RuleEngine;
+import model.ruled.ThreeTrioRule;
+
+/**
+ * A ThreeTrioGameModel that keeps the whole game in a handful of primitive arrays instead of a
+ * graph of cell objects: one byte per cell for its owner (or hole), one short per cell for the
+ * id of the card on it, and one short per hand slot. The board's neighbor table is shared
+ * through its {@link BoardGeometry}, and the cards dealt at the start of a game are shared by
+ * every copy of that game, so a copy only duplicates the small position arrays.
+ * Plays by the same rules as a RuledThreeTrioModel built with the same rule set; the default
+ * constructor plays by the FlipGreaterRule like the ThreeTrioModel.
+ * This model is meant for simulations and is not thread-safe.
+ */
+public class PackedThreeTrioModel implements ThreeTrioGameModel<PlayableCard> {
+  /*
+  Cells are stored row-major: the cell at (row, col) has index row * width + col.
+  An owner of 1 means player 1 (Red) owns the card on the cell and 2 means player 2 (Blue),
+  so the owner of a card played by playerIdx is always playerIdx + 1.
+   */
+  private static final byte EMPTY = 0;
+  private static final byte HOLE = 3;
+  private static final short NO_CARD = -1;
+
+  private static final byte NOT_STARTED = 0;
+  private static final byte ONGOING = 1;
+  private static final byte TIE = 2;
+  private static final byte PLAYER_ONE_WIN = 3;
+  private static final byte PLAYER_TWO_WIN = 4;
+
+  private static final int NUM_PLAYERS = 2;
+  private static final Colors[] PLAYER_COLORS = {Colors.Red, Colors.Blue};
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  // Shared by every copy of this game.
+  private final RuleEngine engine;
+  private BoardGeometry geometry;
+  private PlayableCard[] cardTable; // card id -> card
+  private byte[] cardValues; // card id * 4 + direction -> value from 1 to 10
+  private long[] cardCodes; // card id -> PositionHash.cardCode
+  private int maxHandSize;
+
+  // The position, copied by copy() and copyFrom().
+  private byte[] owners;
+  private short[] cards;
+  private short[] hands; // player * maxHandSize + slot -> card id
+  private final int[] handSizes;
+  private final HandIndex[] handIndexes; // the cards of each hand by side and value
+  private final int[] boardCounts; // cards each player owns on the board
+  private EmptyCellSet emptyCells; // card cells without a card
+  private int turn;
+  private int playedCell;
+  private int[] lastFlips; // cells flipped by the last battle, in order
+  private int lastFlipCount;
+  private long hash; // see PositionHash
+  private BoardSnapshot snapshot; // built when asked for, forgotten when the board changes
+  private byte state;
+
+  // Scratch space for flip cascades, never copied.
+  private int[] queue;
+  private long[] visited;
+
+  /**
+   * Constructor for a packed model that plays by the default FlipGreaterRule.
+   * Does not start the game.
+   */
+  public PackedThreeTrioModel() {
+    this(Set.of(new FlipGreaterRule()));
+  }
+
+  /**
+   * Constructor for a packed model that plays by the given rules. Does not start the game.
+   * Rules that allow combos must only depend on the two values being compared, as is the
+   * case for the FlipGreaterRule, ReverseRule and FallenAceRule.
+   * @param rules The rules that this game will be played with.
+   * @throws IllegalArgumentException if some rules are found to be mutually exclusive.
+   */
+  public PackedThreeTrioModel(Set<ThreeTrioRule> rules) {
+    this(RuleEngine.compile(rules));
+  }
+
+  /**
+   * Constructor for a packed model that plays by an already compiled engine. Does not start
+   * the game. The same conditions on the rules apply as for the constructor taking a set.
+   * @param engine The compiled rules that this game will be played with.
+   * @throws IllegalArgumentException if the engine is null.
+   */
+  public PackedThreeTrioModel(RuleEngine engine) {
+    if (engine == null) {
+      throw new IllegalArgumentException("Engine cannot be null.");
+    }
+    this.engine = engine;
+    this.handSizes = new int[NUM_PLAYERS];
+    this.handIndexes = newHandIndexes();
+    this.boardCounts = new int[NUM_PLAYERS];
+    this.playedCell = -1;
+    this.state = NOT_STARTED;
+  }
+
+  // Shares everything but the position with the given model.
+  private PackedThreeTrioModel(PackedThreeTrioModel other) {
+    this.engine = other.engine;
+    this.geometry = other.geometry;
+    this.cardTable = other.cardTable;
+    this.cardValues = other.cardValues;
+    this.cardCodes = other.cardCodes;
+    this.maxHandSize = other.maxHandSize;
+    this.owners = new byte[other.owners.length];
+    this.cards = new short[other.cards.length];
+    this.hands = new short[other.hands.length];
+    this.lastFlips = new int[other.lastFlips.length];
+    this.emptyCells = new EmptyCellSet(other.owners.length);
+    this.handSizes = new int[NUM_PLAYERS];
+    this.handIndexes = newHandIndexes();
+    this.boardCounts = new int[NUM_PLAYERS];
+  }
+
+  private static HandIndex[] newHandIndexes() {
+    HandIndex[] indexes = new HandIndex[NUM_PLAYERS];
+    for (int player = 0; player < NUM_PLAYERS; player++) {
+      indexes[player] = new HandIndex();
+    }
+    return indexes;
+  }
+
+  /**
+   * Returns an independent copy of this game. The copy shares the board geometry, the dealt
+   * cards and the compiled rules with this game, so only the position arrays are duplicated.
+   * @return a copy of this game that can be played without affecting this one.
+   * @throws IllegalStateException if the game has not started.
+   */
+  public PackedThreeTrioModel copy() {
+    this.throwIfNotStarted();
+    PackedThreeTrioModel copy = new PackedThreeTrioModel(this);
+    copy.copyFrom(this);
+    return copy;
+  }
+
+  /**
+   * Overwrites the position of this game with the position of the given game, reusing this
+   * game's arrays. Both games must come from the same started game, through copy().
+   * @param other the game whose position is copied.
+   * @throws IllegalArgumentException if the given game was not copied from this game or the
+   *                                  game this game was copied from.
+   */
+  public void copyFrom(PackedThreeTrioModel other) {
+    if (other.state == NOT_STARTED || other.cardTable != this.cardTable
+            || other.geometry != this.geometry || other.engine != this.engine) {
+      throw new IllegalArgumentException("Positions can only be copied between copies "
+              + "of the same game.");
+    }
+    System.arraycopy(other.owners, 0, this.owners, 0, other.owners.length);
+    System.arraycopy(other.cards, 0, this.cards, 0, other.cards.length);
+    System.arraycopy(other.hands, 0, this.hands, 0, other.hands.length);
+    System.arraycopy(other.handSizes, 0, this.handSizes, 0, NUM_PLAYERS);
+    for (int player = 0; player < NUM_PLAYERS; player++) {
+      this.handIndexes[player].copyFrom(other.handIndexes[player]);
+    }
+    System.arraycopy(other.boardCounts, 0, this.boardCounts, 0, NUM_PLAYERS);
+    this.emptyCells.copyFrom(other.emptyCells);
+    this.turn = other.turn;
+    this.playedCell = other.playedCell;
+    System.arraycopy(other.lastFlips, 0, this.lastFlips, 0, other.lastFlipCount);
+    this.lastFlipCount = other.lastFlipCount;
+    this.hash = other.hash;
+    this.snapshot = other.snapshot;
+    this.state = other.state;
+  }
+
+  @Override
+  public void startGame(List<List<Cells>> grid, List<PlayableCard> deck) {
+    this.throwIfStarted();
+    this.throwIfGameOver();
+    BoardGeometry board = BoardGeometry.of(grid);
+
+    // N = count number of card cells on board. Then check if there is at least N+1 cards in deck
+    // Fill each player hand with (N+1) / 2 cards.
+    if (deck.size() < board.getCardCellCount() + 1) {
+      throw new IllegalArgumentException("If there is N card cells on the board, there"
+              + "must be at least N+1 cards in deck.");
+    }
+
+    // Deals alternately to player 1 then player 2, like the ThreeTrioModel.
+    List<PlayableCard> table = new ArrayList<>();
+    int handSize = (board.getCardCellCount() + 1) / 2;
+    int[][] handIds = new int[NUM_PLAYERS][handSize];
+    for (int slot = 0; slot < handSize; slot++) {
+      for (int player = 0; player < NUM_PLAYERS; player++) {
+        handIds[player][slot] = table.size();
+        table.add(deck.get(table.size()));
+      }
+    }
+    this.load(board, grid, table, handIds, 0);
+  }
+
+  /**
+   * Starts this game at the position of another game in progress, so the position can be
+   * played on from there without touching the other game, such as when searching ahead.
+   * The cards on the board, their owners, both hands in order and the turn are copied; the
+   * moves that led to the position are not, so the last played cell and flips are not either.
+   * @param position the game whose position is copied, which must be played with PlayableCards.
+   * @throws IllegalArgumentException if the position is null or has cards that are not
+   *                                  PlayableCards.
+   * @throws IllegalStateException if this game has already started, or the other game has not.
+   */
+  public void startFrom(ReadOnlyThreeTrioGameModel<?> position) {
+    this.throwIfStarted();
+    this.throwIfGameOver();
+    if (position == null) {
+      throw new IllegalArgumentException("Position cannot be null.");
+    }
+    List<List<Cells>> grid = position.getGrid();
+    List<PlayableCard> table = new ArrayList<>();
+    int[][] handIds = new int[NUM_PLAYERS][];
+    for (int player = 0; player < NUM_PLAYERS; player++) {
+      List<? extends Card> hand = position.getPlayerHand(player);
+      handIds[player] = new int[hand.size()];
+      for (int slot = 0; slot < hand.size(); slot++) {
+        if (!(hand.get(slot) instanceof PlayableCard)) {
+          throw new IllegalArgumentException("Cards in hand must be playable cards.");
+        }
+        handIds[player][slot] = table.size();
+        table.add((PlayableCard) hand.get(slot));
+      }
+    }
+    this.load(BoardGeometry.of(grid), grid, table, handIds, position.getTurn());
+  }
+
+  // Sets up the position from the given grid and hands, which hold ids into the table. Cards
+  // already on the grid get ids after the cards in the table.
+  private void load(BoardGeometry board, List<List<Cells>> grid, List<PlayableCard> table,
+                    int[][] handIds, int turn) {
+    byte[] startOwners = new byte[board.size()];
+    short[] startCards = new short[board.size()];
+    for (int cell = 0; cell < board.size(); cell++) {
+      Cells given = grid.get(cell / board.getCols()).get(cell % board.getCols());
+      startCards[cell] = NO_CARD;
+      if (given.isHole()) {
+        startOwners[cell] = HOLE;
+      } else if (given.hasCard()) {
+        if (given.cellColor() == null || !(given.getCard() instanceof PlayableCard)) {
+          throw new IllegalArgumentException("Cards on the given grid must be owned "
+                  + "playable cards.");
+        }
+        startOwners[cell] = (byte) (given.cellColor() == Colors.Red ? 1 : 2);
+        startCards[cell] = (short) table.size();
+        table.add((PlayableCard) given.getCard());
+      }
+    }
+    if (table.size() > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many cards for a packed game.");
+    }
+
+    this.geometry = board;
+    this.maxHandSize = Math.max(handIds[0].length, handIds[1].length);
+    this.cardTable = table.toArray(new PlayableCard[0]);
+    this.cardValues = new byte[this.cardTable.length * BoardGeometry.DIRECTIONS];
+    this.cardCodes = new long[this.cardTable.length];
+    for (int id = 0; id < this.cardTable.length; id++) {
+      this.cardCodes[id] = PositionHash.cardCode(this.cardTable[id]);
+      for (Direction direction : DIRECTIONS) {
+        this.cardValues[id * BoardGeometry.DIRECTIONS + direction.ordinal()] =
+                (byte) this.cardTable[id].numAt(direction);
+      }
+    }
+    this.owners = startOwners;
+    this.cards = startCards;
+    this.emptyCells = new EmptyCellSet(board.size());
+    for (int cell = 0; cell < board.size(); cell++) {
+      if (startOwners[cell] == EMPTY) {
+        this.emptyCells.add(cell);
+      } else if (startOwners[cell] != HOLE) {
+        this.boardCounts[startOwners[cell] - 1]++;
+      }
+    }
+
+    this.hands = new short[this.maxHandSize * NUM_PLAYERS];
+    for (int player = 0; player < NUM_PLAYERS; player++) {
+      for (int slot = 0; slot < handIds[player].length; slot++) {
+        this.hands[player * this.maxHandSize + slot] = (short) handIds[player][slot];
+        this.handIndexes[player].add(this.cardTable[handIds[player][slot]]);
+      }
+      this.handSizes[player] = handIds[player].length;
+    }
+    this.turn = turn;
+    this.playedCell = -1;
+    this.lastFlips = new int[board.size()];
+    this.lastFlipCount = 0;
+    this.state = ONGOING;
+    this.snapshot = null;
+    if (this.emptyCells.size() == 0) {
+      this.determineWinner();
+    }
+    this.hash = PositionHash.of(this);
+  }
+
+  @Override
+  public void playCard(int handIdx, int row, int col) {
+    this.throwIfNotStarted();
+    if (!this.isValid(row, col)) {
+      throw new IllegalArgumentException("Invalid row or column given.");
+    }
+    if (handIdx < 0 || handIdx >= this.handSizes[this.turn]) {
+      throw new IllegalArgumentException("Invalid hand index");
+    }
+    int cell = row * this.geometry.getCols() + col;
+    if (this.owners[cell] != EMPTY) {
+      throw new IllegalArgumentException("cell already has a card or is a hole");
+    }
+
+    // Remove card after playing, sliding the rest of the hand down left
+    int start = this.turn * this.maxHandSize;
+    short card = this.hands[start + handIdx];
+    System.arraycopy(this.hands, start + handIdx + 1, this.hands, start + handIdx,
+            this.handSizes[this.turn] - handIdx - 1);
+    this.handSizes[this.turn]--;
+    this.handIndexes[this.turn].remove(this.cardTable[card]);
+
+    this.cards[cell] = card;
+    this.owners[cell] = (byte) (this.turn + 1);
+    this.boardCounts[this.turn]++;
+    this.emptyCells.remove(cell);
+    this.playedCell = cell;
+    this.lastFlipCount = 0;
+    this.snapshot = null;
+    this.hash -= PositionHash.hand(this.turn, this.cardCodes[card]);
+    this.hash += PositionHash.cell(cell, this.cardCodes[card], this.turn);
+  }
+
+  @Override
+  public void battle() {
+    this.throwIfNotStarted();
+    this.throwIfGameOver();
+    if (this.playedCell < 0) {
+      throw new IllegalStateException("No card has been played yet.");
+    }
+    this.lastFlipCount =
+            this.cascade(this.playedCell, this.cards[this.playedCell], this.turn, true);
+    System.arraycopy(this.queue, 0, this.lastFlips, 0, this.lastFlipCount);
+    if (this.lastFlipCount > 0) {
+      this.snapshot = null;
+    }
+    // only change turns after battles are finished
+    this.turn = (this.turn + 1) % NUM_PLAYERS;
+    this.hash += this.turn == 1 ? PositionHash.SIDE : -PositionHash.SIDE;
+    if (this.emptyCells.size() == 0) {
+      this.determineWinner();
+    }
+  }
+
+  /**
+   * Runs the flip cascade of the given card played by the given player at origin.
+   * The card on origin uses every rule against its neighbors; every card flipped afterward
+   * only uses the rules that allow combos. The cells reached are kept in the visited bitset,
+   * which stands in for their new owner, so the board is only written to when apply is true.
+   * @return the number of cards flipped.
+   */
+  private int cascade(int origin, int card, int player, boolean apply) {
+    int size = this.geometry.size();
+    if (this.queue == null || this.queue.length < size) {
+      this.queue = new int[size];
+      this.visited = new long[(size + 63) >>> 6];
+    }
+    Arrays.fill(this.visited, 0L);
+    this.visit(origin);
+    byte color = (byte) (player + 1);
+    int tail = 0;
+
+    int placementMask = this.engine.hasPlacementRules() ? this.placementMask(origin, card) : 0;
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      int neighbor = this.geometry.neighbor(origin, direction);
+      if (this.isOpponent(neighbor, color)
+              && (this.beats(card, direction, this.cards[neighbor])
+              || (placementMask & (1 << direction)) != 0)) {
+        this.visit(neighbor);
+        this.queue[tail++] = neighbor;
+      }
+    }
+
+    for (int head = 0; head < tail; head++) {
+      int cell = this.queue[head];
+      int attacker = this.cards[cell];
+      for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+        int neighbor = this.geometry.neighbor(cell, direction);
+        if (this.isOpponent(neighbor, color)
+                && this.beats(attacker, direction, this.cards[neighbor])) {
+          this.visit(neighbor);
+          this.queue[tail++] = neighbor;
+        }
+      }
+    }
+
+    if (apply) {
+      for (int index = 0; index < tail; index++) {
+        int cell = this.queue[index];
+        long cardCode = this.cardCodes[this.cards[cell]];
+        this.hash += PositionHash.cell(cell, cardCode, player)
+                - PositionHash.cell(cell, cardCode, this.owners[cell] - 1);
+        this.owners[cell] = color;
+      }
+      this.boardCounts[player] += tail;
+      this.boardCounts[(player + 1) % NUM_PLAYERS] -= tail;
+    }
+    return tail;
+  }
+
+  // true if the cell holds a card that the given color does not own and has not flipped yet
+  private boolean isOpponent(int cell, byte color) {
+    return cell != BoardGeometry.NO_NEIGHBOR && this.owners[cell] != EMPTY
+            && this.owners[cell] != color && (this.visited[cell >>> 6] & (1L << cell)) == 0;
+  }
+
+  private void visit(int cell) {
+    this.visited[cell >>> 6] |= 1L << cell;
+  }
+
+  private boolean beats(int attacker, int direction, int defender) {
+    if (this.engine.hasComparisonRules()) {
+      return this.engine.beats(this.cardTable[attacker], this.cardTable[defender],
+              DIRECTIONS[direction]);
+    }
+    int attack = this.cardValues[attacker * BoardGeometry.DIRECTIONS + direction];
+    int defend = this.cardValues[defender * BoardGeometry.DIRECTIONS + (direction ^ 1)];
+    return this.engine.flips(attack, defend);
+  }
+
+  // Rules that are not allowed in combos look at every neighbor of the placed card, so they are
+  // asked once per placement for the flip mask of a small stand-in of the neighborhood.
+  private int placementMask(int origin, int card) {
+    Cells center = new CardCell(this.cardTable[card]);
+    Cells[] around = new Cells[BoardGeometry.DIRECTIONS];
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      int neighbor = this.geometry.neighbor(origin, direction);
+      if (neighbor != BoardGeometry.NO_NEIGHBOR) {
+        around[direction] = this.cards[neighbor] == NO_CARD
+                ? new CardCell() : new CardCell(this.cardTable[this.cards[neighbor]]);
+        center.addNeighbor(around[direction], DIRECTIONS[direction]);
+      }
+    }
+
+    return this.engine.placementMask(center);
+  }
+
+  // count the number of cards in each player hand with the amount of cards that belong
+  // to each player. Whoever owns more card wins. If equal, then there is a tie.
+  private void determineWinner() {
+    int player1TotalCards = this.handSizes[0] + this.boardCounts[0];
+    int player2TotalCards = this.handSizes[1] + this.boardCounts[1];
+    if (player1TotalCards > player2TotalCards) {
+      this.state = PLAYER_ONE_WIN;
+    } else if (player2TotalCards > player1TotalCards) {
+      this.state = PLAYER_TWO_WIN;
+    } else {
+      this.state = TIE;
+    }
+  }
+
+  @Override
+  public boolean isGameOver() {
+    this.throwIfNotStarted();
+    return this.state >= TIE;
+  }
+
+  @Override
+  public boolean didPlayerOneWin() {
+    this.throwIfGameNotOver();
+    return this.state == PLAYER_ONE_WIN;
+  }
+
+  @Override
+  public boolean didPlayerTwoWin() {
+    this.throwIfGameNotOver();
+    return this.state == PLAYER_TWO_WIN;
+  }
+
+  @Override
+  public List<PlayableCard> getCurrentPlayerHand() {
+    this.throwIfNotStarted();
+    return this.handOf(this.turn);
+  }
+
+  @Override
+  public List<List<Cells>> getGrid() {
+    this.throwIfNotStarted();
+    int rows = this.geometry.getRows();
+    int cols = this.geometry.getCols();
+    List<List<Cells>> grid = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      List<Cells> rowCells = new ArrayList<>();
+      for (int col = 0; col < cols; col++) {
+        int cell = row * cols + col;
+        if (this.owners[cell] == HOLE) {
+          rowCells.add(new HoleCell());
+        } else if (this.owners[cell] == EMPTY) {
+          rowCells.add(new CardCell());
+        } else {
+          Cells cardCell = new CardCell(this.cardTable[this.cards[cell]]);
+          cardCell.changeColor(PLAYER_COLORS[this.owners[cell] - 1]);
+          rowCells.add(cardCell);
+        }
+      }
+      grid.add(rowCells);
+    }
+
+    // link the neighbors so each cell knows its neighbors
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        Cells cell = grid.get(row).get(col);
+        if (row > 0) {
+          cell.addNeighbor(grid.get(row - 1).get(col), Direction.NORTH);
+        }
+        if (row < rows - 1) {
+          cell.addNeighbor(grid.get(row + 1).get(col), Direction.SOUTH);
+        }
+        if (col > 0) {
+          cell.addNeighbor(grid.get(row).get(col - 1), Direction.WEST);
+        }
+        if (col < cols - 1) {
+          cell.addNeighbor(grid.get(row).get(col + 1), Direction.EAST);
+        }
+      }
+    }
+    return grid;
+  }
+
+  @Override
+  public int getTurn() {
+    this.throwIfNotStarted();
+    return this.turn;
+  }
+
+  @Override
+  public int getScore(int playerIdx) {
+    this.throwIfBadPlayer(playerIdx);
+    return this.handSizes[playerIdx] + this.boardCounts[playerIdx];
+  }
+
+  @Override
+  public int getFlipCount(int playerIdx, int handIdx, int row, int col) {
+    this.throwIfBadPlayer(playerIdx);
+    if (!this.checkLegal(row, col)) {
+      throw new IllegalArgumentException("Invalid coordinate: either off the grid, "
+              + "on a hole cell, or on a cell already containing a card");
+    }
+    if (handIdx < 0 || handIdx >= this.handSizes[playerIdx]) {
+      throw new IllegalArgumentException("Invalid hand index");
+    }
+    int card = this.hands[playerIdx * this.maxHandSize + handIdx];
+    return this.cascade(row * this.geometry.getCols() + col, card, playerIdx, false);
+  }
+
+  @Override
+  public int[][] getFlipCounts(int playerIdx, boolean parallel) {
+    this.throwIfNotStarted();
+    this.throwIfBadPlayer(playerIdx);
+    int[][] flips = new int[this.handSizes[playerIdx]][];
+    if (parallel) {
+      // copies are cheap and come with their own cascade scratch space
+      IntStream.range(0, flips.length).parallel().forEach(handIdx ->
+              flips[handIdx] = this.copy().countFlips(playerIdx, handIdx));
+    } else {
+      for (int handIdx = 0; handIdx < flips.length; handIdx++) {
+        flips[handIdx] = this.countFlips(playerIdx, handIdx);
+      }
+    }
+    return flips;
+  }
+
+  // flips of the given card on every cell, -1 where it can not be played
+  private int[] countFlips(int playerIdx, int handIdx) {
+    int card = this.hands[playerIdx * this.maxHandSize + handIdx];
+    int[] flips = new int[this.geometry.size()];
+    for (int cell = 0; cell < flips.length; cell++) {
+      flips[cell] = this.owners[cell] == EMPTY ? this.cascade(cell, card, playerIdx, false) : -1;
+    }
+    return flips;
+  }
+
+  @Override
+  public boolean checkLegal(int row, int col) {
+    this.throwIfNotStarted();
+    return this.isValid(row, col) && this.owners[row * this.geometry.getCols() + col] == EMPTY;
+  }
+
+  @Override
+  public Colors getCardOwner(int row, int col) {
+    this.throwIfNotStarted();
+    if (this.isValid(row, col)) {
+      byte owner = this.owners[row * this.geometry.getCols() + col];
+      if (owner != EMPTY && owner != HOLE) {
+        return PLAYER_COLORS[owner - 1];
+      }
+    }
+    throw new IllegalArgumentException("There is no cell in given coordinate.");
+  }
+
+  @Override
+  public Colors getPlayerColor(int playerIdx) {
+    if (playerIdx >= NUM_PLAYERS || playerIdx < 0) {
+      throw new IllegalArgumentException("Error: Player not found.");
+    }
+    return PLAYER_COLORS[playerIdx];
+  }
+
+  @Override
+  public List<PlayableCard> getPlayerHand(int playerIdx) {
+    this.throwIfNotStarted();
+    this.throwIfBadPlayer(playerIdx);
+    return this.handOf(playerIdx);
+  }
+
+  @Override
+  public int getHandSize(int playerIdx) {
+    this.throwIfNotStarted();
+    this.throwIfBadPlayer(playerIdx);
+    return this.handSizes[playerIdx];
+  }
+
+  @Override
+  public PlayableCard getCardInHand(int playerIdx, int handIdx) {
+    this.throwIfNotStarted();
+    this.throwIfBadPlayer(playerIdx);
+    if (handIdx < 0 || handIdx >= this.handSizes[playerIdx]) {
+      throw new IllegalArgumentException("Invalid hand index");
+    }
+    return this.cardTable[this.hands[playerIdx * this.maxHandSize + handIdx]];
+  }
+
+  @Override
+  public int countCardsAbove(int playerIdx, Direction side, int value) {
+    this.throwIfNotStarted();
+    this.throwIfBadPlayer(playerIdx);
+    return this.handIndexes[playerIdx].countAbove(side, value);
+  }
+
+  @Override
+  public BoardRegions getRegions() {
+    this.throwIfNotStarted();
+    return this.geometry.getRegions();
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    this.throwIfNotStarted();
+    return this.emptyCells.size();
+  }
+
+  @Override
+  public int nextEmptyCell(int from) {
+    this.throwIfNotStarted();
+    return this.emptyCells.next(from);
+  }
+
+  @Override
+  public int getLegalMoves(int playerIdx, int[] moves) {
+    this.throwIfNotStarted();
+    this.throwIfBadPlayer(playerIdx);
+    int handSize = this.handSizes[playerIdx];
+    if (moves.length < this.emptyCells.size() * handSize) {
+      throw new IllegalArgumentException("Array too small for every legal move.");
+    }
+    int count = 0;
+    for (int cell = this.emptyCells.next(0); cell >= 0; cell = this.emptyCells.next(cell + 1)) {
+      for (int handIdx = 0; handIdx < handSize; handIdx++) {
+        moves[count++] = Moves.encode(cell, handIdx);
+      }
+    }
+    return count;
+  }
+
+  private List<PlayableCard> handOf(int playerIdx) {
+    List<PlayableCard> hand = new ArrayList<>();
+    for (int slot = 0; slot < this.handSizes[playerIdx]; slot++) {
+      hand.add(this.cardTable[this.hands[playerIdx * this.maxHandSize + slot]]);
+    }
+    return hand;
+  }
+
+  @Override
+  public Optional<Card> getContentAtCell(int row, int col) {
+    this.throwIfNotStarted();
+    if (!this.isValid(row, col)) {
+      throw new IllegalArgumentException("Invalid coordinate");
+    }
+    short card = this.cards[row * this.geometry.getCols() + col];
+    if (card == NO_CARD) {
+      return Optional.empty();
+    }
+    return Optional.of(this.cardTable[card]);
+  }
+
+  @Override
+  public int getGridLength() {
+    this.throwIfNotStarted();
+    return this.geometry.getRows();
+  }
+
+  @Override
+  public int getGridWidth() {
+    this.throwIfNotStarted();
+    return this.geometry.getCols();
+  }
+
+  @Override
+  public int lastPlayedRow() {
+    this.throwIfNotStarted();
+    return this.playedCell < 0 ? -1 : this.playedCell / this.geometry.getCols();
+  }
+
+  @Override
+  public int lastPlayedCol() {
+    this.throwIfNotStarted();
+    return this.playedCell < 0 ? -1 : this.playedCell % this.geometry.getCols();
+  }
+
+  @Override
+  public BoardSnapshot getSnapshot() {
+    this.throwIfNotStarted();
+    // the board here is not kept persistently, so the snapshot is built once per change
+    if (this.snapshot == null) {
+      this.snapshot = new PersistentBoard(this.getGrid()).snapshot();
+    }
+    return this.snapshot;
+  }
+
+  @Override
+  public long getPositionHash() {
+    this.throwIfNotStarted();
+    return this.hash;
+  }
+
+  /**
+   * Returns the key of the shape of the board this game is played on, see BoardGeometry.getKey.
+   * @return the key of the board.
+   * @throws IllegalStateException if the game has not started.
+   */
+  public long getBoardKey() {
+    this.throwIfNotStarted();
+    return this.geometry.getKey();
+  }
+
+  @Override
+  public List<Integer> getLastFlips() {
+    this.throwIfNotStarted();
+    List<Integer> flips = new ArrayList<>();
+    for (int flip = 0; flip < this.lastFlipCount; flip++) {
+      flips.add(this.lastFlips[flip]);
+    }
+    return flips;
+  }
+
+  private boolean isValid(int row, int col) {
+    return row >= 0 && row < this.geometry.getRows()
+            && col >= 0 && col < this.geometry.getCols();
+  }
+
+  private void throwIfBadPlayer(int playerIdx) {
+    if (playerIdx < 0 || playerIdx >= NUM_PLAYERS) {
+      throw new IllegalArgumentException("Invalid player index");
+    }
+  }
+
+  private void throwIfNotStarted() {
+    if (this.state == NOT_STARTED) {
+      throw new IllegalStateException("Game has not started yet.");
+    }
+  }
+
+  private void throwIfStarted() {
+    if (this.state == ONGOING) {
+      throw new IllegalStateException("Game has already started.");
+    }
+  }
+
+  private void throwIfGameOver() {
+    if (this.state >= TIE) {
+      throw new IllegalStateException("Game is over.");
+    }
+  }
+
+  private void throwIfGameNotOver() {
+    if (this.state < TIE) {
+      throw new IllegalStateException("Game is not over.");
+    }
+  }
+}
@@ -17,8 +17,8 @@ public class FallenAceRule implements ThreeTrioRule {
       return false;
     }
 
-    int forCard = input.getCard().valueAt(toNeighbor).toNum();
-    int forNeighbor = neighbor.getCard().valueAt(toNeighbor.getOpposite()).toNum();
+    int forCard = input.getCard().numAt(toNeighbor);
+    int forNeighbor = neighbor.getCard().numAt(toNeighbor.getOpposite());
     //return forCard - forNeighbor == -9;
 
     int difference = forCard - forNeighbor;
@@ -34,8 +34,8 @@ public class FallenAceRule implements ThreeTrioRule {
       return false;
     }
 
-    int forCard = input.getCard().valueAt(toNeighbor).toNum();
-    int forNeighbor = neighbor.getCard().valueAt(toNeighbor.getOpposite()).toNum();
+    int forCard = input.getCard().numAt(toNeighbor);
+    int forNeighbor = neighbor.getCard().numAt(toNeighbor.getOpposite());
     //return forCard - forNeighbor == 9;
 
     int difference = forCard - forNeighbor;
@@ -54,6 +54,16 @@ public class FallenAceRule implements ThreeTrioRule {
     return true;
   }
 
+  @Override
+  public boolean isPairwise() {
+    return true;
+  }
+
+  @Override
+  public boolean reversesRules() {
+    return false;
+  }
+
   @Override
   public int hashCode() {
     return 1;
@@ -1,10 +1,8 @@
 package model.ruled;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import model.Cells;
 import model.Direction;
+import model.Neighbors;
 
 /**
  * A rule where cards are flipped if at least two opposing pairs of adjacent cards
@@ -18,45 +16,56 @@ public class PlusRule implements ThreeTrioRule {
       return false;
     }
 
-    return checkPlusRule(input);
+    return this.flipMask(input, false) != 0;
   }
 
-  private boolean checkPlusRule(Cells input) {
-    Map<Cells, Direction> neighbors = input.getNeighbors();
-
-    // Map to store sums for each direction.
-    Map<Direction, Integer> directionSums = new HashMap<>();
-
-    // Calculate sums for valid neighbors.
-    for (Map.Entry<Cells, Direction> entry : neighbors.entrySet()) {
-      Cells neighbor = entry.getKey();
-      Direction dir = entry.getValue();
-
-      if (neighbor.hasCard()) {
-        int inputValue = input.getCard().valueAt(dir).toNum();
-        int neighborValue = neighbor.getCard().valueAt(dir.getOpposite()).toNum();
-        int sum = inputValue + neighborValue;
-
-        directionSums.put(dir, sum);
-      }
+  // Once two sums match, every neighbor with a card is flipped.
+  @Override
+  public int flipMask(Cells placed, boolean reverse) {
+    if (!placed.hasCard() || !this.checkPlusRule(placed)) {
+      return 0;
     }
-
-    // Count occurrences of each sum.
-    Map<Integer, Integer> sumCounts = new HashMap<>();
-    for (int sum : directionSums.values()) {
-      sumCounts.put(sum, sumCounts.getOrDefault(sum, 0) + 1);
+    Neighbors neighbors = placed.neighbors();
+    int withCards = 0;
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = neighbors.get(dir);
+      if (neighbor != null && neighbor.hasCard()) {
+        withCards |= 1 << dir;
+      }
     }
+    return withCards;
+  }
 
-    // Check if at least one sum occurs in 2 or more opposing directions.
-    for (int count : sumCounts.values()) {
-      if (count >= 2) {
-        return true;
+  private boolean checkPlusRule(Cells input) {
+    Neighbors neighbors = input.neighbors();
+
+    // Check if at least one sum occurs in 2 or more opposing directions, comparing the sums of
+    // each pair of neighbors with cards.
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = neighbors.get(dir);
+      if (neighbor == null || !neighbor.hasCard()) {
+        continue;
+      }
+      int sum = this.sumAt(input, neighbor, Direction.fromIndex(dir));
+      for (int other = dir + 1; other < Neighbors.SIZE; other++) {
+        Cells otherNeighbor = neighbors.get(other);
+        if (otherNeighbor != null && otherNeighbor.hasCard()
+                && this.sumAt(input, otherNeighbor, Direction.fromIndex(other)) == sum) {
+          return true;
+        }
       }
     }
 
     return false;
   }
 
+  // The sum of the input's value towards the neighbor and the neighbor's value facing back.
+  private int sumAt(Cells input, Cells neighbor, Direction dir) {
+    int inputValue = input.getCard().numAt(dir);
+    int neighborValue = neighbor.getCard().numAt(dir.getOpposite());
+    return inputValue + neighborValue;
+  }
+
   // This is not affected by reverses, so it will not do anything different.
   @Override
   public boolean reverseSatisfiesFlip(Cells input, Cells neighbor, Direction toNeighbor) {
@@ -73,6 +82,16 @@ public class PlusRule implements ThreeTrioRule {
     return false;
   }
 
+  @Override
+  public boolean isPairwise() {
+    return false;
+  }
+
+  @Override
+  public boolean reversesRules() {
+    return false;
+  }
+
   @Override
   public int hashCode() {
     return 1;
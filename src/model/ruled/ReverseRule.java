@@ -12,6 +12,11 @@ public class ReverseRule extends FlipGreaterRule implements ThreeTrioRule {
     return opposing instanceof FlipGreaterRule;
   }
 
+  @Override
+  public boolean reversesRules() {
+    return true;
+  }
+
   @Override
   public boolean equals(Object that) {
     return that instanceof ReverseRule;
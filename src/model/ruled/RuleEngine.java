@@ -0,0 +1,171 @@
+package model.ruled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import model.Card;
+import model.CardCell;
+import model.Cells;
+import model.Direction;
+
+/**
+ * A set of ThreeTrioRules compiled once into a single evaluator for the flip decisions of a
+ * game. The rule set is checked for rules that are mutually exclusive, and whether the rules
+ * are reversed is settled when the engine is compiled rather than on every comparison.
+ * The pairwise rules allowed in combos become a RuleTable, so a comparison is one lookup, and
+ * the few rules allowed in combos that are not pairwise are asked on every comparison after
+ * it. The placement rules become one composed function of the placed cell, with the
+ * reverse flag bound in, that gives the placement's flip mask in a single call.
+ * An engine is immutable, so models and their copies can share one.
+ */
+public final class RuleEngine {
+  private final Set<ThreeTrioRule> rules;
+  private final boolean reverse;
+  private final RuleTable table;
+  private final List<ThreeTrioRule> comparisonRules; // allowed in combos, but not pairwise
+  private final boolean hasPlacementRules;
+  private final ToIntFunction<Cells> placement;
+
+  private RuleEngine(Set<ThreeTrioRule> rules) {
+    this.rules = Collections.unmodifiableSet(new HashSet<>(rules));
+    boolean reverse = false;
+    for (ThreeTrioRule rule : this.rules) {
+      reverse |= rule.reversesRules();
+    }
+    this.reverse = reverse;
+    this.table = new RuleTable(this.rules, reverse);
+
+    List<ThreeTrioRule> comparisonRules = new ArrayList<>();
+    List<ThreeTrioRule> placementRules = new ArrayList<>();
+    for (ThreeTrioRule rule : this.rules) {
+      if (!rule.allowCombo()) {
+        placementRules.add(rule);
+      } else if (!rule.isPairwise()) {
+        comparisonRules.add(rule);
+      }
+    }
+    this.comparisonRules = comparisonRules;
+    this.hasPlacementRules = !placementRules.isEmpty();
+    this.placement = compilePlacement(placementRules, reverse);
+  }
+
+  /**
+   * Compiles the given rules into an engine.
+   * @param rules the rules a game is played with.
+   * @return the engine deciding flips by those rules.
+   * @throws IllegalArgumentException if the rules are null, or some rules are found to be
+   *                                  mutually exclusive.
+   */
+  public static RuleEngine compile(Set<ThreeTrioRule> rules) {
+    if (rules == null) {
+      throw new IllegalArgumentException("Rules cannot be null.");
+    }
+    for (ThreeTrioRule rule : rules) {
+      for (ThreeTrioRule other : rules) {
+        if (rule != other && rule.isMutuallyExclusive(other)) {
+          throw new IllegalArgumentException("Error: Rules given are mutually exclusive.");
+        }
+      }
+    }
+    return new RuleEngine(rules);
+  }
+
+  // Chains the flip masks of the given rules into one function, with the reverse flag fixed.
+  private static ToIntFunction<Cells> compilePlacement(List<ThreeTrioRule> rules,
+                                                       boolean reverse) {
+    ToIntFunction<Cells> chain = placed -> 0;
+    for (ThreeTrioRule rule : rules) {
+      ToIntFunction<Cells> before = chain;
+      chain = placed -> before.applyAsInt(placed) | rule.flipMask(placed, reverse);
+    }
+    return chain;
+  }
+
+  /**
+   * Returns the rules this engine was compiled from.
+   * @return an unmodifiable set of the rules.
+   */
+  public Set<ThreeTrioRule> getRules() {
+    return this.rules;
+  }
+
+  /**
+   * Determines if the rules are reversed, which is the case when the ReverseRule is present.
+   * @return true iff the reverse of every rule is used.
+   */
+  public boolean isReverse() {
+    return this.reverse;
+  }
+
+  /**
+   * Determines if the rules include rules that look at a whole placement, such as the
+   * SameRule and PlusRule. If not, placementMask is always 0.
+   * @return true iff there is a rule that is not allowed in combos.
+   */
+  public boolean hasPlacementRules() {
+    return this.hasPlacementRules;
+  }
+
+  /**
+   * Determines if the rules include rules allowed in combos that are not pairwise, which are
+   * asked on every comparison. If not, beats is decided by flips alone.
+   * @return true iff there is a rule allowed in combos that is not pairwise.
+   */
+  public boolean hasComparisonRules() {
+    return !this.comparisonRules.isEmpty();
+  }
+
+  /**
+   * Determines if an attacking value flips a defending value under the pairwise rules. Rules
+   * that are not pairwise are left out; see beats.
+   * @param attack the value of the attacking card facing the defender, from 1 to 10.
+   * @param defend the value of the defending card facing the attacker, from 1 to 10.
+   * @return true iff the defending card is flipped.
+   */
+  public boolean flips(int attack, int defend) {
+    return this.table.flips(attack, defend);
+  }
+
+  /**
+   * Determines if the attacking card flips the defending card under the rules allowed in
+   * combos, pairwise or not.
+   * @param attacker the attacking card.
+   * @param defender the card being attacked.
+   * @param direction the direction of the defender in relation to the attacker.
+   * @return true iff the defending card is flipped.
+   */
+  public boolean beats(Card attacker, Card defender, Direction direction) {
+    if (this.table.flips(attacker.numAt(direction), defender.numAt(direction.getOpposite()))) {
+      return true;
+    }
+    for (ThreeTrioRule rule : this.comparisonRules) {
+      if (compare(rule, this.reverse, attacker, defender, direction)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Asks a rule that is not pairwise about one comparison, with each card alone in a cell.
+  static boolean compare(ThreeTrioRule rule, boolean reverse, Card attacker, Card defender,
+                         Direction direction) {
+    Cells attacking = new CardCell(attacker);
+    Cells defending = new CardCell(defender);
+    return reverse ? rule.reverseSatisfiesFlip(attacking, defending, direction)
+            : rule.satisfiesFlip(attacking, defending, direction);
+  }
+
+  /**
+   * Returns which neighbors of a newly placed card the placement rules flip, as a bitmask of
+   * directions; see ThreeTrioRule.flipMask.
+   * @param placed the cell of the card just placed, linked to its neighbors.
+   * @return the bitmask of the directions whose neighbor is flipped by the placement.
+   */
+  public int placementMask(Cells placed) {
+    return this.placement.applyAsInt(placed);
+  }
+}
@@ -0,0 +1,25 @@
+package model.ruled;
+
+/**
+ * Provides a house rule to the RuleRegistry under a name, so it can be picked from the command
+ * line like the built-in rules. Providers are found with java.util.ServiceLoader: a jar adds
+ * its rules by listing the provider classes in META-INF/services/model.ruled.RuleProvider.
+ * Implementations must have a public constructor that takes no arguments.
+ * The rules created are compiled into a RuleEngine like the built-in ones, so they must keep
+ * the promises of ThreeTrioRule: in particular, a rule allowed in combos that claims to be
+ * pairwise is asked about each pair of values only once, on blank cards, and a rule deciding
+ * on anything more than the two facing values must say it is not pairwise.
+ */
+public interface RuleProvider {
+  /**
+   * Returns the name the rule is picked by, such as "same" for the SameRule.
+   * @return the name of the rule.
+   */
+  String getName();
+
+  /**
+   * Creates the rule.
+   * @return a new instance of the rule.
+   */
+  ThreeTrioRule create();
+}
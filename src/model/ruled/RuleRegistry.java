@@ -0,0 +1,95 @@
+package model.ruled;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Knows every rule a game can be played with by name: the built-in rules, plus the house
+ * rules of every RuleProvider found by java.util.ServiceLoader.
+ * Built-in names are "default", "reverse", "fallen-ace", "same" and "plus".
+ */
+public final class RuleRegistry {
+  private final Map<String, Supplier<ThreeTrioRule>> rules;
+
+  private RuleRegistry() {
+    this.rules = new LinkedHashMap<>();
+    this.register("default", FlipGreaterRule::new);
+    this.register("reverse", ReverseRule::new);
+    this.register("fallen-ace", FallenAceRule::new);
+    this.register("same", SameRule::new);
+    this.register("plus", PlusRule::new);
+  }
+
+  /**
+   * Creates a registry of the built-in rules and the rules of every RuleProvider on the
+   * classpath.
+   * @return the registry.
+   * @throws IllegalArgumentException if two rules have the same name.
+   */
+  public static RuleRegistry load() {
+    RuleRegistry registry = new RuleRegistry();
+    for (RuleProvider provider : ServiceLoader.load(RuleProvider.class)) {
+      registry.register(provider.getName(), provider::create);
+    }
+    return registry;
+  }
+
+  private void register(String name, Supplier<ThreeTrioRule> rule) {
+    if (this.rules.containsKey(name)) {
+      throw new IllegalArgumentException("Error: More than one rule is named " + name);
+    }
+    this.rules.put(name, rule);
+  }
+
+  /**
+   * Returns the names of every rule, built-in rules first.
+   * @return an unmodifiable set of the names.
+   */
+  public Set<String> getNames() {
+    return Collections.unmodifiableSet(this.rules.keySet());
+  }
+
+  /**
+   * Creates the rule with the given name.
+   * @param name the name of the rule.
+   * @return a new instance of the rule.
+   * @throws IllegalArgumentException if no rule has the given name.
+   */
+  public ThreeTrioRule create(String name) {
+    Supplier<ThreeTrioRule> rule = this.rules.get(name);
+    if (rule == null) {
+      throw new IllegalArgumentException("Error: Invalid rule. Rules include: "
+              + String.join(", ", this.rules.keySet()));
+    }
+    return rule.get();
+  }
+
+  /**
+   * Creates the rules with the given names. If none of them is a rule allowed in combos,
+   * which decide the flips of single comparisons, the FlipGreaterRule is added, so no names
+   * at all gives the default game.
+   * @param names the names of the rules.
+   * @return the set of rules.
+   * @throws IllegalArgumentException if a name is not the name of a rule.
+   */
+  public Set<ThreeTrioRule> createAll(List<String> names) {
+    Set<ThreeTrioRule> rules = new HashSet<>();
+    for (String name : names) {
+      rules.add(this.create(name));
+    }
+    boolean pairwise = false;
+    for (ThreeTrioRule rule : rules) {
+      pairwise |= rule.allowCombo();
+    }
+    if (!pairwise) {
+      rules.add(new FlipGreaterRule());
+    }
+    return rules;
+  }
+}
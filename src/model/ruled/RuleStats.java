@@ -0,0 +1,312 @@
+package model.ruled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.Card;
+import model.Cells;
+import model.Direction;
+import model.Neighbors;
+
+/**
+ * Counters for the rules of a RuleEngine, filled in by the RuledThreeTrioModels it is given
+ * to with setRuleStats. While a model has stats, it asks each of its rules on its own instead
+ * of through the compiled engine during battles, so every rule is counted separately:
+ * how often it was evaluated, how many cards it flipped (its hits) and how many of those hits
+ * were combos. Only battles are counted: the dry runs made for flip counts, by hints and
+ * strategies, go through the engine and are left out. For every battle, the number of cards
+ * flipped and the depth of its cascade are counted in a histogram, and the time it took.
+ * Comparisons are single lookups, far too quick to time one by one, so only whole battles and
+ * the placement rules, which are asked once for a whole placement, are timed.
+ * Stats can be shared by many models and read from any thread while games are played, so they
+ * can be scraped during a long run. A model without stats does not count anything.
+ */
+public final class RuleStats {
+  private final RuleEngine engine;
+  private final List<ThreeTrioRule> rules;
+  private final List<String> names;
+  private final RuleTable[] tables; // the table of each pairwise combo rule, null for others
+  private final LongAdder[] evaluations;
+  private final LongAdder[] hits;
+  private final LongAdder[] comboHits;
+  private final LongAdder[] nanos; // of the placement rules only
+  private final LongAdder battles;
+  private final LongAdder battleNanos;
+  private final LongAdder flips;
+  private final Map<Integer, LongAdder> depths;
+
+  /**
+   * Constructor for empty stats of the rules of the given engine.
+   * @param engine the compiled rules to count.
+   * @throws IllegalArgumentException if the engine is null.
+   */
+  public RuleStats(RuleEngine engine) {
+    if (engine == null) {
+      throw new IllegalArgumentException("Engine cannot be null.");
+    }
+    this.engine = engine;
+    this.rules = new ArrayList<>(engine.getRules());
+    this.names = new ArrayList<>();
+    this.tables = new RuleTable[this.rules.size()];
+    for (int index = 0; index < this.rules.size(); index++) {
+      ThreeTrioRule rule = this.rules.get(index);
+      this.names.add(rule.getClass().getSimpleName());
+      if (rule.allowCombo() && rule.isPairwise()) {
+        this.tables[index] = new RuleTable(List.of(rule), engine.isReverse());
+      }
+    }
+    this.evaluations = adders(this.rules.size());
+    this.hits = adders(this.rules.size());
+    this.comboHits = adders(this.rules.size());
+    this.nanos = adders(this.rules.size());
+    this.battles = new LongAdder();
+    this.battleNanos = new LongAdder();
+    this.flips = new LongAdder();
+    this.depths = new ConcurrentHashMap<>();
+  }
+
+  private static LongAdder[] adders(int size) {
+    LongAdder[] adders = new LongAdder[size];
+    for (int index = 0; index < size; index++) {
+      adders[index] = new LongAdder();
+    }
+    return adders;
+  }
+
+  /**
+   * Returns the engine whose rules are counted.
+   * @return the engine.
+   */
+  public RuleEngine getEngine() {
+    return this.engine;
+  }
+
+  /**
+   * Determines if the attacking card flips the defending card, like RuleEngine.beats, asking
+   * and counting each rule allowed in combos on its own.
+   * @param combo false for the card just placed, true for cards flipped by the cascade.
+   * @param attacker the attacking card.
+   * @param defender the card being attacked.
+   * @param direction the direction of the defender in relation to the attacker.
+   * @return true iff the defending card is flipped.
+   */
+  boolean beats(boolean combo, Card attacker, Card defender, Direction direction) {
+    int attack = attacker.numAt(direction);
+    int defend = defender.numAt(direction.getOpposite());
+    boolean flipped = false;
+    for (int index = 0; index < this.tables.length; index++) {
+      ThreeTrioRule rule = this.rules.get(index);
+      if (rule.allowCombo()) {
+        boolean hit = this.tables[index] != null ? this.tables[index].flips(attack, defend)
+                : RuleEngine.compare(rule, this.engine.isReverse(), attacker, defender,
+                direction);
+        this.count(index, hit ? 1 : 0, combo);
+        flipped |= hit;
+      }
+    }
+    return flipped;
+  }
+
+  /**
+   * Returns the flip mask of a placement, like RuleEngine.placementMask, asking and counting
+   * and timing each placement rule on its own. A hit is counted for every neighbor a rule
+   * flips that the cascade flips too: a neighbor with a card the placing player does not own.
+   * @param placed the cell of the card just placed, linked to its neighbors.
+   * @return the bitmask of the directions whose neighbor is flipped by the placement.
+   */
+  int placementMask(Cells placed) {
+    int opponents = 0;
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = placed.neighbors().get(dir);
+      if (neighbor != null && neighbor.hasCard()
+              && neighbor.cellColor() != placed.cellColor()) {
+        opponents |= 1 << dir;
+      }
+    }
+    int mask = 0;
+    for (int index = 0; index < this.tables.length; index++) {
+      if (!this.rules.get(index).allowCombo()) {
+        long start = System.nanoTime();
+        int flipped = this.rules.get(index).flipMask(placed, this.engine.isReverse());
+        this.nanos[index].add(System.nanoTime() - start);
+        this.count(index, Integer.bitCount(flipped & opponents), false);
+        mask |= flipped;
+      }
+    }
+    return mask;
+  }
+
+  private void count(int index, int hits, boolean combo) {
+    this.evaluations[index].increment();
+    if (hits > 0) {
+      this.hits[index].add(hits);
+      if (combo) {
+        this.comboHits[index].add(hits);
+      }
+    }
+  }
+
+  /**
+   * Counts a battle that flipped the given number of cards in a cascade of the given depth.
+   * @param flips the number of cards flipped.
+   * @param depth the depth of the cascade, see getDepthHistogram.
+   */
+  void recordBattle(int flips, int depth) {
+    this.battles.increment();
+    this.flips.add(flips);
+    this.depths.computeIfAbsent(depth, key -> new LongAdder()).increment();
+  }
+
+  /**
+   * Counts the time a whole battle took, placement and cascade included.
+   * @param nanos the time in nanoseconds.
+   */
+  void recordBattleNanos(long nanos) {
+    this.battleNanos.add(nanos);
+  }
+
+  /**
+   * Returns the names of the rules counted, which are the simple names of their classes,
+   * such as "SameRule".
+   * @return an unmodifiable list of the names.
+   */
+  public List<String> getRuleNames() {
+    return Collections.unmodifiableList(this.names);
+  }
+
+  /**
+   * Returns how many times the rule with the given name was evaluated.
+   * @param rule the name of the rule, as in getRuleNames.
+   * @return the number of evaluations.
+   * @throws IllegalArgumentException if no rule counted has that name.
+   */
+  public long getEvaluations(String rule) {
+    return this.sum(this.evaluations, rule);
+  }
+
+  /**
+   * Returns how many cards the rule with the given name flipped in battles. A card flipped by
+   * several rules at once is a hit for each of them.
+   * @param rule the name of the rule, as in getRuleNames.
+   * @return the number of hits.
+   * @throws IllegalArgumentException if no rule counted has that name.
+   */
+  public long getHits(String rule) {
+    return this.sum(this.hits, rule);
+  }
+
+  /**
+   * Returns how many of the hits of the rule with the given name were combos, made by a card
+   * that was flipped itself rather than by the card just placed.
+   * @param rule the name of the rule, as in getRuleNames.
+   * @return the number of combo hits.
+   * @throws IllegalArgumentException if no rule counted has that name.
+   */
+  public long getComboHits(String rule) {
+    return this.sum(this.comboHits, rule);
+  }
+
+  /**
+   * Returns the total time spent asking the placement rule with the given name about whole
+   * placements. Rules allowed in combos are not timed on their own; see getBattleNanos.
+   * @param rule the name of the rule, as in getRuleNames.
+   * @return the time in nanoseconds, 0 for a rule allowed in combos.
+   * @throws IllegalArgumentException if no rule counted has that name.
+   */
+  public long getNanos(String rule) {
+    return this.sum(this.nanos, rule);
+  }
+
+  private long sum(LongAdder[] counters, String rule) {
+    long total = 0;
+    boolean found = false;
+    for (int index = 0; index < this.names.size(); index++) {
+      if (this.names.get(index).equals(rule)) {
+        total += counters[index].sum();
+        found = true;
+      }
+    }
+    if (!found) {
+      throw new IllegalArgumentException("No rule named " + rule + " is counted.");
+    }
+    return total;
+  }
+
+  /**
+   * Returns the number of battles counted.
+   * @return the number of battles.
+   */
+  public long getBattles() {
+    return this.battles.sum();
+  }
+
+  /**
+   * Returns the total time spent in the battles counted, from the placement rules to the end
+   * of the cascade.
+   * @return the time in nanoseconds.
+   */
+  public long getBattleNanos() {
+    return this.battleNanos.sum();
+  }
+
+  /**
+   * Returns the number of cards flipped over every battle counted.
+   * @return the number of cards flipped.
+   */
+  public long getFlips() {
+    return this.flips.sum();
+  }
+
+  /**
+   * Returns how many battles had a cascade of each depth: 0 for battles that flipped nothing,
+   * 1 for battles where only the placed card flipped cards, and one more for every round of
+   * combos after that. Depths no battle reached are left out.
+   * @return a copy of the histogram, from depth to the number of battles.
+   */
+  public SortedMap<Integer, Long> getDepthHistogram() {
+    SortedMap<Integer, Long> histogram = new TreeMap<>();
+    for (Map.Entry<Integer, LongAdder> depth : this.depths.entrySet()) {
+      histogram.put(depth.getKey(), depth.getValue().sum());
+    }
+    return histogram;
+  }
+
+  /**
+   * Sets every counter back to 0.
+   */
+  public void reset() {
+    for (int index = 0; index < this.rules.size(); index++) {
+      this.evaluations[index].reset();
+      this.hits[index].reset();
+      this.comboHits[index].reset();
+      this.nanos[index].reset();
+    }
+    this.battles.reset();
+    this.battleNanos.reset();
+    this.flips.reset();
+    this.depths.clear();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    text.append("battles=").append(this.getBattles())
+            .append(" flips=").append(this.getFlips())
+            .append(" depths=").append(this.getDepthHistogram())
+            .append(" nanos=").append(this.getBattleNanos());
+    for (int index = 0; index < this.names.size(); index++) {
+      text.append(System.lineSeparator()).append(this.names.get(index))
+              .append(" evaluations=").append(this.evaluations[index].sum())
+              .append(" hits=").append(this.hits[index].sum())
+              .append(" comboHits=").append(this.comboHits[index].sum())
+              .append(" nanos=").append(this.nanos[index].sum());
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,62 @@
+package model.ruled;
+
+import java.util.Collection;
+
+import model.CardCell;
+import model.Cells;
+import model.Direction;
+import model.Numbers;
+import model.PlayableCard;
+
+/**
+ * The pairwise rules of a rule set, compiled into a 10 by 10 table of which attacking values
+ * flip which defending values. Pairwise rules are the ones allowed in combos that say they are
+ * pairwise, such as the FlipGreaterRule, ReverseRule and FallenAceRule: whether they flip a
+ * card only depends on the two values facing each other. Each of them is asked about every
+ * pair of values once, on blank cards facing north, when the table is built, so deciding a
+ * comparison during a game is a single array lookup.
+ * Other rules are left out of the table: rules allowed in combos that are not pairwise are
+ * asked on every comparison, and rules that are not allowed in combos, such as the SameRule
+ * and PlusRule, look at the whole placement.
+ */
+public final class RuleTable {
+  private static final int VALUES = Numbers.values().length;
+
+  private final boolean[] flips; // (attack - 1) * 10 + (defend - 1) -> flips
+
+  /**
+   * Constructor for the table of the pairwise rules among the given rules.
+   * @param rules the rules of a game. Rules that are not pairwise or not allowed in combos
+   *              are ignored.
+   * @param reverse true if the game is played with the ReverseRule, so the reverse of every
+   *                rule is used.
+   */
+  public RuleTable(Collection<ThreeTrioRule> rules, boolean reverse) {
+    this.flips = new boolean[VALUES * VALUES];
+    for (Numbers attack : Numbers.values()) {
+      for (Numbers defend : Numbers.values()) {
+        Cells attacker = new CardCell(new PlayableCard("", attack, attack, attack, attack));
+        Cells defender = new CardCell(new PlayableCard("", defend, defend, defend, defend));
+        boolean passes = false;
+        for (ThreeTrioRule rule : rules) {
+          if (rule.allowCombo() && rule.isPairwise()) {
+            passes |= reverse
+                    ? rule.reverseSatisfiesFlip(attacker, defender, Direction.NORTH)
+                    : rule.satisfiesFlip(attacker, defender, Direction.NORTH);
+          }
+        }
+        this.flips[attack.ordinal() * VALUES + defend.ordinal()] = passes;
+      }
+    }
+  }
+
+  /**
+   * Determines if an attacking value flips a defending value under the pairwise rules.
+   * @param attack the value of the attacking card facing the defender, from 1 to 10.
+   * @param defend the value of the defending card facing the attacker, from 1 to 10.
+   * @return true iff one of the pairwise rules flips the defending card.
+   */
+  public boolean flips(int attack, int defend) {
+    return this.flips[(attack - 1) * VALUES + defend - 1];
+  }
+}
@@ -1,13 +1,9 @@
 package model.ruled;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
+import model.Card;
 import model.Cells;
-import model.Colors;
 import model.Direction;
 import model.PlayableCard;
 import model.ThreeTrioGameModel;
@@ -16,14 +12,16 @@ import model.ThreeTrioModel;
 /**
  * A new ThreeTrioGameModel implementation that supports ThreeTrioRules.
  * Accepts a set of rules so no duplicate rules are fed into the model.
- * Checks for mutual exclusivity upon construction.
+ * The rules are compiled into a RuleEngine upon construction, which checks for mutual
+ * exclusivity, so each comparison during a battle is a single lookup and the placement rules
+ * are asked once per placement.
+ * The rules can be counted and timed by giving the model RuleStats. Without them, which is
+ * the default, a battle costs one field check more than it would otherwise.
  */
 public class RuledThreeTrioModel extends ThreeTrioModel
         implements ThreeTrioGameModel<PlayableCard> {
-  private final Set<ThreeTrioRule> rules;
-  private final Set<ThreeTrioRule> comboRules;
-  private final boolean reverse;
-
+  private final RuleEngine engine;
+  private RuleStats stats; // null unless the rules are counted
 
   /**
    * Constructor to construct a RuledThreeTrioModel.
@@ -31,127 +29,91 @@ public class RuledThreeTrioModel extends ThreeTrioModel
    * @throws IllegalArgumentException if some rules are found to be mutually exclusive.
    */
   public RuledThreeTrioModel(Set<ThreeTrioRule> rules) {
-    areRulesExclusive(rules);
-    this.rules = new HashSet<>(rules);
-    this.comboRules = new HashSet<>();
-    this.addComboRules();
-    this.reverse = hasReverse(rules);
+    this(RuleEngine.compile(rules));
   }
 
-  private void addComboRules() {
-    for (ThreeTrioRule rule : this.rules) {
-      if (rule.allowCombo()) {
-        this.comboRules.add(rule);
-      }
+  /**
+   * Constructor to construct a RuledThreeTrioModel that plays by an already compiled engine.
+   * @param engine The compiled rules that this game will be played with.
+   * @throws IllegalArgumentException if the engine is null.
+   */
+  public RuledThreeTrioModel(RuleEngine engine) {
+    if (engine == null) {
+      throw new IllegalArgumentException("Engine cannot be null.");
     }
+    this.engine = engine;
   }
 
-  private boolean hasReverse(Set<ThreeTrioRule> rules) {
-    for (ThreeTrioRule rule : rules) {
-      if (rule instanceof ReverseRule) {
-        return true;
-      }
+  /**
+   * Starts counting the rules of this model into the given stats, or stops counting them if
+   * the stats are null. Stats can be shared by several models playing by the same engine.
+   * This should not be called while flip counts are being worked out on other threads.
+   * @param stats the stats to count into, or null to stop counting.
+   * @throws IllegalArgumentException if the stats count the rules of a different engine.
+   */
+  public void setRuleStats(RuleStats stats) {
+    if (stats != null && stats.getEngine() != this.engine) {
+      throw new IllegalArgumentException("Stats must count the rules of this model's engine.");
     }
-    return false;
+    this.stats = stats;
   }
 
-  private void areRulesExclusive(Set<ThreeTrioRule> rules) {
-    List<ThreeTrioRule> asList = new ArrayList<>(rules);
-    for (int index = 0; index < asList.size(); index++) {
-      ThreeTrioRule rule = asList.get(index);
-      for (int iter = 0; iter < asList.size(); iter++) {
-        ThreeTrioRule nextRule = asList.get(iter);
-        if (index != iter && rule.isMutuallyExclusive(nextRule)) {
-          throw new IllegalArgumentException("Error: Rules given are mutually exclusive.");
-        }
-      }
-    }
+  /**
+   * Returns the stats the rules of this model are counted into.
+   * @return the stats, or null if the rules are not counted.
+   */
+  public RuleStats getRuleStats() {
+    return this.stats;
   }
 
   @Override
   public void battle() {
-    super.throwIfNotStarted();
-    super.throwIfGameOver();
-    Cells currentCell = super.grid.get(playedRow).get(playedCol);
-    this.battleFromCell(false, currentCell); // Calls method in this calls so rules apply.
-    super.turn = (super.turn + 1) % super.players.size();
-    super.updateGameState();
-  }
-
-  private void battleFromCell(boolean combo, Cells cell) {
-    Colors playerColor = super.getPlayerColor(super.getTurn());
-    for (Map.Entry<Cells, Direction> entry : cell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
-      // the direction of the neighbor in relation to this cell
-      Direction direction = entry.getValue();
-      if (neighbor.isHole() || !neighbor.hasCard()) {
-        continue;
-      } else if (!neighbor.cellColor().equals(playerColor)) {
-        if (this.evaluateByRules(combo, cell, neighbor, direction)) {
-          neighbor.changeColor(playerColor);
-          // Future calls (i.e. after this battle with neighbors) will not allow non-combo rules
-          battleFromCell(true, neighbor);
-        }
-      }
+    RuleStats stats = this.stats;
+    if (stats == null) {
+      super.battle();
+      return;
     }
+    long start = System.nanoTime();
+    super.battle();
+    stats.recordBattleNanos(System.nanoTime() - start);
   }
 
-  private boolean evaluateByRules(boolean combo, Cells cell, Cells neighbor, Direction direction) {
-    boolean passes = false;
-    // Applies combo rules if combo is true (excludes Same, Plus). Otherwise, uses non-combo rules.
-    Set<ThreeTrioRule> rulesToApply = combo ? this.comboRules : this.rules;
-
-    for (ThreeTrioRule rule : rulesToApply) {
-      if (this.reverse) {
-        passes |= rule.reverseSatisfiesFlip(cell, neighbor, direction);
-      } else {
-        passes |= rule.satisfiesFlip(cell, neighbor, direction);
-      }
+  @Override
+  protected boolean beats(boolean combo, Card attacker, Card defender, Direction direction) {
+    // The placement rules (Same, Plus) are applied once per placement by placementMask.
+    RuleStats stats = this.stats;
+    if (stats != null) {
+      return stats.beats(combo, attacker, defender, direction);
     }
-
-    return passes;
+    return this.engine.beats(attacker, defender, direction);
   }
 
   @Override
-  public int getFlipCount(int playerIdx, int handIdx, int row, int col) {
-    if (playerIdx < 0 || playerIdx >= this.players.size()) {
-      throw new IllegalArgumentException("Invalid player index");
-    }
-    if (!super.checkLegal(row, col)) {
-      throw new IllegalArgumentException("Invalid coordinate: either off the grid, "
-              + "on a hole cell, or on a cell already containing a card");
+  protected int placementMask(Cells placed) {
+    if (!this.engine.hasPlacementRules()) {
+      return 0;
     }
-    if (handIdx < 0 || handIdx >= this.players.get(playerIdx).getHand().size()) {
-      throw new IllegalArgumentException("Invalid hand index");
-    }
-
-    // use copy of grid to not change actual grid being played on
-    List<List<Cells>> copyGrid = this.getGrid();
-    copyGrid.get(row).get(col).changeColor(getPlayerColor(playerIdx));
-    copyGrid.get(row).get(col).putCard(this.players.get(playerIdx).getHand().get(handIdx));
+    RuleStats stats = this.stats;
+    return stats != null ? stats.placementMask(placed) : this.engine.placementMask(placed);
+  }
 
-    // get cell from a copy of the grid to not affect grid used in game
-    Cells cell = copyGrid.get(row).get(col);
+  // Flip counts are not battles, so they never go through the stats.
+  @Override
+  protected boolean dryRunBeats(boolean combo, Card attacker, Card defender,
+                                Direction direction) {
+    return this.engine.beats(attacker, defender, direction);
+  }
 
-    return helpCountFlips(false, cell, this.players.get(playerIdx).getColor());
+  @Override
+  protected int dryRunPlacementMask(Cells placed) {
+    return this.engine.hasPlacementRules() ? this.engine.placementMask(placed) : 0;
   }
 
-  private int helpCountFlips(boolean combo, Cells cell, Colors color) {
-    int flips = 0;
-    for (Map.Entry<Cells, Direction> entry : cell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
-      // the direction of the neighbor in relation to this cell
-      Direction direction = entry.getValue();
-      if (neighbor.isHole() || !neighbor.hasCard()) {
-        continue;
-      } else if (!neighbor.cellColor().equals(color)) {
-        if (this.evaluateByRules(combo, cell, neighbor, direction)) {
-          neighbor.changeColor(color);
-          flips += 1;
-          flips += helpCountFlips(true, neighbor, color);
-        }
-      }
+  @Override
+  protected void afterCascade(int flips, int depth) {
+    RuleStats stats = this.stats;
+    if (stats != null) {
+      stats.recordBattle(flips, depth);
     }
-    return flips;
   }
-}
\ No newline at end of file
+}
@@ -1,10 +1,9 @@
 package model.ruled;
 
-import java.util.HashMap;
-
 import model.Card;
 import model.Cells;
 import model.Direction;
+import model.Neighbors;
 
 /**
  * A rule where all surrounding cards can be flipped.
@@ -20,21 +19,7 @@ import model.Direction;
 public class SameRule implements ThreeTrioRule {
   @Override
   public boolean satisfiesFlip(Cells input, Cells neighbor, Direction toNeighbor) {
-    if (!input.hasCard()) {
-      return false;
-    }
-
-    Card card = input.getCard();
-    HashMap<Cells, Direction> directNeighbors = input.getNeighbors();
-    int numSatisfied = 0;
-    for (Cells cell : directNeighbors.keySet()) {
-      Direction toCard = directNeighbors.get(cell);
-      if (cell.hasCard() && this.sameOpposingValue(card, cell.getCard(), toCard)) {
-        numSatisfied += 1;
-      }
-    }
-
-    return numSatisfied >= 2;
+    return this.flipMask(input, false) != 0;
   }
 
   // This is not affected by reverses, so it will not do anything different.
@@ -43,9 +28,33 @@ public class SameRule implements ThreeTrioRule {
     return this.satisfiesFlip(input, neighbor, toNeighbor);
   }
 
+  // Once two neighbors match, every neighbor with a card is flipped.
+  @Override
+  public int flipMask(Cells placed, boolean reverse) {
+    if (!placed.hasCard()) {
+      return 0;
+    }
+
+    Card card = placed.getCard();
+    Neighbors directNeighbors = placed.neighbors();
+    int withCards = 0;
+    int numSatisfied = 0;
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells cell = directNeighbors.get(dir);
+      Direction toCard = Direction.fromIndex(dir);
+      if (cell != null && cell.hasCard()) {
+        withCards |= 1 << dir;
+        if (this.sameOpposingValue(card, cell.getCard(), toCard)) {
+          numSatisfied += 1;
+        }
+      }
+    }
+
+    return numSatisfied >= 2 ? withCards : 0;
+  }
+
   private boolean sameOpposingValue(Card card, Card neighbor, Direction toCard) {
-    //return card.valueAt(toCard.getOpposite()) == neighbor.valueAt(toCard);
-    return card.valueAt(toCard) == neighbor.valueAt(toCard.getOpposite());
+    return card.numAt(toCard) == neighbor.numAt(toCard.getOpposite());
   }
 
   @Override
@@ -58,6 +67,16 @@ public class SameRule implements ThreeTrioRule {
     return false;
   }
 
+  @Override
+  public boolean isPairwise() {
+    return false;
+  }
+
+  @Override
+  public boolean reversesRules() {
+    return false;
+  }
+
   @Override
   public int hashCode() {
     return 1;
@@ -2,6 +2,7 @@ package model.ruled;
 
 import model.Cells;
 import model.Direction;
+import model.Neighbors;
 
 /**
  * Represents a ThreeTrioRule: a rule that determines if a card cell should be flipped.
@@ -27,6 +28,33 @@ public interface ThreeTrioRule {
    */
   boolean reverseSatisfiesFlip(Cells input, Cells neighbor, Direction toNeighbor);
 
+  /**
+   * Returns which neighbors of a newly placed card this rule flips, worked out once for the
+   * whole placement. Bit d of the result is set iff the neighbor in the direction whose ordinal
+   * is d is flipped. Neighbors without a card are never in the result; whether a neighbor is
+   * owned by an opponent is left to the caller.
+   * Only rules that are not allowed in combos are asked for it during a game. By default, it
+   * asks satisfiesFlip, or reverseSatisfiesFlip, about each neighbor with a card; rules that
+   * look at the whole placement, such as the SameRule and PlusRule, override it.
+   * @param placed the cell of the card just placed, linked to its neighbors.
+   * @param reverse true if the reverse of the rule is used.
+   * @return the bitmask of the directions whose neighbor this rule flips.
+   */
+  default int flipMask(Cells placed, boolean reverse) {
+    Neighbors neighbors = placed.neighbors();
+    int mask = 0;
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = neighbors.get(dir);
+      Direction toNeighbor = Direction.fromIndex(dir);
+      if (neighbor != null && neighbor.hasCard()
+              && (reverse ? this.reverseSatisfiesFlip(placed, neighbor, toNeighbor)
+                          : this.satisfiesFlip(placed, neighbor, toNeighbor))) {
+        mask |= 1 << dir;
+      }
+    }
+    return mask;
+  }
+
   /**
    * Returns true iff this rule is mutually exclusive with other mutually exclusive rules.
    * @param opposing the rule being checked against.
@@ -36,7 +64,30 @@ public interface ThreeTrioRule {
 
   /**
    * Returns true if this rule is allowed in combos. Otherwise, return false.
+   * A rule allowed in combos decides flips one comparison at a time, through satisfiesFlip and
+   * reverseSatisfiesFlip, and is asked about the cards flipped by a cascade as well as the card
+   * placed. A rule that is not looks at a whole placement through flipMask, once per placement.
    * @return true iff this rule is allowed in combos.
    */
   boolean allowCombo();
+
+  /**
+   * Returns true if this rule, when allowed in combos, decides every comparison from the two
+   * values facing each other and nothing else. This is a promise the rule must keep: a
+   * pairwise rule is compiled into a RuleTable by asking it once about every pair of values,
+   * on blank cards with no name, color or neighbors facing north, and is never asked again.
+   * A rule whose decision depends on anything else, such as the other values of the cards,
+   * their names or the direction, must return false, and is then asked on every comparison
+   * with the two cards, each alone in a CardCell. Rules that are not allowed in combos are
+   * never compiled, so what they return is ignored.
+   * @return true iff this rule can be compiled into a RuleTable.
+   */
+  boolean isPairwise();
+
+  /**
+   * Returns true if this rule turns the other rules of a game around, so that the reverse of
+   * every rule is used, as the ReverseRule does.
+   * @return true iff games with this rule use the reverse of their rules.
+   */
+  boolean reversesRules();
 }
@@ -0,0 +1,278 @@
+package simulation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import filereaders.ReadCardConfig;
+import filereaders.ReadGridConfig;
+import model.Cells;
+import model.PlayableCard;
+import model.packed.PackedThreeTrioModel;
+import model.ruled.RuleEngine;
+import model.ruled.RuleRegistry;
+import model.ruled.ThreeTrioRule;
+import player.PlayerActions;
+import strategy.Coordinate;
+import strategy.Tuple;
+
+/**
+ * Plays batches of machine-only games on one board with one rule set, to measure how the
+ * rules shift the balance between the player moving first and the player moving second.
+ * Games are played on PackedThreeTrioModels without any view or controller, and are spread
+ * over the threads of a ForkJoinPool: the range of games is split in halves until a half is
+ * small enough to play, and idle threads steal the halves left by busy ones.
+ * Only totals are kept. Each batch of games is recorded into its own GameStats, which is
+ * merged into the running totals when the batch ends, and a copy of the totals is handed to
+ * a listener so results can be shown while the games are still running.
+ * Every game deals the deck shuffled by a Random seeded with the seed and index of the game,
+ * so the totals of a run only depend on its seed, never on how the games were scheduled.
+ */
+public final class BalanceSimulator {
+  private static final int BATCH_SIZE = 64;
+  private static final int PROGRESS_STEPS = 10; // progress lines printed per run of main
+
+  private final List<List<Cells>> grid;
+  private final List<PlayableCard> deck;
+  private final RuleEngine engine;
+  private final SimulatedStrategy first;
+  private final SimulatedStrategy second;
+
+  /**
+   * Constructor for a simulator of games on the given board and deck.
+   * The grid is only read, so one grid can be shared by simulators running at the same time.
+   * @param grid the board every game starts on.
+   * @param deck the cards dealt in every game, shuffled per game.
+   * @param engine the rules every game is played with.
+   * @param first the strategy of the player moving first.
+   * @param second the strategy of the player moving second.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public BalanceSimulator(List<List<Cells>> grid, List<PlayableCard> deck, RuleEngine engine,
+                          SimulatedStrategy first, SimulatedStrategy second) {
+    if (grid == null || deck == null || engine == null || first == null || second == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    this.grid = grid;
+    this.deck = new ArrayList<>(deck);
+    this.engine = engine;
+    this.first = first;
+    this.second = second;
+  }
+
+  /**
+   * Plays the given number of games on the given pool and returns their totals.
+   * @param games the number of games to play.
+   * @param seed the seed the deals of the games are derived from.
+   * @param pool the pool to play the games on.
+   * @param progress notified with a copy of the running totals every time a batch of games
+   *                 ends. Notifications never overlap, and the totals only grow.
+   * @return the totals over every game.
+   * @throws IllegalArgumentException if games is negative, pool or progress is null, or the
+   *                                  deck has too few cards for the board.
+   */
+  public GameStats run(int games, long seed, ForkJoinPool pool, Consumer<GameStats> progress) {
+    if (games < 0) {
+      throw new IllegalArgumentException("Number of games cannot be negative.");
+    }
+    if (pool == null || progress == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    // fails fast on a bad board or deck, before any thread is busy
+    new PackedThreeTrioModel(this.engine).startGame(this.grid, this.deck);
+    GameStats totals = new GameStats();
+    pool.invoke(new Batch(0, games, seed, totals, progress));
+    return totals;
+  }
+
+  /**
+   * Plays a single game and returns its totals.
+   * @param gameIdx the index of the game, which picks its deal together with the seed.
+   * @param seed the seed the deal is derived from.
+   * @return the totals of the one game.
+   */
+  public GameStats play(int gameIdx, long seed) {
+    GameStats stats = new GameStats();
+    this.playInto(gameIdx, seed, stats);
+    return stats;
+  }
+
+  private void playInto(int gameIdx, long seed, GameStats stats) {
+    List<PlayableCard> dealt = new ArrayList<>(this.deck);
+    Collections.shuffle(dealt, new Random(seed * 31 + gameIdx));
+    PackedThreeTrioModel model = new PackedThreeTrioModel(this.engine);
+    model.startGame(this.grid, dealt);
+    PlayerActions[] players = {this.first.create(model), this.second.create(model)};
+    while (!model.isGameOver()) {
+      int turn = model.getTurn();
+      Tuple<Coordinate, Integer> move = pickMove(model, players[turn].playCard(turn), turn);
+      model.playCard(move.getValue(), move.getKey().getX(), move.getKey().getY());
+      model.battle();
+    }
+    stats.record(model.getScore(0), model.getScore(1));
+  }
+
+  // Takes the first legal move a strategy suggests, like the controller does. If none is
+  // legal, plays the first card of the hand on the uppermost, leftmost open cell.
+  private static Tuple<Coordinate, Integer> pickMove(PackedThreeTrioModel model,
+                                                     List<Tuple<Coordinate, Integer>> moves,
+                                                     int playerIdx) {
+    for (Tuple<Coordinate, Integer> move : moves) {
+      if (move != null && move.getKey() != null
+              && model.checkLegal(move.getKey().getX(), move.getKey().getY())
+              && move.getValue() >= 0 && move.getValue() < model.getHandSize(playerIdx)) {
+        return move;
+      }
+    }
+    for (int row = 0; row < model.getGridLength(); row++) {
+      for (int col = 0; col < model.getGridWidth(); col++) {
+        if (model.checkLegal(row, col)) {
+          return new Tuple<>(new Coordinate(row, col), 0);
+        }
+      }
+    }
+    throw new IllegalStateException("No legal move in a game that is not over.");
+  }
+
+  /**
+   * Compiles every legal combination of the rules in the registry. A combination is legal if
+   * none of its rules are mutually exclusive. Combinations that end up with the same rules,
+   * such as "same" and "default+same" since a combo rule is added when none is picked, are
+   * only kept once, under the first name found.
+   * @param registry the registry to pick the rules from.
+   * @return the engine of every legal combination, by the names of its rules joined with '+'.
+   */
+  public static Map<String, RuleEngine> ruleSets(RuleRegistry registry) {
+    List<String> names = new ArrayList<>(registry.getNames());
+    Map<String, RuleEngine> engines = new LinkedHashMap<>();
+    Set<Set<Class<?>>> seen = new HashSet<>();
+    for (int picked = 1; picked < 1 << names.size(); picked++) {
+      List<String> combination = new ArrayList<>();
+      for (int index = 0; index < names.size(); index++) {
+        if ((picked & 1 << index) != 0) {
+          combination.add(names.get(index));
+        }
+      }
+      Set<ThreeTrioRule> rules = registry.createAll(combination);
+      Set<Class<?>> kinds = new HashSet<>();
+      for (ThreeTrioRule rule : rules) {
+        kinds.add(rule.getClass());
+      }
+      if (!seen.add(kinds)) {
+        continue;
+      }
+      try {
+        engines.put(String.join("+", combination), RuleEngine.compile(rules));
+      } catch (IllegalArgumentException e) {
+        // mutually exclusive rules are not a legal combination
+      }
+    }
+    return engines;
+  }
+
+  /**
+   * Plays every legal rule combination on every valid board in BoardConfig and prints the
+   * totals of each, one line per board and rule set. While the games of a board and rule set
+   * are played, the running totals are printed to the error stream every tenth of the games.
+   *
+   * @param args optionally the number of games per board and rule set, the strategies of the
+   *             first and second player, such as "strategy2", and the card file to deal.
+   */
+  public static void main(String[] args) {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    SimulatedStrategy first = SimulatedStrategy.fromName(args.length > 1 ? args[1] : "strategy2");
+    SimulatedStrategy second = SimulatedStrategy.fromName(args.length > 2 ? args[2] : "strategy2");
+    String cards = args.length > 3 ? args[3] : "CardConfig/ForPlus";
+    List<PlayableCard> deck = new ReadCardConfig(cards).parseCards();
+    Map<String, RuleEngine> ruleSets = ruleSets(RuleRegistry.load());
+
+    File[] boards = new File("BoardConfig").listFiles();
+    if (boards == null) {
+      throw new IllegalStateException("No BoardConfig directory found.");
+    }
+    Arrays.sort(boards);
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    for (File board : boards) {
+      List<List<Cells>> grid;
+      try {
+        grid = new ReadGridConfig(board.getPath()).parseGrid();
+      } catch (IllegalArgumentException e) {
+        continue; // not a valid board
+      }
+      for (Map.Entry<String, RuleEngine> rules : ruleSets.entrySet()) {
+        BalanceSimulator simulator =
+                new BalanceSimulator(grid, deck, rules.getValue(), first, second);
+        String label = board.getName() + " " + rules.getKey();
+        GameStats totals;
+        try {
+          totals = simulator.run(games, 0, pool, printProgress(label, games));
+        } catch (IllegalArgumentException e) {
+          System.out.println(label + ": " + e.getMessage());
+          continue;
+        }
+        System.out.println(label + ": " + totals);
+      }
+    }
+  }
+
+  // Prints the running totals of a run to the error stream each time another tenth of its
+  // games has ended. Relies on the notifications of a run never overlapping.
+  private static Consumer<GameStats> printProgress(String label, int games) {
+    long[] printed = new long[1]; // the steps printed so far
+    return stats -> {
+      long steps = stats.getGames() * PROGRESS_STEPS / Math.max(games, 1);
+      if (steps > printed[0] && stats.getGames() < games) {
+        printed[0] = steps;
+        System.err.println(label + " (" + stats.getGames() + "/" + games + "): " + stats);
+      }
+    };
+  }
+
+  // Plays the games from start to end, splitting the range while it is larger than a batch.
+  private final class Batch extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int start;
+    private final int end;
+    private final long seed;
+    private final GameStats totals;
+    private final Consumer<GameStats> progress;
+
+    private Batch(int start, int end, long seed, GameStats totals,
+                  Consumer<GameStats> progress) {
+      this.start = start;
+      this.end = end;
+      this.seed = seed;
+      this.totals = totals;
+      this.progress = progress;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.end - this.start > BATCH_SIZE) {
+        int middle = (this.start + this.end) >>> 1;
+        invokeAll(new Batch(this.start, middle, this.seed, this.totals, this.progress),
+                new Batch(middle, this.end, this.seed, this.totals, this.progress));
+        return;
+      }
+      GameStats local = new GameStats();
+      for (int gameIdx = this.start; gameIdx < this.end; gameIdx++) {
+        BalanceSimulator.this.playInto(gameIdx, this.seed, local);
+      }
+      synchronized (this.totals) {
+        this.totals.merge(local);
+        this.progress.accept(new GameStats(this.totals));
+      }
+    }
+  }
+}
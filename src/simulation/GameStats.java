@@ -0,0 +1,141 @@
+package simulation;
+
+/**
+ * Running totals over a batch of finished games: how many each player won, how many were
+ * tied, and the sum of each player's final score. Only the totals are kept, never the games,
+ * so a batch of any size takes the same memory. Totals of separate batches are combined with
+ * merge. A GameStats is not thread safe; each thread should fill its own and merge it into a
+ * shared one while holding its lock.
+ */
+public final class GameStats {
+  private long games;
+  private long firstWins;
+  private long secondWins;
+  private long ties;
+  private long firstScore;
+  private long secondScore;
+
+  /**
+   * Constructor for empty totals.
+   */
+  public GameStats() {
+    // all totals start at 0
+  }
+
+  /**
+   * Constructor for a copy of the given totals.
+   * @param other the totals to copy.
+   * @throws IllegalArgumentException if other is null.
+   */
+  public GameStats(GameStats other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Stats cannot be null.");
+    }
+    this.merge(other);
+  }
+
+  /**
+   * Adds a finished game to the totals. The player with the greater score won it.
+   * @param firstScore the final score of the first player, who moved first.
+   * @param secondScore the final score of the second player.
+   * @throws IllegalArgumentException if a score is negative.
+   */
+  public void record(int firstScore, int secondScore) {
+    if (firstScore < 0 || secondScore < 0) {
+      throw new IllegalArgumentException("Scores cannot be negative.");
+    }
+    this.games++;
+    if (firstScore > secondScore) {
+      this.firstWins++;
+    } else if (secondScore > firstScore) {
+      this.secondWins++;
+    } else {
+      this.ties++;
+    }
+    this.firstScore += firstScore;
+    this.secondScore += secondScore;
+  }
+
+  /**
+   * Adds the totals of another batch of games to these totals.
+   * @param other the totals to add.
+   * @throws IllegalArgumentException if other is null.
+   */
+  public void merge(GameStats other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Stats cannot be null.");
+    }
+    this.games += other.games;
+    this.firstWins += other.firstWins;
+    this.secondWins += other.secondWins;
+    this.ties += other.ties;
+    this.firstScore += other.firstScore;
+    this.secondScore += other.secondScore;
+  }
+
+  /**
+   * Returns the number of games recorded.
+   * @return the number of games.
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns the number of games the first player won.
+   * @return the wins of the first player.
+   */
+  public long getFirstWins() {
+    return this.firstWins;
+  }
+
+  /**
+   * Returns the number of games the second player won.
+   * @return the wins of the second player.
+   */
+  public long getSecondWins() {
+    return this.secondWins;
+  }
+
+  /**
+   * Returns the number of games that ended in a tie.
+   * @return the number of ties.
+   */
+  public long getTies() {
+    return this.ties;
+  }
+
+  /**
+   * Returns the average final score of the first player.
+   * @return the average score, or 0 if no game was recorded.
+   */
+  public double getAverageFirstScore() {
+    return this.games == 0 ? 0 : (double) this.firstScore / this.games;
+  }
+
+  /**
+   * Returns the average final score of the second player.
+   * @return the average score, or 0 if no game was recorded.
+   */
+  public double getAverageSecondScore() {
+    return this.games == 0 ? 0 : (double) this.secondScore / this.games;
+  }
+
+  /**
+   * Returns how much more often the first player wins than the second, as the difference of
+   * their win rates. Positive values favor the player moving first, negative values the
+   * player moving second.
+   * @return the advantage of the first player, from -1 to 1, or 0 if no game was recorded.
+   */
+  public double getFirstPlayerAdvantage() {
+    return this.games == 0 ? 0 : (double) (this.firstWins - this.secondWins) / this.games;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("games=%d first=%d second=%d ties=%d avgScore=%.2f/%.2f "
+                    + "advantage=%+.4f", this.games, this.firstWins, this.secondWins, this.ties,
+            this.getAverageFirstScore(), this.getAverageSecondScore(),
+            this.getFirstPlayerAdvantage());
+  }
+}
@@ -0,0 +1,68 @@
+package simulation;
+
+import model.PlayableCard;
+import model.ReadOnlyThreeTrioGameModel;
+import player.MachinePlayer;
+import player.PlayerActions;
+import strategy.CornerStrategy;
+import strategy.FlipMostCardsStrategy;
+import strategy.LeastExposedStrategy;
+import strategy.MinMaxStrategy;
+
+/**
+ * The strategies a simulated player can use, named like the players of ThreeTrios.
+ * Strategies keep state between their calls, so every simulated game gets new ones.
+ */
+public enum SimulatedStrategy {
+  CORNER("strategy1"),
+  FLIP_MOST("strategy2"),
+  LEAST_EXPOSED("strategy3"),
+  MIN_MAX("strategy4");
+
+  private final String name;
+
+  SimulatedStrategy(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Creates a machine player that plays the given model with a new instance of this strategy.
+   * @param model the model the player plays on.
+   * @return the player's actions.
+   */
+  public PlayerActions create(ReadOnlyThreeTrioGameModel<PlayableCard> model) {
+    switch (this) {
+      case CORNER:
+        return new MachinePlayer<>(model, new CornerStrategy<PlayableCard>());
+      case FLIP_MOST:
+        return new MachinePlayer<>(model, new FlipMostCardsStrategy<PlayableCard>());
+      case LEAST_EXPOSED:
+        return new MachinePlayer<>(model, new LeastExposedStrategy<PlayableCard>());
+      case MIN_MAX:
+        return new MachinePlayer<>(model, new MinMaxStrategy<PlayableCard>());
+      default:
+        throw new IllegalStateException("Unknown strategy " + this);
+    }
+  }
+
+  /**
+   * Finds the strategy with the given name, such as "strategy1" for the CORNER strategy.
+   * @param name the name of the strategy, as given to ThreeTrios.
+   * @return the strategy.
+   * @throws IllegalArgumentException if no strategy has the given name.
+   */
+  public static SimulatedStrategy fromName(String name) {
+    for (SimulatedStrategy strategy : values()) {
+      if (strategy.name.equals(name)) {
+        return strategy;
+      }
+    }
+    throw new IllegalArgumentException("Error: Invalid strategy. Valid strategies include: "
+            + "'strategy1', 'strategy2', 'strategy3', 'strategy4'");
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
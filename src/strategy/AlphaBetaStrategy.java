@@ -0,0 +1,370 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Card;
+import model.Direction;
+import model.Moves;
+import model.PlayableCard;
+import model.ReadOnlyThreeTrioGameModel;
+import model.packed.PackedThreeTrioModel;
+import model.ruled.RuleEngine;
+
+/**
+ * A strategy that looks ahead at the moves of both players with an alpha-beta search, in its
+ * negamax form: the score of a position is the difference between the scores of the player to
+ * move and the other player, and a finished game is worth more than any difference to the
+ * player who won it.
+ * The search deepens one move at a time until it has looked at every move left in the game or
+ * its time budget runs out, and returns the best moves of the deepest search it finished.
+ * Moves are tried in the order of orderMoves, best moves of the previous search first, so the
+ * search cuts off more of the moves that can not be better.
+ * What the search finds for each position is kept in a TranspositionTable, so a position
+ * reached again through another order of moves, a later turn or, with a shared table, another
+ * game is not searched again, and its best move is tried first when it is.
+ * @param <C> The type of cards used to play a game of Three Trio, which must be PlayableCards.
+ */
+public class AlphaBetaStrategy<C extends Card> implements InfailableThreeTrioStrategy<C> {
+  private static final int WIN = 1000; // more than any difference in scores
+  private static final int INFINITY = Integer.MAX_VALUE / 2;
+  private static final int CHECK_EVERY = 1024; // positions searched between looks at the clock
+  private static final int TABLE_CAPACITY = 1 << 17; // entries of a table of its own
+
+  private final RuleEngine engine;
+  private final long budgetNanos;
+  private final int maxDepth;
+  private final TranspositionTable table; // null if nothing is kept
+
+  private PackedThreeTrioModel[] positions; // the position at each ply of the search
+  private int[][] moves; // the moves of each ply, in the order they are tried
+  private int[][] keys; // the flips of each of those moves
+  private long deadline;
+  private long searched;
+  private boolean outOfTime;
+  private int searchDepth; // of the search running
+  private int completedDepth;
+
+  /**
+   * Constructor for a strategy that searches as deep as it can within the given budget.
+   * @param engine the rules the game is played with.
+   * @param budgetMillis the time each move may take, in milliseconds.
+   * @throws IllegalArgumentException if the engine is null or the budget is not positive.
+   */
+  public AlphaBetaStrategy(RuleEngine engine, long budgetMillis) {
+    this(engine, budgetMillis, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Constructor for a strategy that searches at most the given number of moves ahead, keeping
+   * what it finds in a table of its own across its turns.
+   * @param engine the rules the game is played with.
+   * @param budgetMillis the time each move may take, in milliseconds.
+   * @param maxDepth the most moves, of both players together, to look ahead.
+   * @throws IllegalArgumentException if the engine is null, or the budget or depth is not
+   *                                  positive.
+   */
+  public AlphaBetaStrategy(RuleEngine engine, long budgetMillis, int maxDepth) {
+    this(engine, budgetMillis, maxDepth, new TranspositionTable(TABLE_CAPACITY));
+  }
+
+  /**
+   * Constructor for a strategy that keeps what it finds in the given table, which can be
+   * shared with other searches that play by the same rules, on any board, one at a time.
+   * @param engine the rules the game is played with.
+   * @param budgetMillis the time each move may take, in milliseconds.
+   * @param maxDepth the most moves, of both players together, to look ahead.
+   * @param table the table to keep positions in, or null to keep none.
+   * @throws IllegalArgumentException if the engine is null, or the budget or depth is not
+   *                                  positive.
+   */
+  public AlphaBetaStrategy(RuleEngine engine, long budgetMillis, int maxDepth,
+                           TranspositionTable table) {
+    if (engine == null) {
+      throw new IllegalArgumentException("Engine cannot be null.");
+    }
+    if (budgetMillis <= 0 || maxDepth <= 0) {
+      throw new IllegalArgumentException("Budget and depth must be positive.");
+    }
+    this.engine = engine;
+    this.budgetNanos = budgetMillis * 1_000_000L;
+    this.maxDepth = maxDepth;
+    this.table = table;
+  }
+
+  /**
+   * Selects the best moves found by searching ahead from the given model. The search of one
+   * move ahead is always finished, however small the budget.
+   * @param model the model to be played on.
+   * @param playerIdx the player this strategy is for, whose turn it must be.
+   * @return the moves with the best score of the deepest finished search, in the order they
+   *         were searched, or an empty list if the game is over.
+   * @throws IllegalArgumentException if it is not the given player's turn.
+   */
+  @Override
+  public List<Tuple<Coordinate, Integer>> selectTile(ReadOnlyThreeTrioGameModel<C> model,
+                                                     int playerIdx) {
+    PackedThreeTrioModel root = new PackedThreeTrioModel(this.engine);
+    root.startFrom(model);
+    List<Tuple<Coordinate, Integer>> output = new ArrayList<>();
+    this.completedDepth = 0;
+    if (root.isGameOver()) {
+      return output;
+    }
+    if (root.getTurn() != playerIdx) {
+      throw new IllegalArgumentException("It is not this player's turn.");
+    }
+
+    int maxPlies = Math.min(this.maxDepth, root.getEmptyCellCount());
+    int maxMoves = root.getEmptyCellCount()
+            * Math.max(root.getHandSize(0), root.getHandSize(1));
+    this.positions = new PackedThreeTrioModel[maxPlies + 1];
+    this.moves = new int[maxPlies][maxMoves];
+    this.keys = new int[maxPlies][maxMoves];
+    this.positions[0] = root;
+    for (int ply = 1; ply <= maxPlies; ply++) {
+      this.positions[ply] = root.copy();
+    }
+    this.deadline = System.nanoTime() + this.budgetNanos;
+    this.searched = 0;
+    this.outOfTime = false;
+
+    int[] rootMoves = this.moves[0];
+    int rootCount = orderMoves(root, rootMoves, this.keys[0]);
+    int[] best = new int[rootCount];
+    int bestCount = 0;
+    for (int depth = 1; depth <= maxPlies; depth++) {
+      this.searchDepth = depth;
+      int[] found = new int[rootCount];
+      int foundCount = this.searchRoot(depth, rootMoves, rootCount, found);
+      if (this.outOfTime) {
+        break;
+      }
+      best = found;
+      bestCount = foundCount;
+      this.completedDepth = depth;
+      this.moveToFront(rootMoves, rootCount, best, bestCount);
+    }
+
+    int width = root.getGridWidth();
+    for (int index = 0; index < bestCount; index++) {
+      int cell = Moves.cellOf(best[index]);
+      output.add(new Tuple<>(new Coordinate(cell / width, cell % width),
+              Moves.handIdxOf(best[index])));
+    }
+    return output;
+  }
+
+  /**
+   * Returns how many moves ahead the latest call to selectTile finished searching.
+   * @return the depth of the deepest finished search, 0 if the game was over.
+   */
+  public int getCompletedDepth() {
+    return this.completedDepth;
+  }
+
+  // Searches every root move to the given depth and keeps the moves with the best score in
+  // found. Each move is searched just below the best score so far, so moves tying with the
+  // best get their exact score and the others are cut off as soon as they fall below it.
+  private int searchRoot(int depth, int[] rootMoves, int rootCount, int[] found) {
+    int bestScore = -INFINITY;
+    int foundCount = 0;
+    for (int index = 0; index < rootCount; index++) {
+      int move = rootMoves[index];
+      this.play(0, move);
+      int score = -this.negamax(1, depth - 1, -INFINITY, -(bestScore - 1));
+      if (this.outOfTime) {
+        return 0;
+      }
+      if (score > bestScore) {
+        bestScore = score;
+        foundCount = 0;
+      }
+      if (score == bestScore) {
+        found[foundCount++] = move;
+      }
+    }
+    if (this.table != null) {
+      this.table.store(TranspositionTable.keyOf(this.positions[0]), depth,
+              TranspositionTable.EXACT, bestScore, found[0]);
+    }
+    return foundCount;
+  }
+
+  // The score of the position at the given ply for the player to move there.
+  private int negamax(int ply, int depth, int alpha, int beta) {
+    PackedThreeTrioModel position = this.positions[ply];
+    if (position.isGameOver()) {
+      int difference = difference(position);
+      return difference == 0 ? 0 : difference + (difference > 0 ? WIN : -WIN);
+    }
+    if (depth == 0) {
+      return difference(position);
+    }
+    // the first search always finishes, so there is a move to return
+    if (++this.searched % CHECK_EVERY == 0 && this.searchDepth > 1
+            && System.nanoTime() - this.deadline > 0) {
+      this.outOfTime = true;
+    }
+    if (this.outOfTime) {
+      return 0;
+    }
+
+    long key = TranspositionTable.keyOf(position);
+    int tableMove = -1;
+    if (this.table != null) {
+      int slot = this.table.probe(key);
+      if (slot != TranspositionTable.NOT_FOUND) {
+        tableMove = this.table.getMove(slot);
+        if (this.table.getDepth(slot) >= depth) {
+          int score = this.table.getScore(slot);
+          int bound = this.table.getBound(slot);
+          if (bound == TranspositionTable.EXACT) {
+            return score;
+          } else if (bound == TranspositionTable.LOWER) {
+            alpha = Math.max(alpha, score);
+          } else {
+            beta = Math.min(beta, score);
+          }
+          if (alpha >= beta) {
+            return score;
+          }
+        }
+      }
+    }
+
+    int count = orderMoves(position, this.moves[ply], this.keys[ply]);
+    if (tableMove >= 0) {
+      moveFirst(this.moves[ply], count, tableMove);
+    }
+    int alphaStart = alpha;
+    int best = -INFINITY;
+    int bestMove = -1;
+    for (int index = 0; index < count; index++) {
+      int move = this.moves[ply][index];
+      this.play(ply, move);
+      int score = -this.negamax(ply + 1, depth - 1, -beta, -alpha);
+      if (this.outOfTime) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        bestMove = move;
+      }
+      alpha = Math.max(alpha, score);
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    if (this.table != null) {
+      int bound = best <= alphaStart ? TranspositionTable.UPPER
+              : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+      this.table.store(key, depth, bound, best, bestMove);
+    }
+    return best;
+  }
+
+  // Plays the given move from the position at the given ply into the position one ply deeper.
+  private void play(int ply, int move) {
+    PackedThreeTrioModel next = this.positions[ply + 1];
+    next.copyFrom(this.positions[ply]);
+    int cell = Moves.cellOf(move);
+    next.playCard(Moves.handIdxOf(move), cell / next.getGridWidth(), cell % next.getGridWidth());
+    next.battle();
+  }
+
+  // the score of the player to move minus the other player's
+  static int difference(PackedThreeTrioModel position) {
+    int player = position.getTurn();
+    return position.getScore(player) - position.getScore((player + 1) % 2);
+  }
+
+  /**
+   * Lists the moves of the player to move in the given position, most cards flipped right away
+   * first, and returns how many there are. Moves flipping as many cards stay uppermost-leftmost
+   * first, then by hand index. The position is a copy of the game in a PackedThreeTrioModel
+   * playing by the same rules, so the moves and their flips are exactly those of a
+   * RuledThreeTrioModel built with the same engine, and the model given to a strategy is never
+   * touched. Repeated cards, see isRepeated, are left out.
+   * @param position the position to list the moves of.
+   * @param list the array the moves are listed in, encoded as by Moves.encode.
+   * @param flips the array the number of cards each move flips is kept in.
+   * @return the number of moves listed.
+   */
+  static int orderMoves(PackedThreeTrioModel position, int[] list, int[] flips) {
+    int player = position.getTurn();
+    int handSize = position.getHandSize(player);
+    int width = position.getGridWidth();
+    int count = 0;
+    for (int cell = position.nextEmptyCell(0); cell >= 0;
+         cell = position.nextEmptyCell(cell + 1)) {
+      for (int handIdx = 0; handIdx < handSize; handIdx++) {
+        if (isRepeated(position, player, handIdx)) {
+          continue;
+        }
+        int key = position.getFlipCount(player, handIdx, cell / width, cell % width);
+        int move = Moves.encode(cell, handIdx);
+        int index = count++;
+        while (index > 0 && flips[index - 1] < key) {
+          list[index] = list[index - 1];
+          flips[index] = flips[index - 1];
+          index--;
+        }
+        list[index] = move;
+        flips[index] = key;
+      }
+    }
+    return count;
+  }
+
+  // Moves the given move, if it is one of the first count moves of the list, to the front.
+  static void moveFirst(int[] list, int count, int move) {
+    for (int index = 0; index < count; index++) {
+      if (list[index] == move) {
+        System.arraycopy(list, 0, list, 1, index);
+        list[0] = move;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Determines if an earlier card in the hand has the same values as the card at the given
+   * index. Such a card plays exactly like the earlier one, so only the earlier one is tried.
+   * @param position the position whose hand is looked at.
+   * @param player the player whose hand is looked at.
+   * @param handIdx the index of the card in the hand.
+   * @return true iff an earlier card in the hand has the same values.
+   */
+  static boolean isRepeated(PackedThreeTrioModel position, int player, int handIdx) {
+    PlayableCard card = position.getCardInHand(player, handIdx);
+    for (int earlier = 0; earlier < handIdx; earlier++) {
+      PlayableCard other = position.getCardInHand(player, earlier);
+      boolean same = true;
+      for (Direction direction : Direction.values()) {
+        same &= card.numAt(direction) == other.numAt(direction);
+      }
+      if (same) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Moves the given moves to the front of the list, keeping the order of the rest.
+  private void moveToFront(int[] list, int count, int[] front, int frontCount) {
+    int[] rest = new int[count];
+    int restCount = 0;
+    for (int index = 0; index < count; index++) {
+      boolean inFront = false;
+      for (int frontIdx = 0; frontIdx < frontCount; frontIdx++) {
+        inFront |= front[frontIdx] == list[index];
+      }
+      if (!inFront) {
+        rest[restCount++] = list[index];
+      }
+    }
+    System.arraycopy(front, 0, list, 0, frontCount);
+    System.arraycopy(rest, 0, list, frontCount, restCount);
+  }
+}
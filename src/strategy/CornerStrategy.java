@@ -68,13 +68,11 @@ public class CornerStrategy<C extends Card> implements FailableThreeTrioStrategy
       if (model.checkLegal(lastXIdx, lastYIdx)) {
         return new Tuple<>(new Coordinate(lastXIdx, lastYIdx), 0);
       }
-      for (int row = 0; row < model.getGridLength(); row++) {
-        for (int col = 0; col < model.getGridWidth(); col++) {
-          if (model.checkLegal(row, col)) {
-            // Return the first valid position and card index 0
-            return new Tuple<>(new Coordinate(row, col), 0);
-          }
-        }
+      int open = model.nextEmptyCell(0);
+      if (open >= 0) {
+        // Return the first valid position and card index 0
+        return new Tuple<>(new Coordinate(open / model.getGridWidth(),
+                open % model.getGridWidth()), 0);
       }
     }
     return new Tuple<>(this.selectedCell, this.indexOfGreatest);
@@ -96,31 +94,31 @@ public class CornerStrategy<C extends Card> implements FailableThreeTrioStrategy
 
       if (corner.getX() == 0 && corner.getY() == 0) {
         if (model.checkLegal(corner.getX() + 1, corner.getY())) {
-          value = value + card.valueAt(Direction.SOUTH).toNum();
+          value = value + card.numAt(Direction.SOUTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() + 1)) {
-          value = value + card.valueAt(Direction.EAST).toNum();
+          value = value + card.numAt(Direction.EAST);
         }
       } else if (corner.getX() == 0 && corner.getY() == width) {
         if (model.checkLegal(corner.getX() + 1, corner.getY())) {
-          value = value + card.valueAt(Direction.SOUTH).toNum();
+          value = value + card.numAt(Direction.SOUTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() - 1)) {
-          value = value + card.valueAt(Direction.WEST).toNum();
+          value = value + card.numAt(Direction.WEST);
         }
       } else if (corner.getX() == length && corner.getY() == 0) {
         if (model.checkLegal(corner.getX() - 1, corner.getY())) {
-          value = value + card.valueAt(Direction.NORTH).toNum();
+          value = value + card.numAt(Direction.NORTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() + 1)) {
-          value = value + card.valueAt(Direction.EAST).toNum();
+          value = value + card.numAt(Direction.EAST);
         }
       } else if (corner.getX() == length && corner.getY() == width) {
         if (model.checkLegal(corner.getX() - 1, corner.getY())) {
-          value = value + card.valueAt(Direction.NORTH).toNum();
+          value = value + card.numAt(Direction.NORTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() - 1)) {
-          value = value + card.valueAt(Direction.WEST).toNum();
+          value = value + card.numAt(Direction.WEST);
         }
       }
 
@@ -0,0 +1,216 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Card;
+import model.Moves;
+import model.ReadOnlyThreeTrioGameModel;
+import model.packed.PackedThreeTrioModel;
+import model.ruled.RuleEngine;
+
+/**
+ * A strategy that plays the end of a game perfectly and leaves the rest of it to another
+ * strategy. Once no more than a given number of card cells are empty, it searches every move
+ * left in the game and returns the moves that end it with the best score margin both players
+ * playing their best, the score of the player to move minus the other player's. Before then,
+ * it returns the moves of the other strategy.
+ * The search is an alpha-beta search over the margin the game ends with, trying moves in the
+ * order of AlphaBetaStrategy.orderMoves. The margin of every position searched is kept in a
+ * TranspositionTable, so a position reached again through another order of moves, or on a
+ * later turn of the same game, is not searched again.
+ * @param <C> The type of cards used to play a game of Three Trio, which must be PlayableCards.
+ */
+public class EndgameSolver<C extends Card> implements InfailableThreeTrioStrategy<C> {
+  private static final int INFINITY = Integer.MAX_VALUE / 2;
+  private static final int TABLE_CAPACITY = 1 << 16;
+
+  private final RuleEngine engine;
+  private final int threshold;
+  private final InfailableThreeTrioStrategy<C> fallback;
+  private final TranspositionTable table;
+
+  private PackedThreeTrioModel[] positions; // the position at each ply of the search
+  private int[][] moves; // the moves of each ply, in the order they are tried
+  private int[][] keys; // the flips of each of those moves
+  private boolean solved;
+  private int margin;
+
+  /**
+   * Constructor for a strategy that solves games with at most the given number of empty card
+   * cells left, and plays the given strategy before then.
+   * @param engine the rules the game is played with.
+   * @param threshold the most empty card cells a game is solved with.
+   * @param fallback the strategy played while more card cells are empty.
+   * @throws IllegalArgumentException if the engine or strategy is null, or the threshold is
+   *                                  not positive.
+   */
+  public EndgameSolver(RuleEngine engine, int threshold, InfailableThreeTrioStrategy<C> fallback) {
+    if (engine == null || fallback == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("Threshold must be positive.");
+    }
+    this.engine = engine;
+    this.threshold = threshold;
+    this.fallback = fallback;
+    this.table = new TranspositionTable(TABLE_CAPACITY);
+  }
+
+  /**
+   * Selects the moves ending the game with the best margin for the given player if few enough
+   * card cells are empty, and the moves of the other strategy otherwise.
+   * @param model the model to be played on.
+   * @param playerIdx the player this strategy is for, whose turn it must be.
+   * @return the moves ending the game with the best margin, uppermost-leftmost first then by
+   *         card index among moves flipping as many cards right away, the moves of the other
+   *         strategy, or an empty list if the game is over.
+   * @throws IllegalArgumentException if the game is solved and it is not the given player's
+   *                                  turn.
+   */
+  @Override
+  public List<Tuple<Coordinate, Integer>> selectTile(ReadOnlyThreeTrioGameModel<C> model,
+                                                     int playerIdx) {
+    this.solved = false;
+    if (model.getEmptyCellCount() > this.threshold) {
+      return this.fallback.selectTile(model, playerIdx);
+    }
+    PackedThreeTrioModel root = new PackedThreeTrioModel(this.engine);
+    root.startFrom(model);
+    List<Tuple<Coordinate, Integer>> output = new ArrayList<>();
+    if (root.isGameOver()) {
+      return output;
+    }
+    if (root.getTurn() != playerIdx) {
+      throw new IllegalArgumentException("It is not this player's turn.");
+    }
+
+    int maxPlies = root.getEmptyCellCount();
+    int maxMoves = maxPlies * Math.max(root.getHandSize(0), root.getHandSize(1));
+    this.positions = new PackedThreeTrioModel[maxPlies + 1];
+    this.moves = new int[maxPlies][maxMoves];
+    this.keys = new int[maxPlies][maxMoves];
+    this.positions[0] = root;
+    for (int ply = 1; ply <= maxPlies; ply++) {
+      this.positions[ply] = root.copy();
+    }
+
+    // each move is searched just below the best margin so far, so moves tying with the best
+    // get their exact margin and the others are cut off as soon as they fall below it
+    int[] rootMoves = this.moves[0];
+    int rootCount = AlphaBetaStrategy.orderMoves(root, rootMoves, this.keys[0]);
+    int[] best = new int[rootCount];
+    int bestCount = 0;
+    int bestMargin = -INFINITY;
+    for (int index = 0; index < rootCount; index++) {
+      this.play(0, rootMoves[index]);
+      int score = -this.negamax(1, -INFINITY, -(bestMargin - 1));
+      if (score > bestMargin) {
+        bestMargin = score;
+        bestCount = 0;
+      }
+      if (score == bestMargin) {
+        best[bestCount++] = rootMoves[index];
+      }
+    }
+    this.table.store(TranspositionTable.keyOf(root), maxPlies, TranspositionTable.EXACT,
+            bestMargin, best[0]);
+    this.solved = true;
+    this.margin = bestMargin;
+
+    int width = root.getGridWidth();
+    for (int index = 0; index < bestCount; index++) {
+      int cell = Moves.cellOf(best[index]);
+      output.add(new Tuple<>(new Coordinate(cell / width, cell % width),
+              Moves.handIdxOf(best[index])));
+    }
+    return output;
+  }
+
+  /**
+   * Returns whether the latest call to selectTile solved the game rather than playing the
+   * other strategy.
+   * @return true iff the latest moves selected were solved.
+   */
+  public boolean isSolved() {
+    return this.solved;
+  }
+
+  /**
+   * Returns the margin the game ends with from the position of the latest call to selectTile,
+   * both players playing their best: the score of the player to move minus the other
+   * player's.
+   * @return the margin of the latest position solved.
+   * @throws IllegalStateException if the latest call to selectTile did not solve the game.
+   */
+  public int getMargin() {
+    if (!this.solved) {
+      throw new IllegalStateException("The latest position was not solved.");
+    }
+    return this.margin;
+  }
+
+  // The margin the game ends with from the position at the given ply, for the player to move
+  // there, if it lies between alpha and beta. Otherwise, a bound on it past the one crossed.
+  private int negamax(int ply, int alpha, int beta) {
+    PackedThreeTrioModel position = this.positions[ply];
+    if (position.isGameOver()) {
+      return AlphaBetaStrategy.difference(position);
+    }
+
+    long key = TranspositionTable.keyOf(position);
+    int plies = position.getEmptyCellCount();
+    int tableMove = -1;
+    int slot = this.table.probe(key);
+    if (slot != TranspositionTable.NOT_FOUND && this.table.getDepth(slot) >= plies) {
+      tableMove = this.table.getMove(slot);
+      int score = this.table.getScore(slot);
+      int bound = this.table.getBound(slot);
+      if (bound == TranspositionTable.EXACT) {
+        return score;
+      } else if (bound == TranspositionTable.LOWER) {
+        alpha = Math.max(alpha, score);
+      } else {
+        beta = Math.min(beta, score);
+      }
+      if (alpha >= beta) {
+        return score;
+      }
+    }
+
+    int count = AlphaBetaStrategy.orderMoves(position, this.moves[ply], this.keys[ply]);
+    if (tableMove >= 0) {
+      AlphaBetaStrategy.moveFirst(this.moves[ply], count, tableMove);
+    }
+    int alphaStart = alpha;
+    int best = -INFINITY;
+    int bestMove = -1;
+    for (int index = 0; index < count; index++) {
+      int move = this.moves[ply][index];
+      this.play(ply, move);
+      int score = -this.negamax(ply + 1, -beta, -alpha);
+      if (score > best) {
+        best = score;
+        bestMove = move;
+      }
+      alpha = Math.max(alpha, score);
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    int bound = best <= alphaStart ? TranspositionTable.UPPER
+            : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+    this.table.store(key, plies, bound, best, bestMove);
+    return best;
+  }
+
+  // Plays the given move from the position at the given ply into the position one ply deeper.
+  private void play(int ply, int move) {
+    PackedThreeTrioModel next = this.positions[ply + 1];
+    next.copyFrom(this.positions[ply]);
+    int cell = Moves.cellOf(move);
+    next.playCard(Moves.handIdxOf(move), cell / next.getGridWidth(), cell % next.getGridWidth());
+    next.battle();
+  }
+}
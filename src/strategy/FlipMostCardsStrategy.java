@@ -3,8 +3,6 @@ package strategy;
 import model.Card;
 import model.ReadOnlyThreeTrioGameModel;
 
-import java.util.List;
-
 /**
  * A strategy attempting to flip the most cards possible in one turn.
  * If no flips are possible (most flip of 0), then select the uppermost,
@@ -21,49 +19,37 @@ public class FlipMostCardsStrategy<C extends Card> implements FailableThreeTrioS
    */
   @Override
   public Tuple<Coordinate, Integer> selectTile(ReadOnlyThreeTrioGameModel<C> model, int playerIdx) {
-    List<C> cards = model.getPlayerHand(playerIdx);
-    int mostFlipped = 0;
-    Coordinate coordinate = new Coordinate(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    int handSize = model.getHandSize(playerIdx);
+    int[][] flipCounts = model.getFlipCounts(playerIdx, false);
+    int width = model.getGridWidth();
+    int mostFlipped = -1;
+    int selectedCell = -1;
     int selectedCardIdx = -1;
 
-    for (int row = 0; row < model.getGridLength(); row++) {
-      for (int col = 0; col < model.getGridWidth(); col++) {
-        if (model.checkLegal(row, col)) { // only check non hole cell/ card cell w/o card
-          for (int cardIdx = 0; cardIdx < cards.size(); cardIdx++) {
-            int flipCount = model.getFlipCount(playerIdx, cardIdx, row, col);
-            if (flipCount > mostFlipped) {
-              mostFlipped = flipCount;
-              coordinate = new Coordinate(row, col);
-              selectedCardIdx = cardIdx;
-            } else if (flipCount == mostFlipped) {
-              // Break tie with uppermost-leftmost coordinates
-              if (row < coordinate.getX()
-                      || (row == coordinate.getX() && col < coordinate.getY())) {
-                coordinate = new Coordinate(row, col);
-                selectedCardIdx = cardIdx;
-              } else if (row == coordinate.getX()
-                      && col == coordinate.getY() && cardIdx < selectedCardIdx) {
-                // If the coordinates are the same, choose the card with the smallest index
-                selectedCardIdx = cardIdx;
-              }
-            }
-          }
+    // empty cells come uppermost-leftmost first and cards by index, so only a strictly
+    // greater count replaces the move found so far, which breaks ties as the rules ask
+    for (int cell = model.nextEmptyCell(0); cell >= 0; cell = model.nextEmptyCell(cell + 1)) {
+      for (int cardIdx = 0; cardIdx < handSize; cardIdx++) {
+        int flipCount = flipCounts[cardIdx][cell];
+        if (flipCount > mostFlipped) {
+          mostFlipped = flipCount;
+          selectedCell = cell;
+          selectedCardIdx = cardIdx;
         }
       }
     }
     // If no valid moves were found, select the uppermost-leftmost
     // open position and card at index 0
-    if (coordinate.getX() == Integer.MAX_VALUE) {
-      for (int row = 0; row < model.getGridLength(); row++) {
-        for (int col = 0; col < model.getGridWidth(); col++) {
-          if (model.checkLegal(row, col)) {
-            return new Tuple<>(new Coordinate(row, col), 0);
-          }
-        }
+    if (selectedCell < 0) {
+      int open = model.nextEmptyCell(0);
+      if (open >= 0) {
+        return new Tuple<>(new Coordinate(open / width, open % width), 0);
       }
+      return new Tuple<>(new Coordinate(Integer.MAX_VALUE, Integer.MAX_VALUE), -1);
     }
 
-    return new Tuple<>(coordinate, selectedCardIdx);
+    return new Tuple<>(new Coordinate(selectedCell / width, selectedCell % width),
+            selectedCardIdx);
   }
 
 
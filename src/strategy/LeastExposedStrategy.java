@@ -3,11 +3,11 @@ package strategy;
 import model.Card;
 import model.Cells;
 import model.Direction;
+import model.Neighbors;
 import model.ReadOnlyThreeTrioGameModel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A strategy where cells that are the least exposed are chosen.
@@ -25,29 +25,28 @@ public class LeastExposedStrategy<C extends Card> implements InfailableThreeTrio
     int sidesExposed = Integer.MAX_VALUE;
     List<Tuple<Coordinate, Integer>> bestMoves = new ArrayList<>();
     List<List<Cells>> grid = model.getGrid();
-    List<C> cards = model.getPlayerHand(playerIdx);
+    int handSize = model.getHandSize(playerIdx);
+    int width = model.getGridWidth();
 
-    for (int row = 0; row < model.getGridLength(); row++) {
-      for (int col = 0; col < model.getGridWidth(); col++) {
-        Cells currCell = grid.get(row).get(col);
+    // only the legal moves: the empty card cells, uppermost-leftmost first
+    for (int cell = model.nextEmptyCell(0); cell >= 0; cell = model.nextEmptyCell(cell + 1)) {
+      int row = cell / width;
+      int col = cell % width;
+      Cells currCell = grid.get(row).get(col);
 
-        // Check if the move is legal
-        if (model.checkLegal(row, col)) {
-          // Evaluate the exposure for each card
-          for (int cardIndex = 0; cardIndex < cards.size(); cardIndex++) {
-            Card currentCard = model.getPlayerHand(playerIdx).get(cardIndex);
-            int exposure = countExposure(currCell, model, playerIdx, currentCard);
+      // Evaluate the exposure for each card
+      for (int cardIndex = 0; cardIndex < handSize; cardIndex++) {
+        Card currentCard = model.getCardInHand(playerIdx, cardIndex);
+        int exposure = countExposure(currCell, model, playerIdx, currentCard);
 
-            // If a new least exposed card is found
-            if (exposure < sidesExposed) {
-              sidesExposed = exposure;
-              bestMoves.clear(); // Clear previous best moves
-              bestMoves.add(new Tuple<>(new Coordinate(row, col), cardIndex));
-            } else if (exposure == sidesExposed) {
-              // Add to best moves if there's a tie
-              bestMoves.add(new Tuple<>(new Coordinate(row, col), cardIndex));
-            }
-          }
+        // If a new least exposed card is found
+        if (exposure < sidesExposed) {
+          sidesExposed = exposure;
+          bestMoves.clear(); // Clear previous best moves
+          bestMoves.add(new Tuple<>(new Coordinate(row, col), cardIndex));
+        } else if (exposure == sidesExposed) {
+          // Add to best moves if there's a tie
+          bestMoves.add(new Tuple<>(new Coordinate(row, col), cardIndex));
         }
       }
     }
@@ -60,10 +59,12 @@ public class LeastExposedStrategy<C extends Card> implements InfailableThreeTrio
                             Card curCard) {
     int exposure = 0;
 
-    for (Map.Entry<Cells, Direction> entry : currCell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
-      Direction direction = entry.getValue();
-      if (neighbor.isHole() || neighbor.cellColor() == model.getPlayerColor(playerIdx)) {
+    Neighbors neighbors = currCell.neighbors();
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = neighbors.get(dir);
+      Direction direction = Direction.fromIndex(dir);
+      if (neighbor == null || neighbor.isHole()
+              || neighbor.cellColor() == model.getPlayerColor(playerIdx)) {
         continue;
       } else if (neighbor.hasCard() && neighbor.cellColor() != model.getPlayerColor(playerIdx)) {
         int compareResult = compareCardValues(curCard, neighbor.getCard(), direction);
@@ -72,13 +73,9 @@ public class LeastExposedStrategy<C extends Card> implements InfailableThreeTrio
         }
       } else { // neighbor is card cell without card
         // so look at how many of opponent's card can flip this one
-        for (Card card : model.getPlayerHand((playerIdx + 1) % 2)) {
-          int compareResults = compareCardValues(curCard, card, direction);
-          if (compareResults < 0) {
-            exposure++;
-          }
-        }
-
+        int opponentIdx = (playerIdx + 1) % 2;
+        exposure += model.countCardsAbove(opponentIdx, direction.getOpposite(),
+                curCard.numAt(direction));
       }
     }
 
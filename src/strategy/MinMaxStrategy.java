@@ -2,12 +2,14 @@ package strategy;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.IntStream;
 
 import model.Card;
 import model.Cells;
 import model.Colors;
 import model.Direction;
+import model.Moves;
+import model.Neighbors;
 import model.ReadOnlyThreeTrioGameModel;
 
 /**
@@ -27,6 +29,9 @@ import model.ReadOnlyThreeTrioGameModel;
  * We will try to maximize our score
  * by minimizing the score of the opponent after opponent simulates our move in an attempt to
  * minimize the total amount of flips we can make.
+ * Each of our moves is simulated on its own copy of the grid by its own worker, so the moves
+ * are evaluated in parallel; the moves returned and their order are the same as if they were
+ * evaluated one after another.
  *
  * @param <C> The type of cards used to play a game of Three Trio.
  */
@@ -41,46 +46,77 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
     this.selectedCell = null;
     int bestScore = Integer.MAX_VALUE; // the opponent's max score. we want to minimize it
     List<Tuple<Coordinate, Integer>> bestMoves = new ArrayList<>();
+    int opponentIdx = (playerIdx + 1) % 2;
+
+    // all legal moves for current player, uppermost-leftmost first, then by card index
+    int[] moves = new int[model.getEmptyCellCount() * model.getHandSize(playerIdx)];
+    int count = model.getLegalMoves(playerIdx, moves);
+
+    // guessing the opponent's strategy after each move only reads the model and that
+    // move's own grid, so every move is guessed in parallel
+    String[] guesses = new String[count];
+    IntStream.range(0, count).parallel().forEach(index -> guesses[index] =
+            this.determineStrategy(this.simulateMove(model, playerIdx, moves[index]),
+                    opponentIdx, model));
+
+    // the corner guess remembers the best corner over all moves simulated before it, so
+    // the corners are replayed in order and each move starts from what it would have seen
+    int[] startValues = new int[count];
+    Coordinate[] startCells = new Coordinate[count];
+    for (int index = 0; index < count; index++) {
+      startValues[index] = this.greatestValue;
+      startCells[index] = this.selectedCell;
+      if (guesses[index].equals("CornerStrategy")) {
+        this.placeCorners(model, opponentIdx,
+                this.simulateMove(model, playerIdx, moves[index]));
+      }
+    }
 
-    // iterate through all legal moves for current player
-    List<C> playerHand = model.getPlayerHand(playerIdx);
-    for (int row = 0; row < model.getGridLength(); row++) {
-      for (int col = 0; col < model.getGridWidth(); col++) {
-        if (model.checkLegal(row, col)) {
-          for (int cardIdx = 0; cardIdx < playerHand.size(); cardIdx++) {
-
-            // now we simulate our move
-            List<List<Cells>> copyGrid = model.getGrid();
-            copyGrid.get(row).get(col).changeColor(model.getPlayerColor(playerIdx));
-            copyGrid.get(row).get(col).putCard(model.getPlayerHand(playerIdx).get(cardIdx));
-
-            // now evaluate opponent's best move
-            int opponentIdx = (playerIdx + 1) % 2;
-            int opponentBestScore = evalOppsBestMove(copyGrid, opponentIdx, model);
-
-            // minimize the score of the opponent's best move
-            if (opponentBestScore < bestScore) {
-              bestScore = opponentBestScore;
-              bestMoves.clear();
-              bestMoves.add(new Tuple<>(new Coordinate(row, col), cardIdx));
-            } else if (opponentBestScore == bestScore) {
-              bestMoves.add(new Tuple<>(new Coordinate(row, col), cardIdx));
-            }
-          }
-        }
+    // each move is evaluated by its own worker on its own grid
+    int[] scores = new int[count];
+    IntStream.range(0, count).parallel().forEach(index -> {
+      MinMaxStrategy<C> worker = new MinMaxStrategy<>();
+      worker.greatestValue = startValues[index];
+      worker.selectedCell = startCells[index];
+      scores[index] = worker.evalOppsBestMove(this.simulateMove(model, playerIdx, moves[index]),
+              opponentIdx, model, guesses[index]);
+    });
+
+    // minimize the score of the opponent's best move, keeping ties in order
+    int width = model.getGridWidth();
+    for (int index = 0; index < count; index++) {
+      int opponentBestScore = scores[index];
+      int cell = Moves.cellOf(moves[index]);
+      Tuple<Coordinate, Integer> move = new Tuple<>(new Coordinate(cell / width, cell % width),
+              Moves.handIdxOf(moves[index]));
+      if (opponentBestScore < bestScore) {
+        bestScore = opponentBestScore;
+        bestMoves.clear();
+        bestMoves.add(move);
+      } else if (opponentBestScore == bestScore) {
+        bestMoves.add(move);
       }
     }
 
     return bestMoves;
   }
 
-  // first guess opponent strategy. Then simulate what opponent's best moves are
-  // depending on the strategy that could give them the highest score possible.
-  private int evalOppsBestMove(List<List<Cells>> grid,
-                               int opponentIdx, ReadOnlyThreeTrioGameModel<C> model) {
-    // Determine the opponent's strategy based on the current board state
-    String strategy = determineStrategy(grid, opponentIdx, model);
+  // a copy of the grid with the given move played on it by the given player
+  private List<List<Cells>> simulateMove(ReadOnlyThreeTrioGameModel<C> model, int playerIdx,
+                                         int move) {
+    int width = model.getGridWidth();
+    int cell = Moves.cellOf(move);
+    List<List<Cells>> copyGrid = model.getGrid();
+    copyGrid.get(cell / width).get(cell % width).changeColor(model.getPlayerColor(playerIdx));
+    copyGrid.get(cell / width).get(cell % width)
+            .putCard(model.getCardInHand(playerIdx, Moves.handIdxOf(move)));
+    return copyGrid;
+  }
 
+  // simulate what opponent's best moves are depending on the strategy guessed for them
+  // that could give them the highest score possible.
+  private int evalOppsBestMove(List<List<Cells>> grid, int opponentIdx,
+                               ReadOnlyThreeTrioGameModel<C> model, String strategy) {
     // Simulate the opponent's move based on the determined strategy
     switch (strategy) {
       case "CornerStrategy":
@@ -136,7 +172,7 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
           // iterate through opponent entire hand
           for (int cardIndex = 0; cardIndex < opponentHand.size(); cardIndex++) {
             int currentExposure = calculateExposure(model, row, col,
-                    model.getPlayerHand(opponentIdx).get(cardIndex), opponentIdx, model.getGrid());
+                    model.getCardInHand(opponentIdx, cardIndex), opponentIdx, model.getGrid());
 
             // check if there is a card that has a lower exposure than the card played
             if (currentExposure < originalExposure) {
@@ -155,21 +191,18 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
                                 Card card, int opponentIdx, List<List<Cells>> grid) {
     int exposure = 0;
     Cells currCell = grid.get(row).get(col);
-    for (Map.Entry<Cells, Direction> entry : currCell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
-      Direction direction = entry.getValue();
-      if (neighbor.isHole() || neighbor.hasCard()) {
+    Neighbors neighbors = currCell.neighbors();
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = neighbors.get(dir);
+      Direction direction = Direction.fromIndex(dir);
+      if (neighbor == null || neighbor.isHole() || neighbor.hasCard()) {
         continue;
       }
       else { // neighbor is card cell without card
         // so look at how many of opponent's card can flip this one
-        for (Card cards : model.getPlayerHand((opponentIdx + 1) % 2)) {
-          int compareResults = compareCardValues(card, cards, direction);
-          if (compareResults < 0) {
-            exposure++;
-          }
-        }
-
+        int otherIdx = (opponentIdx + 1) % 2;
+        exposure += model.countCardsAbove(otherIdx, direction.getOpposite(),
+                card.numAt(direction));
       }
     }
 
@@ -219,41 +252,36 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
                                      List<List<Cells>> grid) {
     int length = grid.size() - 1;
     int width = grid.get(0).size() - 1;
-    List<C> cards = model.getPlayerHand(opponentIdx);
-
-    placeTopLeft(model, grid, cards);
-    placeTopRight(model, grid, width, cards);
-    placeBotLeft(model, grid, length, cards);
-    placeBotRight(model, grid, length, width, cards);
+    this.placeCorners(model, opponentIdx, grid);
 
     // Check if there are valid corners where both exposed sides are not facing
     // empty card cells. If none, find the uppermost, leftmost open position
     if (selectedCell == null) {
       if (model.checkLegal(0, 0) && !grid.get(0).get(0).hasCard()) {
         grid.get(0).get(0).changeColor(model.getPlayerColor(opponentIdx));
-        grid.get(0).get(0).putCard(model.getPlayerHand(opponentIdx).get(0));
+        grid.get(0).get(0).putCard(model.getCardInHand(opponentIdx, 0));
         return flipCount(opponentIdx, 0, 0, model, grid);
       }
       if (model.checkLegal(0, width) && !grid.get(0).get(width).hasCard()) {
         grid.get(0).get(width).changeColor(model.getPlayerColor(opponentIdx));
-        grid.get(0).get(width).putCard(model.getPlayerHand(opponentIdx).get(0));
+        grid.get(0).get(width).putCard(model.getCardInHand(opponentIdx, 0));
         return flipCount(opponentIdx, 0, width, model, grid);
       }
       if (model.checkLegal(length, 0) && !grid.get(length).get(0).hasCard()) {
         grid.get(length).get(0).changeColor(model.getPlayerColor(opponentIdx));
-        grid.get(length).get(0).putCard(model.getPlayerHand(opponentIdx).get(0));
+        grid.get(length).get(0).putCard(model.getCardInHand(opponentIdx, 0));
         return flipCount(opponentIdx, length, 0, model, grid);
       }
       if (model.checkLegal(length, width) && !grid.get(length).get(width).hasCard()) {
         grid.get(length).get(width).changeColor(model.getPlayerColor(opponentIdx));
-        grid.get(length).get(width).putCard(model.getPlayerHand(opponentIdx).get(0));
+        grid.get(length).get(width).putCard(model.getCardInHand(opponentIdx, 0));
         return flipCount(opponentIdx, length, width, model, grid);
       }
       for (int row = 0; row < model.getGridLength(); row++) {
         for (int col = 0; col < model.getGridWidth(); col++) {
           if (model.checkLegal(row, col) && !grid.get(row).get(col).hasCard()) {
             grid.get(row).get(col).changeColor(model.getPlayerColor(opponentIdx));
-            grid.get(row).get(col).putCard(model.getPlayerHand(opponentIdx).get(0));
+            grid.get(row).get(col).putCard(model.getCardInHand(opponentIdx, 0));
             return flipCount(opponentIdx, row, col, model, grid);
           }
         }
@@ -262,6 +290,19 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
     return countCornerOrLastAvailable(model, opponentIdx, grid);
   }
 
+  // looks for the best open corner for the opponent, remembering it if it beats the best so far
+  private void placeCorners(ReadOnlyThreeTrioGameModel<C> model, int opponentIdx,
+                            List<List<Cells>> grid) {
+    int length = grid.size() - 1;
+    int width = grid.get(0).size() - 1;
+    List<C> cards = model.getPlayerHand(opponentIdx);
+
+    placeTopLeft(model, grid, cards);
+    placeTopRight(model, grid, width, cards);
+    placeBotLeft(model, grid, length, cards);
+    placeBotRight(model, grid, length, width, cards);
+  }
+
   private int countCornerOrLastAvailable(ReadOnlyThreeTrioGameModel<C> model, int opponentIdx,
                                          List<List<Cells>> grid) {
     boolean filled = true;
@@ -321,12 +362,13 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
 
   private int helpCountFlips(Cells cell, Colors color) {
     int flips = 0;
-    for (Map.Entry<Cells, Direction> entry : cell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
+    Neighbors neighbors = cell.neighbors();
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = neighbors.get(dir);
       // the direction of the neighbor in relation to this cell
-      Direction direction = entry.getValue();
+      Direction direction = Direction.fromIndex(dir);
 
-      if (neighbor.isHole() || !neighbor.hasCard()) {
+      if (neighbor == null || neighbor.isHole() || !neighbor.hasCard()) {
         continue;
       } else if (!neighbor.cellColor().equals(color)) {
         int compareResult = compareCardValuesCorner(cell, neighbor, direction);
@@ -352,31 +394,31 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
 
       if (corner.getX() == 0 && corner.getY() == 0) {
         if (model.checkLegal(corner.getX() + 1, corner.getY())) {
-          value = value + card.valueAt(Direction.SOUTH).toNum();
+          value = value + card.numAt(Direction.SOUTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() + 1)) {
-          value = value + card.valueAt(Direction.EAST).toNum();
+          value = value + card.numAt(Direction.EAST);
         }
       } else if (corner.getX() == 0 && corner.getY() == width) {
         if (model.checkLegal(corner.getX() + 1, corner.getY())) {
-          value = value + card.valueAt(Direction.SOUTH).toNum();
+          value = value + card.numAt(Direction.SOUTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() - 1)) {
-          value = value + card.valueAt(Direction.WEST).toNum();
+          value = value + card.numAt(Direction.WEST);
         }
       } else if (corner.getX() == length && corner.getY() == 0) {
         if (model.checkLegal(corner.getX() - 1, corner.getY())) {
-          value = value + card.valueAt(Direction.NORTH).toNum();
+          value = value + card.numAt(Direction.NORTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() + 1)) {
-          value = value + card.valueAt(Direction.EAST).toNum();
+          value = value + card.numAt(Direction.EAST);
         }
       } else if (corner.getX() == length && corner.getY() == width) {
         if (model.checkLegal(corner.getX() - 1, corner.getY())) {
-          value = value + card.valueAt(Direction.NORTH).toNum();
+          value = value + card.numAt(Direction.NORTH);
         }
         if (model.checkLegal(corner.getX(), corner.getY() - 1)) {
-          value = value + card.valueAt(Direction.WEST).toNum();
+          value = value + card.numAt(Direction.WEST);
         }
       }
 
@@ -399,7 +441,7 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
         if (model.checkLegal(row, col) && !grid.get(row).get(col).hasCard()) {
           for (int cardIdx = 0; cardIdx < cards.size(); cardIdx++) {
             grid.get(row).get(col).changeColor(model.getPlayerColor(opponentIdx));
-            grid.get(row).get(col).putCard(model.getPlayerHand(opponentIdx).get(cardIdx));
+            grid.get(row).get(col).putCard(model.getCardInHand(opponentIdx, cardIdx));
             int flipCount = flipCount(opponentIdx, row, col, model, grid);
             if (flipCount > mostFlipped) {
               mostFlipped = flipCount;
@@ -425,7 +467,7 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
         for (int col = 0; col < model.getGridWidth(); col++) {
           if (model.checkLegal(row, col) && !grid.get(row).get(col).hasCard()) {
             grid.get(row).get(col).changeColor(model.getPlayerColor(opponentIdx));
-            grid.get(row).get(col).putCard(model.getPlayerHand(opponentIdx).get(0));
+            grid.get(row).get(col).putCard(model.getCardInHand(opponentIdx, 0));
             return flipCount(opponentIdx, row, col, model, grid);
           }
         }
@@ -434,33 +476,12 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
     return mostFlipped;
   }
 
-  private void printGrid(List<List<Cells>> grid) {
-    for (int r = 0; r < grid.size(); r += 1) {
-      for (int c = 0; c < grid.get(r).size(); c += 1) {
-        Colors color = grid.get(r).get(c).cellColor();
-        if (grid.get(r).get(c).isHole()) {
-          System.out.print("H");
-        }
-        else if (color == null) {
-          System.out.print("N");
-        }
-        else {
-          System.out.print(color);
-        }
-        System.out.print(" | ");
-      }
-      System.out.println();
-    }
-  }
-
   private int simulateLeastExposedStrategy(ReadOnlyThreeTrioGameModel<C> model, int opponentIdx,
                                            List<List<Cells>> grid) {
-    System.out.println("Using least exposed");
     int sidesExposed = Integer.MAX_VALUE;
     Coordinate bestCoordinate = new Coordinate(-1, -1);
 
     List<C> opponentHand = model.getPlayerHand(opponentIdx);
-    this.printGrid(grid);
 
     for (int row = 0; row < grid.size(); row++) {
       for (int col = 0; col < grid.get(row).size(); col++) {
@@ -492,10 +513,12 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
                             Card curCard) {
     int exposure = 0;
 
-    for (Map.Entry<Cells, Direction> entry : currCell.getNeighbors().entrySet()) {
-      Cells neighbor = entry.getKey();
-      Direction direction = entry.getValue();
-      if (neighbor.isHole() || neighbor.cellColor() == model.getPlayerColor(playerIdx)) {
+    Neighbors neighbors = currCell.neighbors();
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Cells neighbor = neighbors.get(dir);
+      Direction direction = Direction.fromIndex(dir);
+      if (neighbor == null || neighbor.isHole()
+              || neighbor.cellColor() == model.getPlayerColor(playerIdx)) {
         continue;
       } else if (neighbor.hasCard() && neighbor.cellColor() != model.getPlayerColor(playerIdx)) {
         int compareResult = compareCardValues(curCard, neighbor.getCard(), direction);
@@ -504,13 +527,9 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
         }
       } else { // neighbor is card cell without card
         // so look at how many of opponent's card can flip this one
-        for (Card card : model.getPlayerHand((playerIdx + 1) % 2)) {
-          int compareResults = compareCardValues(curCard, card, direction);
-          if (compareResults < 0) {
-            exposure++;
-          }
-        }
-
+        int otherIdx = (playerIdx + 1) % 2;
+        exposure += model.countCardsAbove(otherIdx, direction.getOpposite(),
+                curCard.numAt(direction));
       }
     }
 
@@ -550,18 +569,13 @@ public class MinMaxStrategy<C extends Card> implements InfailableThreeTrioStrate
 
   private int simulateMinimaxStrategy(ReadOnlyThreeTrioGameModel<C> model, int opponentIdx,
                                       List<List<Cells>> grid) {
-    System.out.println("Using minimax");
-    this.printGrid(grid);
     int maxScore = Integer.MIN_VALUE; // opponent wants to maximize their score
     List<C> opponentHand = model.getPlayerHand(opponentIdx);
-    System.out.println("Starting now!");
     for (int row = 0; row < model.getGridLength(); row++) {
       for (int col = 0; col < model.getGridWidth(); col++) {
         if (model.checkLegal(row, col) && !grid.get(row).get(col).hasCard()) {
           for (int cardIdx = 0; cardIdx < opponentHand.size(); cardIdx++) {
             List<List<Cells>> copyOfCopy = new ArrayList<>(grid);
-            this.printGrid(copyOfCopy);
-            System.out.println("----------------");
             // Simulate the move
             Cells cell = copyOfCopy.get(row).get(col);
             Card card = opponentHand.get(cardIdx);
@@ -0,0 +1,288 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import model.Card;
+import model.Moves;
+import model.ReadOnlyThreeTrioGameModel;
+import model.packed.PackedThreeTrioModel;
+import model.ruled.RuleEngine;
+
+/**
+ * A strategy that plays out many games from the current position and picks the move that did
+ * best, growing a tree of the moves tried as it goes: a Monte Carlo tree search choosing which
+ * moves to try next by their upper confidence bounds (UCT).
+ * Every playout walks down the tree to a position not in it yet, adds the moves of that
+ * position once it has been reached twice, and then plays the game to its end with a cheap
+ * rollout policy. The move returned is the one played out most often.
+ * Several threads can grow the same tree at once. A playout counts as a loss for its moves
+ * until it ends, so threads spread out over different moves instead of all trying the same.
+ * The search stops when it has run out of time or of playouts, whichever comes first.
+ * Playouts run on PackedThreeTrioModels, without any view, and skip repeated cards in a hand
+ * like AlphaBetaStrategy.isRepeated.
+ * @param <C> The type of cards used to play a game of Three Trio, which must be PlayableCards.
+ */
+public class MonteCarloStrategy<C extends Card> implements InfailableThreeTrioStrategy<C> {
+  /**
+   * How a playout picks its moves once it has left the tree.
+   */
+  public enum Rollout {
+    /**
+     * Plays a random card on a random open cell.
+     */
+    RANDOM,
+    /**
+     * Plays the move flipping the most cards right away, picking among equals at random.
+     */
+    GREEDY
+  }
+
+  private static final double EXPLORATION = Math.sqrt(2);
+  private static final int DEFAULT_CAPACITY = 1 << 18;
+
+  private final RuleEngine engine;
+  private final long budgetNanos;
+  private final int maxIterations;
+  private final int threads;
+  private final Rollout rollout;
+  private final SplittableRandom random;
+  private final MonteCarloTree tree;
+  private int iterations; // of the latest search
+
+  /**
+   * Constructor for a strategy that plays out games with the greedy rollout on every
+   * available processor until the given budget runs out.
+   * @param engine the rules the game is played with.
+   * @param budgetMillis the time each move may take, in milliseconds.
+   * @throws IllegalArgumentException if the engine is null or the budget is not positive.
+   */
+  public MonteCarloStrategy(RuleEngine engine, long budgetMillis) {
+    this(engine, budgetMillis, Integer.MAX_VALUE, Runtime.getRuntime().availableProcessors(),
+            DEFAULT_CAPACITY, Rollout.GREEDY, System.nanoTime());
+  }
+
+  /**
+   * Constructor for a strategy with every setting given. A strategy searching on one thread
+   * with a budget it never reaches picks the same moves every time for the same seed.
+   * @param engine the rules the game is played with.
+   * @param budgetMillis the time each move may take, in milliseconds.
+   * @param maxIterations the most games played out for each move.
+   * @param threads the number of threads playing out games at once.
+   * @param capacity the most nodes the tree can hold. Once it is full, playouts go on from
+   *                 the positions already in it.
+   * @param rollout how playouts pick their moves outside the tree.
+   * @param seed the seed of every random choice of the strategy.
+   * @throws IllegalArgumentException if the engine or rollout is null, or the budget,
+   *                                  iterations, threads or capacity are not positive.
+   */
+  public MonteCarloStrategy(RuleEngine engine, long budgetMillis, int maxIterations,
+                            int threads, int capacity, Rollout rollout, long seed) {
+    if (engine == null || rollout == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (budgetMillis <= 0 || maxIterations <= 0 || threads <= 0 || capacity <= 0) {
+      throw new IllegalArgumentException("Budget, iterations, threads and capacity must be "
+              + "positive.");
+    }
+    this.engine = engine;
+    this.budgetNanos = budgetMillis * 1_000_000L;
+    this.maxIterations = maxIterations;
+    this.threads = threads;
+    this.rollout = rollout;
+    this.random = new SplittableRandom(seed);
+    this.tree = new MonteCarloTree(capacity);
+  }
+
+  /**
+   * Selects the moves played out most often from the given model.
+   * @param model the model to be played on.
+   * @param playerIdx the player this strategy is for, whose turn it must be.
+   * @return the moves played out most often, uppermost-leftmost first then by card index, or
+   *         an empty list if the game is over.
+   * @throws IllegalArgumentException if it is not the given player's turn.
+   * @throws IllegalStateException if the tree cannot even hold the moves of the model.
+   */
+  @Override
+  public List<Tuple<Coordinate, Integer>> selectTile(ReadOnlyThreeTrioGameModel<C> model,
+                                                     int playerIdx) {
+    PackedThreeTrioModel root = new PackedThreeTrioModel(this.engine);
+    root.startFrom(model);
+    List<Tuple<Coordinate, Integer>> output = new ArrayList<>();
+    this.iterations = 0;
+    if (root.isGameOver()) {
+      return output;
+    }
+    if (root.getTurn() != playerIdx) {
+      throw new IllegalArgumentException("It is not this player's turn.");
+    }
+
+    this.tree.reset();
+    int[] moves = new int[root.getEmptyCellCount() * root.getHandSize(playerIdx)];
+    if (!this.tree.expand(0, moves, this.listMoves(root, moves))) {
+      throw new IllegalStateException("The tree cannot hold the moves of this position.");
+    }
+    long deadline = System.nanoTime() + this.budgetNanos;
+    AtomicInteger started = new AtomicInteger();
+    if (this.threads == 1) {
+      this.search(root, this.random.split(), deadline, started);
+    } else {
+      this.searchInParallel(root, deadline, started);
+    }
+    this.iterations = Math.min(started.get(), this.maxIterations);
+
+    int mostVisits = -1;
+    int first = this.tree.firstChild(0);
+    int width = root.getGridWidth();
+    for (int child = first; child < first + this.tree.childCount(0); child++) {
+      int visits = this.tree.visits(child);
+      if (visits > mostVisits) {
+        mostVisits = visits;
+        output.clear();
+      }
+      if (visits == mostVisits) {
+        int cell = Moves.cellOf(this.tree.move(child));
+        output.add(new Tuple<>(new Coordinate(cell / width, cell % width),
+                Moves.handIdxOf(this.tree.move(child))));
+      }
+    }
+    return output;
+  }
+
+  /**
+   * Returns how many games the latest call to selectTile played out.
+   * @return the number of playouts, 0 if the game was over.
+   */
+  public int getIterations() {
+    return this.iterations;
+  }
+
+  /**
+   * Returns how many nodes the tree of the latest call to selectTile grew to.
+   * @return the number of nodes, the root included.
+   */
+  public int getNodeCount() {
+    return this.tree.size();
+  }
+
+  // Grows the tree on every thread, each with its own copy of the position and random numbers.
+  private void searchInParallel(PackedThreeTrioModel root, long deadline,
+                                AtomicInteger started) {
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    Thread[] workers = new Thread[this.threads];
+    for (int worker = 0; worker < workers.length; worker++) {
+      SplittableRandom random = this.random.split();
+      workers[worker] = new Thread(() -> {
+        try {
+          this.search(root, random, deadline, started);
+        } catch (RuntimeException e) {
+          failure.compareAndSet(null, e);
+        }
+      });
+      workers[worker].start();
+    }
+    try {
+      for (Thread worker : workers) {
+        worker.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while searching.", e);
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  // Plays out games from the root until the time or playouts run out.
+  private void search(PackedThreeTrioModel root, SplittableRandom random, long deadline,
+                      AtomicInteger started) {
+    PackedThreeTrioModel position = root.copy();
+    int maxMoves = root.getEmptyCellCount()
+            * Math.max(root.getHandSize(0), root.getHandSize(1));
+    int[] moves = new int[maxMoves];
+    int[] path = new int[root.getEmptyCellCount() + 1];
+    int[] movers = new int[path.length]; // the player who played the move of each node
+    while (System.nanoTime() - deadline < 0
+            && started.getAndIncrement() < this.maxIterations) {
+      position.copyFrom(root);
+      this.tree.visit(0);
+      int length = 1;
+      int node = 0;
+      while (true) {
+        if (this.tree.isExpanded(node)) {
+          node = this.tree.select(node, EXPLORATION);
+          movers[length] = position.getTurn();
+          path[length++] = node;
+          this.play(position, this.tree.move(node));
+        } else if (position.isGameOver()) {
+          this.tree.markTerminal(node);
+          break;
+        } else if (this.tree.visits(node) < 2) {
+          break;
+        } else if (!this.tree.expand(node, moves, this.listMoves(position, moves))) {
+          break;
+        }
+      }
+
+      while (!position.isGameOver()) {
+        int count = this.rollout == Rollout.GREEDY
+                ? this.listGreedyMoves(position, moves) : this.listMoves(position, moves);
+        this.play(position, moves[random.nextInt(count)]);
+      }
+      int winner = position.didPlayerOneWin() ? 0 : position.didPlayerTwoWin() ? 1 : -1;
+      for (int step = 1; step < length; step++) {
+        this.tree.reward(path[step], winner == -1 ? 1 : winner == movers[step] ? 2 : 0);
+      }
+    }
+  }
+
+  private void play(PackedThreeTrioModel position, int move) {
+    int cell = Moves.cellOf(move);
+    int width = position.getGridWidth();
+    position.playCard(Moves.handIdxOf(move), cell / width, cell % width);
+    position.battle();
+  }
+
+  // Lists every move of the player to move, each distinct card once, and returns how many.
+  private int listMoves(PackedThreeTrioModel position, int[] moves) {
+    int player = position.getTurn();
+    int handSize = position.getHandSize(player);
+    int count = 0;
+    for (int cell = position.nextEmptyCell(0); cell >= 0;
+         cell = position.nextEmptyCell(cell + 1)) {
+      for (int handIdx = 0; handIdx < handSize; handIdx++) {
+        if (!AlphaBetaStrategy.isRepeated(position, player, handIdx)) {
+          moves[count++] = Moves.encode(cell, handIdx);
+        }
+      }
+    }
+    return count;
+  }
+
+  // Lists the moves of the player to move that flip the most cards, and returns how many.
+  private int listGreedyMoves(PackedThreeTrioModel position, int[] moves) {
+    int player = position.getTurn();
+    int handSize = position.getHandSize(player);
+    int width = position.getGridWidth();
+    int most = -1;
+    int count = 0;
+    for (int cell = position.nextEmptyCell(0); cell >= 0;
+         cell = position.nextEmptyCell(cell + 1)) {
+      for (int handIdx = 0; handIdx < handSize; handIdx++) {
+        int flips = position.getFlipCount(player, handIdx, cell / width, cell % width);
+        if (flips > most) {
+          most = flips;
+          count = 0;
+        }
+        if (flips == most) {
+          moves[count++] = Moves.encode(cell, handIdx);
+        }
+      }
+    }
+    return count;
+  }
+}
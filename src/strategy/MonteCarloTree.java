@@ -0,0 +1,156 @@
+package strategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The search tree of a MonteCarloStrategy, shared by every thread searching it. Nodes are
+ * indices into parallel primitive arrays allocated once, so a tree of millions of nodes is a
+ * handful of arrays rather than millions of objects, and searching it allocates nothing.
+ * Node 0 is the root. The children of a node are the moves that can be played from its
+ * position, stored next to each other, and a node's move is the move leading to it.
+ * Each node counts its visits and the rewards of the playouts through it, in half points
+ * (2 for a win, 1 for a tie) for the player who played its move. Visits are counted on the
+ * way down and rewards on the way back up, so a playout still running counts as a loss for
+ * its moves: this virtual loss steers other threads toward other moves in the meantime.
+ */
+final class MonteCarloTree {
+  private static final int LEAF = 0;
+  private static final int EXPANDING = 1;
+  private static final int EXPANDED = 2;
+  private static final int TERMINAL = 3; // a finished game, or a node that did not fit
+
+  private final int[] moves;
+  private final int[] firstChild;
+  private final int[] childCount;
+  private final AtomicIntegerArray states;
+  private final AtomicIntegerArray visits;
+  private final AtomicLongArray rewards;
+  private final AtomicInteger size;
+
+  /**
+   * Constructor for a tree that can hold up to the given number of nodes.
+   * @param capacity the most nodes the tree can hold, at least 1.
+   */
+  MonteCarloTree(int capacity) {
+    this.moves = new int[capacity];
+    this.firstChild = new int[capacity];
+    this.childCount = new int[capacity];
+    this.states = new AtomicIntegerArray(capacity);
+    this.visits = new AtomicIntegerArray(capacity);
+    this.rewards = new AtomicLongArray(capacity);
+    this.size = new AtomicInteger();
+  }
+
+  /**
+   * Empties the tree down to a root that has not been expanded. Must not be called while the
+   * tree is searched.
+   */
+  void reset() {
+    int used = Math.min(this.size.get(), this.moves.length);
+    for (int node = 0; node < Math.max(used, 1); node++) {
+      this.states.set(node, LEAF);
+      this.visits.set(node, 0);
+      this.rewards.set(node, 0);
+    }
+    this.size.set(1);
+  }
+
+  int size() {
+    return Math.min(this.size.get(), this.moves.length);
+  }
+
+  /**
+   * Gives the node the given moves as children, unless another thread is expanding it or has
+   * done so. A node whose children do not fit in the tree is marked terminal instead.
+   * @return true iff this thread expanded the node.
+   */
+  boolean expand(int node, int[] childMoves, int count) {
+    if (!this.states.compareAndSet(node, LEAF, EXPANDING)) {
+      return false;
+    }
+    int first = this.size.getAndAdd(count);
+    if (count == 0 || first + count > this.moves.length) {
+      this.states.set(node, TERMINAL);
+      return false;
+    }
+    System.arraycopy(childMoves, 0, this.moves, first, count);
+    this.firstChild[node] = first;
+    this.childCount[node] = count;
+    this.states.set(node, EXPANDED); // publishes the children written above
+    return true;
+  }
+
+  /**
+   * Marks the node as a finished game, which is never expanded.
+   */
+  void markTerminal(int node) {
+    this.states.compareAndSet(node, LEAF, TERMINAL);
+  }
+
+  boolean isExpanded(int node) {
+    return this.states.get(node) == EXPANDED;
+  }
+
+  int firstChild(int node) {
+    return this.firstChild[node];
+  }
+
+  int childCount(int node) {
+    return this.childCount[node];
+  }
+
+  int move(int node) {
+    return this.moves[node];
+  }
+
+  int visits(int node) {
+    return this.visits.get(node);
+  }
+
+  /**
+   * Counts a visit to the node, before its playout is over. Children count theirs in select.
+   */
+  void visit(int node) {
+    this.visits.incrementAndGet(node);
+  }
+
+  /**
+   * Adds the reward of a finished playout through the node, in half points.
+   */
+  void reward(int node, int halfPoints) {
+    this.rewards.addAndGet(node, halfPoints);
+  }
+
+  /**
+   * Selects the child of an expanded node with the best upper confidence bound (UCT) and counts
+   * a visit to it. Children never visited come first, in order, so every move is tried once
+   * before any is tried again, even by threads selecting at the same time.
+   * @param node an expanded node.
+   * @param exploration the weight of the exploration term.
+   * @return the selected child.
+   */
+  int select(int node, double exploration) {
+    int first = this.firstChild[node];
+    int count = this.childCount[node];
+    double logParent = Math.log(Math.max(this.visits.get(node), 1));
+    int best = first;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (int child = first; child < first + count; child++) {
+      int childVisits = this.visits.get(child);
+      if (childVisits == 0 && this.visits.compareAndSet(child, 0, 1)) {
+        return child;
+      }
+      childVisits = Math.max(childVisits, 1);
+      double value = this.rewards.get(child) / (2.0 * childVisits)
+              + exploration * Math.sqrt(logParent / childVisits);
+      if (value > bestValue) {
+        bestValue = value;
+        best = child;
+      }
+    }
+    this.visits.incrementAndGet(best);
+    return best;
+  }
+}
@@ -0,0 +1,192 @@
+package strategy;
+
+import java.util.Arrays;
+
+import model.packed.PackedThreeTrioModel;
+
+/**
+ * A fixed-size table of the scores of positions already searched, keyed by a 64-bit hash of
+ * each position, so a search reaching a position again through a different order of moves can
+ * reuse what it found the first time. Every entry keeps the depth the position was searched
+ * to, whether its score is exact or only a bound, the score and the best move found there.
+ * Entries are kept in parallel primitive arrays, two per bucket: the first slot of a bucket
+ * keeps the deepest search stored there, the second always takes the latest one, so deep
+ * results survive and recent ones are still found. Nothing is allocated after construction.
+ * Position hashes cover the cards, owners, hands and turn but not the board or the rules, so
+ * positions are kept under keyOf, which mixes in the key of their board. A table can then be
+ * kept across turns, games and boards, but only with the same rules. Tables are not
+ * thread-safe; searches running at the same time need their own tables.
+ */
+public final class TranspositionTable {
+  /**
+   * The bound of an entry whose score is the exact score of its position.
+   */
+  public static final int EXACT = 1;
+
+  /**
+   * The bound of an entry whose search was cut off high, so its score is a lower bound.
+   */
+  public static final int LOWER = 2;
+
+  /**
+   * The bound of an entry none of whose moves reached alpha, so its score is an upper bound.
+   */
+  public static final int UPPER = 3;
+
+  /**
+   * What probe returns when the position is not in the table.
+   */
+  public static final int NOT_FOUND = -1;
+
+  private static final byte EMPTY = 0;
+
+  private final int bucketMask;
+  private final long[] keys;
+  private final short[] depths;
+  private final byte[] bounds; // EMPTY for an unused slot
+  private final int[] scores;
+  private final int[] moves;
+
+  /**
+   * Constructor for an empty table with room for at least the given number of entries. The
+   * number of entries is rounded up to a power of two.
+   * @param capacity the number of entries the table can hold, at least 2.
+   * @throws IllegalArgumentException if the capacity is below 2 or above 2^30.
+   */
+  public TranspositionTable(int capacity) {
+    if (capacity < 2 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 2 and 2^30.");
+    }
+    int entries = Integer.highestOneBit(capacity - 1) << 1;
+    this.bucketMask = entries / 2 - 1;
+    this.keys = new long[entries];
+    this.depths = new short[entries];
+    this.bounds = new byte[entries];
+    this.scores = new int[entries];
+    this.moves = new int[entries];
+  }
+
+  /**
+   * Returns the key the given position is kept under: its position hash mixed with the key of
+   * its board, so the same cards on boards of different shapes never share an entry.
+   * @param position the position to key.
+   * @return the key of the position.
+   */
+  public static long keyOf(PackedThreeTrioModel position) {
+    return position.getPositionHash() ^ position.getBoardKey();
+  }
+
+  /**
+   * Returns the number of entries the table can hold.
+   * @return the capacity of the table, a power of two.
+   */
+  public int getCapacity() {
+    return this.keys.length;
+  }
+
+  // the first slot of the bucket of the given key
+  private int bucketOf(long key) {
+    return ((int) (key ^ (key >>> 32)) & this.bucketMask) << 1;
+  }
+
+  /**
+   * Looks for the entry of the position with the given key.
+   * @param key the key of the position, see keyOf.
+   * @return the slot of its entry, to be read with the getters, or NOT_FOUND.
+   */
+  public int probe(long key) {
+    int slot = this.bucketOf(key);
+    if (this.bounds[slot] != EMPTY && this.keys[slot] == key) {
+      return slot;
+    }
+    if (this.bounds[slot + 1] != EMPTY && this.keys[slot + 1] == key) {
+      return slot + 1;
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Stores what a search found for the position with the given key. The result replaces the
+   * first slot of its bucket if that slot holds the same position, or a search no deeper than
+   * this one, which then moves to the second slot; otherwise it replaces the second slot.
+   * @param key the key of the position, see keyOf.
+   * @param depth how many moves ahead the position was searched, from 0 to 32767.
+   * @param bound EXACT, LOWER or UPPER.
+   * @param score the score found.
+   * @param move the best move found, in whatever encoding the search uses.
+   * @throws IllegalArgumentException if the depth or bound is invalid.
+   */
+  public void store(long key, int depth, int bound, int score, int move) {
+    if (depth < 0 || depth > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid depth given.");
+    }
+    if (bound != EXACT && bound != LOWER && bound != UPPER) {
+      throw new IllegalArgumentException("Invalid bound given.");
+    }
+    int first = this.bucketOf(key);
+    int slot = first + 1;
+    if (this.bounds[first] == EMPTY || this.keys[first] == key) {
+      slot = first;
+    } else if (depth >= this.depths[first]) {
+      // also drops any older result for the same position kept in the second slot
+      this.copySlot(first, first + 1);
+      slot = first;
+    }
+    this.keys[slot] = key;
+    this.depths[slot] = (short) depth;
+    this.bounds[slot] = (byte) bound;
+    this.scores[slot] = score;
+    this.moves[slot] = move;
+  }
+
+  private void copySlot(int from, int to) {
+    this.keys[to] = this.keys[from];
+    this.depths[to] = this.depths[from];
+    this.bounds[to] = this.bounds[from];
+    this.scores[to] = this.scores[from];
+    this.moves[to] = this.moves[from];
+  }
+
+  /**
+   * Returns how many moves ahead the position of the given slot was searched.
+   * @param slot a slot returned by probe.
+   * @return the depth of the entry.
+   */
+  public int getDepth(int slot) {
+    return this.depths[slot];
+  }
+
+  /**
+   * Returns whether the score of the given slot is exact or a bound.
+   * @param slot a slot returned by probe.
+   * @return EXACT, LOWER or UPPER.
+   */
+  public int getBound(int slot) {
+    return this.bounds[slot];
+  }
+
+  /**
+   * Returns the score stored in the given slot.
+   * @param slot a slot returned by probe.
+   * @return the score of the entry.
+   */
+  public int getScore(int slot) {
+    return this.scores[slot];
+  }
+
+  /**
+   * Returns the best move stored in the given slot.
+   * @param slot a slot returned by probe.
+   * @return the move of the entry.
+   */
+  public int getMove(int slot) {
+    return this.moves[slot];
+  }
+
+  /**
+   * Empties the table, such as before it is used on a different board or with other rules.
+   */
+  public void clear() {
+    Arrays.fill(this.bounds, EMPTY);
+  }
+}
@@ -1,6 +1,6 @@
 package view;
 
-import model.Cells;
+import model.BoardSnapshot;
 import model.Colors;
 import model.ReadOnlyThreeTrioGameModel;
 import model.Card;
@@ -45,12 +45,11 @@ public class GameGridPanel extends JPanel implements GridPanel {
     int cols = this.model.getGridWidth();
     this.setLayout(new GridLayout(rows, cols));
 
-    List<List<Cells>> gameGrid = this.model.getGrid();
+    BoardSnapshot gameGrid = this.model.getSnapshot();
     for (int row = 0; row < this.model.getGridLength(); row += 1) {
       for (int col = 0; col < this.model.getGridWidth(); col += 1) {
         JButton gridCell = new JButton();
-        Cells currentCell = gameGrid.get(row).get(col);
-        if (currentCell.isHole()) {
+        if (gameGrid.isHole(row, col)) {
           gridCell.setBackground(Color.GRAY);
         } else {
           gridCell.setBackground(Color.YELLOW);
@@ -78,9 +77,11 @@ public class GameGridPanel extends JPanel implements GridPanel {
     }
 
     Map<JButton, Coordinate> newCopy = new HashMap<>();
+    // Every cell is drawn from the same snapshot, so the grid shows a single point of the game.
+    BoardSnapshot board = this.model.getSnapshot();
     // Only need to update non-hole cells.
     for (JButton cells : this.playableCells.keySet()) {
-      JButton newButton = this.updateCell(cells);
+      JButton newButton = this.updateCell(cells, board);
       Coordinate atButton = this.playableCells.get(cells);
       newCopy.put(newButton, atButton);
     }
@@ -95,14 +96,13 @@ public class GameGridPanel extends JPanel implements GridPanel {
     super.setVisible(true);
   }
 
-  private JButton updateCell(JButton cell) {
+  private JButton updateCell(JButton cell, BoardSnapshot board) {
     Coordinate cellXY = this.playableCells.get(cell);
-    Optional<Card> cardOptional = this.model.getContentAtCell(cellXY.getX(),
-            cellXY.getY());
+    Optional<Card> cardOptional = board.getContent(cellXY.getX(), cellXY.getY());
 
     if (cardOptional.isPresent()) {
       Card card = cardOptional.get();
-      Colors color = this.model.getCardOwner(cellXY.getX(), cellXY.getY());
+      Colors color = board.getOwner(cellXY.getX(), cellXY.getY());
       int cellX = cellXY.getX();
       int cellY = cellXY.getY();
 
@@ -4,11 +4,11 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import model.BoardSnapshot;
 import model.Card;
 import model.Colors;
 import model.Direction;
 import model.ThreeTrioGameModel;
-import model.Cells;
 import strategy.Coordinate;
 
 /**
@@ -53,15 +53,15 @@ public class ThreeTrioGameTextView implements ThreeTrioGameView {
     buildState.append("Player: ").append(turn.toStringForName()).append("\n");
 
     // display grid
-    List<List<Cells>> grid = this.model.getGrid();
-    for (List<Cells> row : grid) {
-      for (Cells cell : row) {
-        if (cell.isHole()) {
+    BoardSnapshot grid = this.model.getSnapshot();
+    for (int row = 0; row < grid.getRows(); row++) {
+      for (int col = 0; col < grid.getCols(); col++) {
+        if (grid.isHole(row, col)) {
           buildState.append("_");
-        } else if (cell.getCard() == null) {
+        } else if (!grid.getContent(row, col).isPresent()) {
           buildState.append(" ");
         } else {
-          buildState.append(cell.cellColor().toString());
+          buildState.append(grid.getOwner(row, col).toString());
         }
       }
       buildState.append("\n");
@@ -5,9 +5,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import model.BoardRegions;
+import model.BoardSnapshot;
 import model.Card;
 import model.Cells;
 import model.Colors;
+import model.Direction;
 import model.ModelFeatures;
 
 /**
@@ -134,6 +137,11 @@ class MockThreeTrioModel<C extends Card> implements ModelFeatures<C> {
     return 0;
   }
 
+  @Override
+  public int[][] getFlipCounts(int playerIdx, boolean parallel) {
+    return new int[0][0];
+  }
+
   @Override
   public boolean checkLegal(int row, int col) {
     return true;
@@ -154,6 +162,41 @@ class MockThreeTrioModel<C extends Card> implements ModelFeatures<C> {
     return List.of();
   }
 
+  @Override
+  public int getHandSize(int playerIdx) {
+    return 0;
+  }
+
+  @Override
+  public C getCardInHand(int playerIdx, int handIdx) {
+    return null;
+  }
+
+  @Override
+  public int countCardsAbove(int playerIdx, Direction side, int value) {
+    return 0;
+  }
+
+  @Override
+  public BoardRegions getRegions() {
+    return null;
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    return 0;
+  }
+
+  @Override
+  public int nextEmptyCell(int from) {
+    return -1;
+  }
+
+  @Override
+  public int getLegalMoves(int playerIdx, int[] moves) {
+    return 0;
+  }
+
   @Override
   public Optional<Card> getContentAtCell(int row, int col) {
     return Optional.empty();
@@ -178,4 +221,19 @@ class MockThreeTrioModel<C extends Card> implements ModelFeatures<C> {
   public int lastPlayedCol() {
     return 0;
   }
+
+  @Override
+  public List<Integer> getLastFlips() {
+    return List.of();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return 0;
+  }
+
+  @Override
+  public BoardSnapshot getSnapshot() {
+    return null;
+  }
 }
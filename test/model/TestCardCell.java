@@ -182,6 +182,25 @@ public class TestCardCell {
     Assert.assertEquals(expected, center.getNeighbors());
   }
 
+  /**
+   * Tests neighbors(), which indexes the neighbors of this cell by direction.
+   * Also test that it reflects neighbors added later on.
+   */
+  @Test
+  public void testNeighbors() {
+    Neighbors neighbors = this.center.neighbors();
+    Assert.assertSame(this.north, neighbors.get(Direction.NORTH));
+    Assert.assertSame(this.south, neighbors.get(Direction.SOUTH.ordinal()));
+    Assert.assertSame(this.east, neighbors.get(Direction.EAST));
+    Assert.assertSame(this.west, neighbors.get(Direction.WEST));
+
+    Assert.assertNull(this.emptyCardCell.neighbors().get(Direction.NORTH));
+    this.emptyCardCell.addNeighbor(this.north, Direction.NORTH);
+    Assert.assertSame(this.north, this.emptyCardCell.neighbors().get(Direction.NORTH));
+    Assert.assertNull(this.north.neighbors().get(Direction.NORTH));
+    Assert.assertSame(this.center, this.north.neighbors().get(Direction.SOUTH));
+  }
+
   /**
    * Test that the method cellColor() gets the Color of the cell calling it.
    * Also test that changeColor changes the color of the cell calling it to whatever
@@ -0,0 +1,169 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import old.controller.ThreeTrioController;
+import old.controller.ThreeTrioGameController;
+
+/**
+ * Test class to test the public methods of the ConcurrentThreeTrioModel class.
+ */
+public class TestConcurrentThreeTrioModel {
+  // Starts the given model using a predefined board and card set.
+  private ThreeTrioGameModel<PlayableCard> start(ThreeTrioGameModel<PlayableCard> model,
+                                                 String boardName, String cardName) {
+    ThreeTrioGameController<PlayableCard> controller = new ThreeTrioController();
+    controller.startGame(model, boardName, cardName);
+    return model;
+  }
+
+  // Plays the first legal move of the current player and battles.
+  private void playFirstMove(ThreeTrioGameModel<PlayableCard> model) {
+    int cell = model.nextEmptyCell(0);
+    model.playCard(0, cell / model.getGridWidth(), cell % model.getGridWidth());
+    model.battle();
+  }
+
+  // Counts the cards on the given snapshot.
+  private int countCards(BoardSnapshot snapshot, int rows, int cols) {
+    int cards = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        if (snapshot.getContent(row, col).isPresent()) {
+          cards++;
+        }
+      }
+    }
+    return cards;
+  }
+
+  // tests the model plays and reads exactly like the model it guards
+  @Test
+  public void testPlaysLikeGuardedModel() {
+    ThreeTrioGameModel<PlayableCard> plain =
+            this.start(new ThreeTrioModel(), "3X3Grid", "EnoughForAnyBoards");
+    ThreeTrioGameModel<PlayableCard> guarded = this.start(
+            new ConcurrentThreeTrioModel<>(new ThreeTrioModel()), "3X3Grid", "EnoughForAnyBoards");
+    while (!plain.isGameOver()) {
+      Assert.assertEquals(plain.getTurn(), guarded.getTurn());
+      Assert.assertEquals(plain.getScore(0), guarded.getScore(0));
+      Assert.assertEquals(plain.getScore(1), guarded.getScore(1));
+      Assert.assertEquals(plain.getEmptyCellCount(), guarded.getEmptyCellCount());
+      Assert.assertEquals(plain.getPositionHash(), guarded.getPositionHash());
+      Assert.assertArrayEquals(plain.getFlipCounts(plain.getTurn(), false),
+              guarded.getFlipCounts(guarded.getTurn(), false));
+      this.playFirstMove(plain);
+      this.playFirstMove(guarded);
+      Assert.assertEquals(plain.getLastFlips(), guarded.getLastFlips());
+      Assert.assertEquals(this.countCards(plain.getSnapshot(), 3, 3),
+              this.countCards(guarded.getSnapshot(), 3, 3));
+    }
+    Assert.assertTrue(guarded.isGameOver());
+    Assert.assertEquals(plain.didPlayerOneWin(), guarded.didPlayerOneWin());
+    Assert.assertEquals(plain.didPlayerTwoWin(), guarded.didPlayerTwoWin());
+  }
+
+  // tests bad inputs still throw the guarded model's exceptions
+  @Test
+  public void testBadInputs() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new ConcurrentThreeTrioModel<PlayableCard>(null));
+    ThreeTrioGameModel<PlayableCard> notStarted =
+            new ConcurrentThreeTrioModel<>(new ThreeTrioModel());
+    Assert.assertThrows(IllegalStateException.class, notStarted::getSnapshot);
+    Assert.assertThrows(IllegalStateException.class, notStarted::battle);
+
+    ThreeTrioGameModel<PlayableCard> model = this.start(
+            new ConcurrentThreeTrioModel<>(new ThreeTrioModel()), "3X3Grid", "EnoughForAnyBoards");
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.getScore(2));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.playCard(0, 3, 3));
+    Assert.assertThrows(IllegalStateException.class, model::battle);
+  }
+
+  // Describes the scores and the owner of every cell of the given model.
+  private String describe(ThreeTrioGameModel<PlayableCard> model) {
+    StringBuilder text = new StringBuilder();
+    text.append(model.getScore(0)).append(' ').append(model.getScore(1));
+    for (List<Cells> row : model.getGrid()) {
+      for (Cells cell : row) {
+        text.append(' ').append(cell.hasCard() ? cell.cellColor() : "-");
+      }
+    }
+    return text.toString();
+  }
+
+  // tests observers reading while a game is played only ever see positions after a battle,
+  // never a card placed before its flips
+  @Test
+  public void testReadersDuringMoves() throws InterruptedException {
+    // every position of the game once its battle is over, by position hash
+    Map<Long, String> battled = new HashMap<>();
+    ThreeTrioGameModel<PlayableCard> plain =
+            this.start(new ThreeTrioModel(), "3X3Grid", "EnoughForAnyBoards");
+    battled.put(plain.getPositionHash(), this.describe(plain));
+    while (!plain.isGameOver()) {
+      this.playFirstMove(plain);
+      battled.put(plain.getPositionHash(), this.describe(plain));
+    }
+
+    AtomicInteger checked = new AtomicInteger();
+    for (int game = 0; game < 20; game++) {
+      ThreeTrioGameModel<PlayableCard> model = this.start(new ConcurrentThreeTrioModel<>(
+              new ThreeTrioModel()), "3X3Grid", "EnoughForAnyBoards");
+      AtomicBoolean playing = new AtomicBoolean(true);
+      AtomicReference<Throwable> failure = new AtomicReference<>();
+      List<Thread> readers = new ArrayList<>();
+      for (int reader = 0; reader < 4; reader++) {
+        Thread thread = new Thread(() -> {
+          while (playing.get()) {
+            long before = model.getPositionHash();
+            String seen = this.describe(model);
+            // only a description read without any move in between is of one position
+            if (model.getPositionHash() == before) {
+              Assert.assertEquals(battled.get(before), seen);
+              checked.incrementAndGet();
+            }
+            int cards = 9 - model.getEmptyCellCount();
+            Assert.assertTrue(this.countCards(model.getSnapshot(), 3, 3) >= cards);
+          }
+        });
+        thread.setUncaughtExceptionHandler((t, e) -> failure.compareAndSet(null, e));
+        readers.add(thread);
+        thread.start();
+      }
+      while (!model.isGameOver()) {
+        this.playFirstMove(model);
+      }
+      playing.set(false);
+      for (Thread thread : readers) {
+        thread.join();
+      }
+      Assert.assertNull(String.valueOf(failure.get()), failure.get());
+      Assert.assertEquals(9, this.countCards(model.getSnapshot(), 3, 3));
+    }
+    Assert.assertTrue(checked.get() > 0);
+  }
+
+  // tests the thread making a move can observe its card before the battle, and that a move
+  // rejected by the guarded model leaves the model free for the next one
+  @Test
+  public void testMoverReadsBeforeBattle() {
+    ThreeTrioGameModel<PlayableCard> model = this.start(
+            new ConcurrentThreeTrioModel<>(new ThreeTrioModel()), "3X3Grid", "EnoughForAnyBoards");
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.playCard(0, 3, 3));
+    model.playCard(0, 0, 0);
+    Assert.assertEquals(8, model.getEmptyCellCount());
+    model.battle();
+    Assert.assertEquals(8, model.getEmptyCellCount());
+    Assert.assertEquals(1, this.countCards(model.getSnapshot(), 3, 3));
+  }
+}
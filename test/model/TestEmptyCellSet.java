@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * A test class to test the public methods of the EmptyCellSet class.
+ */
+public class TestEmptyCellSet {
+
+  // test next() walks the cells in row-major order across words of the bitmask
+  @Test
+  public void testNextWalksInOrder() {
+    EmptyCellSet set = new EmptyCellSet(130);
+    set.add(129);
+    set.add(3);
+    set.add(64);
+    set.add(3);
+    Assert.assertEquals(3, set.size());
+    Assert.assertEquals(3, set.next(0));
+    Assert.assertEquals(64, set.next(4));
+    Assert.assertEquals(129, set.next(65));
+    Assert.assertEquals(-1, set.next(130));
+    Assert.assertEquals(3, set.next(-5));
+  }
+
+  // test remove() keeps the list and the bitmask in step
+  @Test
+  public void testRemove() {
+    EmptyCellSet set = new EmptyCellSet(10);
+    for (int cell = 0; cell < 10; cell++) {
+      set.add(cell);
+    }
+    set.remove(0);
+    set.remove(5);
+    set.remove(5);
+    Assert.assertEquals(8, set.size());
+    Assert.assertFalse(set.contains(5));
+    Assert.assertTrue(set.contains(9));
+    Assert.assertFalse(set.contains(10));
+    Assert.assertEquals(6, set.next(5));
+    int sum = 0;
+    for (int index = 0; index < set.size(); index++) {
+      sum += set.get(index);
+    }
+    Assert.assertEquals(45 - 5, sum);
+    Assert.assertThrows(IllegalArgumentException.class, () -> set.get(8));
+    Assert.assertThrows(IllegalArgumentException.class, () -> set.add(10));
+
+    EmptyCellSet copy = new EmptyCellSet(10);
+    copy.copyFrom(set);
+    set.remove(6);
+    Assert.assertEquals(6, copy.next(5));
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> copy.copyFrom(new EmptyCellSet(11)));
+  }
+}
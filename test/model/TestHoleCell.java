@@ -87,6 +87,17 @@ public class TestHoleCell {
     Assert.assertNull(this.east.getNeighbors());
   }
 
+  /**
+   * Tests neighbors(), which is always empty since holes don't track neighbors.
+   */
+  @Test
+  public void testNeighbors() {
+    Assert.assertSame(Neighbors.NONE, this.center.neighbors());
+    for (int dir = 0; dir < Neighbors.SIZE; dir++) {
+      Assert.assertNull(this.center.neighbors().get(dir));
+    }
+  }
+
   /**
    * Tests hasCard(), which returns false.
    */
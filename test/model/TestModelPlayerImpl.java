@@ -0,0 +1,81 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * A test class to test the public methods of the ModelPlayerImpl class.
+ */
+public class TestModelPlayerImpl {
+  ModelPlayer<PlayableCard> player;
+  PlayableCard red1234;
+  PlayableCard blue5678;
+  PlayableCard uncolored1111;
+
+  @Before
+  public void setup() {
+    this.player = new ModelPlayerImpl(Colors.Red);
+    this.red1234 = new PlayableCard("red1234",
+            Numbers.One, Numbers.Two, Numbers.Three, Numbers.Four);
+    this.blue5678 = new PlayableCard("blue5678",
+            Numbers.Five, Numbers.Six, Numbers.Seven, Numbers.Eight);
+    this.uncolored1111 = new PlayableCard("uncolored1111",
+            Numbers.One, Numbers.One, Numbers.One, Numbers.One);
+    this.player.addCardToHand(this.red1234);
+    this.player.addCardToHand(this.blue5678);
+    this.player.addCardToHand(this.uncolored1111);
+  }
+
+  // test removeCardFromHand() by index removes that card and keeps the order of the rest
+  @Test
+  public void testRemoveCardFromHandByIndex() {
+    Assert.assertEquals(this.blue5678, this.player.removeCardFromHand(1));
+    Assert.assertEquals(List.of(this.red1234, this.uncolored1111), this.player.getHand());
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.player.removeCardFromHand(2));
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> this.player.removeCardFromHand(-1));
+  }
+
+  // test getHandView() follows the hand and cannot be modified, unlike getHand()
+  @Test
+  public void testGetHandView() {
+    List<PlayableCard> view = this.player.getHandView();
+    List<PlayableCard> copy = this.player.getHand();
+    this.player.removeCardFromHand(this.red1234);
+    Assert.assertEquals(List.of(this.blue5678, this.uncolored1111), view);
+    Assert.assertEquals(3, copy.size());
+    Assert.assertSame(view, this.player.getHandView());
+    Assert.assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+  }
+
+  // test getCardAt() and getHandSize() read the hand without copying it
+  @Test
+  public void testGetCardAtAndGetHandSize() {
+    Assert.assertEquals(3, this.player.getHandSize());
+    Assert.assertEquals(this.red1234, this.player.getCardAt(0));
+    Assert.assertEquals(this.uncolored1111, this.player.getCardAt(2));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.player.getCardAt(3));
+    this.player.removeCardFromHand(0);
+    Assert.assertEquals(2, this.player.getHandSize());
+    Assert.assertEquals(this.blue5678, this.player.getCardAt(0));
+  }
+
+  // test countCardsAbove() follows cards added to and removed from the hand
+  @Test
+  public void testCountCardsAbove() {
+    Assert.assertEquals(1, this.player.countCardsAbove(Direction.NORTH, 4));
+    Assert.assertEquals(2, this.player.countCardsAbove(Direction.WEST, 3));
+    Assert.assertEquals(3, this.player.countCardsAbove(Direction.EAST, 0));
+    Assert.assertEquals(0, this.player.countCardsAbove(Direction.SOUTH, 10));
+    this.player.removeCardFromHand(1);
+    Assert.assertEquals(0, this.player.countCardsAbove(Direction.NORTH, 4));
+    Assert.assertEquals(1, this.player.countCardsAbove(Direction.WEST, 3));
+    this.player.removeCardFromHand(this.uncolored1111);
+    this.player.addCardToHand(0, this.blue5678);
+    Assert.assertEquals(2, this.player.countCardsAbove(Direction.EAST, 2));
+    Assert.assertEquals(1, this.player.countCardsAbove(Direction.EAST, 3));
+  }
+}
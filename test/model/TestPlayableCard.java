@@ -76,4 +76,52 @@ public class TestPlayableCard {
     Assert.assertEquals(this.blue5678.valueAt(Direction.WEST), Numbers.Eight);
     Assert.assertEquals(this.uncolored1111.valueAt(Direction.WEST), Numbers.One);
   }
+
+  /**
+   * Test that the method numAt() returns the attack value in the given direction as a number,
+   * and that getPackedValues() keeps four bits per direction.
+   */
+  @Test
+  public void testNumAt() {
+    Assert.assertEquals(1, this.red1234.numAt(Direction.NORTH));
+    Assert.assertEquals(2, this.red1234.numAt(Direction.SOUTH));
+    Assert.assertEquals(3, this.red1234.numAt(Direction.EAST));
+    Assert.assertEquals(4, this.red1234.numAt(Direction.WEST));
+    Assert.assertEquals(0x4321, this.red1234.getPackedValues());
+    PlayableCard aces = new PlayableCard("aces", Numbers.A, Numbers.A, Numbers.A, Numbers.A);
+    Assert.assertEquals(10, aces.numAt(Direction.WEST));
+    Assert.assertEquals(Numbers.A, aces.valueAt(Direction.WEST));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new PlayableCard("bad",
+            Numbers.One, null, Numbers.One, Numbers.One));
+
+    // a card that only gives its values as Numbers still has numAt
+    PlayableCard red = this.red1234;
+    Card other = new Card() {
+      @Override
+      public String getName() {
+        return "other";
+      }
+
+      @Override
+      public Numbers valueAt(Direction direction) {
+        return red.valueAt(direction);
+      }
+    };
+    for (Direction direction : Direction.values()) {
+      Assert.assertEquals(this.red1234.numAt(direction), other.numAt(direction));
+    }
+  }
+
+  /**
+   * Test that Numbers convert to and from numbers.
+   */
+  @Test
+  public void testNumbersToAndFromNum() {
+    for (Numbers number : Numbers.values()) {
+      Assert.assertEquals(number, Numbers.fromNum(number.toNum()));
+    }
+    Assert.assertEquals(10, Numbers.A.toNum());
+    Assert.assertThrows(IllegalArgumentException.class, () -> Numbers.fromNum(0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> Numbers.fromNum(11));
+  }
 }
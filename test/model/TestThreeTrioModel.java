@@ -4,8 +4,11 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import controller.ModelNotificationListener;
 import controller.ThreeTrioPlayerControllerImpl;
@@ -13,6 +16,13 @@ import old.controller.ThreeTrioController;
 import old.controller.ThreeTrioGameController;
 import filereaders.ReadCardConfig;
 import filereaders.ReadGridConfig;
+import model.ruled.FallenAceRule;
+import model.ruled.FlipGreaterRule;
+import model.ruled.PlusRule;
+import model.ruled.ReverseRule;
+import model.ruled.RuledThreeTrioModel;
+import model.ruled.SameRule;
+import model.ruled.ThreeTrioRule;
 import player.HumanPlayer;
 import view.JFrameView;
 
@@ -1000,6 +1010,406 @@ public class TestThreeTrioModel {
     Assert.assertEquals(model.lastPlayedCol(), 1);
   }
 
+  // Describes everything about a game that a move can change.
+  private String describe(ThreeTrioGameModel<PlayableCard> model) {
+    StringBuilder description = new StringBuilder();
+    description.append(model.getTurn()).append(model.isGameOver())
+            .append(model.getPlayerHand(0)).append(model.getPlayerHand(1))
+            .append(model.lastPlayedRow()).append(model.lastPlayedCol())
+            .append(model.getScore(0)).append(model.getScore(1))
+            .append(model.getPositionHash());
+    for (int row = 0; row < model.getGridLength(); row++) {
+      for (int col = 0; col < model.getGridWidth(); col++) {
+        Optional<Card> card = model.getContentAtCell(row, col);
+        description.append(card);
+        if (card.isPresent()) {
+          description.append(model.getCardOwner(row, col));
+        }
+      }
+    }
+    return description.toString();
+  }
+
+  // Plays the first legal move with the first card, then undoes every move played,
+  // checking each undo gives back exactly the game before that move.
+  private void assertUndoRestores(UndoableThreeTrioGameModel<PlayableCard> model) {
+    List<String> before = new ArrayList<>();
+    while (!model.isGameOver()) {
+      before.add(this.describe(model));
+      int row = 0;
+      int col = 0;
+      while (!model.checkLegal(row, col)) {
+        col = (col + 1) % model.getGridWidth();
+        row = col == 0 ? row + 1 : row;
+      }
+      int flips = model.getFlipCount(model.getTurn(), 0, row, col);
+      Assert.assertEquals(flips, model.applyMove(0, row, col));
+      Assert.assertEquals(PositionHash.of(model), model.getPositionHash());
+    }
+    for (int move = before.size() - 1; move >= 0; move--) {
+      Assert.assertTrue(model.canUndo());
+      model.undoMove();
+      Assert.assertEquals(before.get(move), this.describe(model));
+    }
+    Assert.assertFalse(model.canUndo());
+  }
+
+  // test undoMove() takes back every move of a whole game, flips included
+  @Test
+  public void testUndoWholeGame() {
+    this.assertUndoRestores((UndoableThreeTrioGameModel<PlayableCard>)
+            this.buildValidGame("HoleAndCardCellBoard", "EnoughForAnyBoards"));
+    UndoableThreeTrioGameModel<PlayableCard> ruled = new RuledThreeTrioModel(
+            Set.of(new ReverseRule(), new SameRule()));
+    new ThreeTrioController().startGame(ruled, "NoHolesBoard", "ForPlus");
+    this.assertUndoRestores(ruled);
+  }
+
+  // test undoMove() takes back a card that has not battled yet without changing turns
+  @Test
+  public void testUndoBeforeBattle() {
+    UndoableThreeTrioGameModel<PlayableCard> model =
+            (UndoableThreeTrioGameModel<PlayableCard>) this.easySwitchColorGame();
+    String before = this.describe(model);
+    model.playCard(1, 0, 2);
+    model.undoMove();
+    Assert.assertEquals(before, this.describe(model));
+    model.playCard(1, 0, 2);
+    model.battle();
+    Assert.assertEquals(1, model.getTurn());
+  }
+
+  // test undoMove() and applyMove() throw when there is nothing to take back or play
+  @Test
+  public void testBadUndoMove() {
+    UndoableThreeTrioGameModel<PlayableCard> notStarted = new ThreeTrioModel();
+    Assert.assertThrows(IllegalStateException.class, notStarted::undoMove);
+    Assert.assertThrows(IllegalStateException.class, () -> notStarted.applyMove(0, 0, 0));
+    UndoableThreeTrioGameModel<PlayableCard> model =
+            (UndoableThreeTrioGameModel<PlayableCard>) this.easySwitchColorGame();
+    Assert.assertFalse(model.canUndo());
+    Assert.assertThrows(IllegalStateException.class, model::undoMove);
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.applyMove(0, 0, 1));
+    Assert.assertFalse(model.canUndo());
+  }
+
+  // test battle() follows a combo across a whole row of cards without running out of stack,
+  // and getLastFlips() reports the flips in the order they happened
+  @Test
+  public void testBattleLongCombo() {
+    int length = 20001;
+    List<Cells> row = new ArrayList<>();
+    row.add(new CardCell());
+    for (int col = 1; col < length; col++) {
+      Cells cell = new CardCell(new PlayableCard("blue" + col, Numbers.One, Numbers.One,
+              Numbers.Two, Numbers.One));
+      cell.changeColor(Colors.Blue);
+      row.add(cell);
+    }
+    List<PlayableCard> deck = new ArrayList<>();
+    for (int card = 0; card <= length; card++) {
+      deck.add(new PlayableCard("card" + card, Numbers.A, Numbers.A, Numbers.A,
+              Numbers.A));
+    }
+    ThreeTrioGameModel<PlayableCard> model = new ThreeTrioModel();
+    model.startGame(List.of(row), deck);
+    Assert.assertEquals(List.of(), model.getLastFlips());
+
+    model.playCard(0, 0, 0);
+    Assert.assertEquals(List.of(), model.getLastFlips());
+    model.battle();
+    List<Integer> flips = model.getLastFlips();
+    Assert.assertEquals(length - 1, flips.size());
+    for (int flip = 0; flip < flips.size(); flip++) {
+      Assert.assertEquals(flip + 1, (int) flips.get(flip));
+    }
+    Assert.assertEquals(Colors.Red, model.getCardOwner(0, length - 1));
+    Assert.assertTrue(model.didPlayerOneWin());
+  }
+
+  // test battle() throws exception when no card has been played
+  @Test
+  public void testBattleBeforePlay() {
+    ThreeTrioGameModel<PlayableCard> model = this.easySwitchColorGame();
+    Assert.assertThrows(IllegalStateException.class, model::battle);
+  }
+
+  // Asserts getFlipCounts() gives what getFlipCount() gives for every card and cell.
+  private void assertFlipCountsMatch(ThreeTrioGameModel<PlayableCard> model, int playerIdx) {
+    int[][] flips = model.getFlipCounts(playerIdx, false);
+    Assert.assertArrayEquals(flips, model.getFlipCounts(playerIdx, true));
+    Assert.assertEquals(model.getPlayerHand(playerIdx).size(), flips.length);
+    for (int card = 0; card < flips.length; card++) {
+      for (int row = 0; row < model.getGridLength(); row++) {
+        for (int col = 0; col < model.getGridWidth(); col++) {
+          int expected = model.checkLegal(row, col)
+                  ? model.getFlipCount(playerIdx, card, row, col) : -1;
+          Assert.assertEquals(expected, flips[card][row * model.getGridWidth() + col]);
+        }
+      }
+    }
+  }
+
+  // test getFlipCounts() matches getFlipCount() for both players as a game goes on
+  @Test
+  public void testGetFlipCounts() {
+    ThreeTrioGameModel<PlayableCard> model = this.buildValidGame("HoleAndCardCellBoard",
+            "EnoughForAnyBoards");
+    ThreeTrioGameModel<PlayableCard> ruled = new RuledThreeTrioModel(Set.of(new SameRule(),
+            new ReverseRule()));
+    new ThreeTrioController().startGame(ruled, "NoHolesBoard", "ForPlus");
+    for (ThreeTrioGameModel<PlayableCard> game : List.of(model, ruled)) {
+      for (int move = 0; move < 6; move++) {
+        String before = this.describe(game);
+        this.assertFlipCountsMatch(game, 0);
+        this.assertFlipCountsMatch(game, 1);
+        Assert.assertEquals(before, this.describe(game));
+        int cell = 0;
+        while (!game.checkLegal(cell / game.getGridWidth(), cell % game.getGridWidth())) {
+          cell += 7;
+          cell %= game.getGridLength() * game.getGridWidth();
+        }
+        game.playCard(move % 2, cell / game.getGridWidth(), cell % game.getGridWidth());
+        game.battle();
+      }
+    }
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.getFlipCounts(2, false));
+    Assert.assertThrows(IllegalStateException.class, () -> new ThreeTrioModel()
+            .getFlipCounts(0, false));
+  }
+
+  // test getFlipCount() gives exactly the flips of really playing the card under every kind of
+  // rule, including Same and Plus, and gives the same counts when called from many threads
+  @Test
+  public void testGetFlipCountMatchesBattle() {
+    List<Set<ThreeTrioRule>> ruleSets = List.of(Set.of(new FlipGreaterRule()),
+            Set.of(new SameRule()), Set.of(new PlusRule(), new ReverseRule()),
+            Set.of(new SameRule(), new FallenAceRule()), Set.of(new PlusRule(),
+                    new FallenAceRule(), new ReverseRule()));
+    for (Set<ThreeTrioRule> rules : ruleSets) {
+      UndoableThreeTrioGameModel<PlayableCard> model = new RuledThreeTrioModel(rules);
+      new ThreeTrioController().startGame(model, "NoHolesBoard", "ForPlus");
+      int size = model.getGridLength() * model.getGridWidth();
+      while (!model.isGameOver()) {
+        int player = model.getTurn();
+        int hand = model.getHandSize(player);
+        int[] expected = new int[hand * size];
+        for (int card = 0; card < hand; card++) {
+          for (int cell = 0; cell < size; cell++) {
+            int row = cell / model.getGridWidth();
+            int col = cell % model.getGridWidth();
+            if (model.checkLegal(row, col)) {
+              expected[card * size + cell] = model.applyMove(card, row, col);
+              model.undoMove();
+              Assert.assertEquals(expected[card * size + cell],
+                      model.getFlipCount(player, card, row, col));
+            }
+          }
+        }
+        int[] concurrent = IntStream.range(0, hand * size).parallel().map(pair -> {
+          int row = pair % size / model.getGridWidth();
+          int col = pair % size % model.getGridWidth();
+          return model.checkLegal(row, col)
+                  ? model.getFlipCount(player, pair / size, row, col) : 0;
+        }).toArray();
+        Assert.assertArrayEquals(expected, concurrent);
+        int cell = 0;
+        while (!model.checkLegal(cell / model.getGridWidth(), cell % model.getGridWidth())) {
+          cell++;
+        }
+        model.applyMove(hand - 1, cell / model.getGridWidth(), cell % model.getGridWidth());
+      }
+    }
+  }
+
+  // test getPositionHash() is the same for the same position reached in a different order,
+  // and different otherwise
+  @Test
+  public void testGetPositionHash() {
+    ThreeTrioGameModel<PlayableCard> first = this.buildValidGame("NoHolesBoard",
+            "EnoughForAnyBoards");
+    ThreeTrioGameModel<PlayableCard> second = this.buildValidGame("NoHolesBoard",
+            "EnoughForAnyBoards");
+    Assert.assertEquals(first.getPositionHash(), second.getPositionHash());
+    Assert.assertEquals(PositionHash.of(first), first.getPositionHash());
+
+    first.playCard(0, 0, 0);
+    first.battle();
+    Assert.assertNotEquals(second.getPositionHash(), first.getPositionHash());
+    first.playCard(0, 4, 4);
+    first.battle();
+    first.playCard(0, 0, 4);
+    first.battle();
+
+    second.playCard(1, 0, 4);
+    second.battle();
+    second.playCard(0, 4, 4);
+    second.battle();
+    second.playCard(0, 0, 0);
+    second.battle();
+    Assert.assertEquals(PositionHash.of(first), first.getPositionHash());
+    Assert.assertEquals(first.getPositionHash(), second.getPositionHash());
+    Assert.assertThrows(IllegalStateException.class, () -> new ThreeTrioModel()
+            .getPositionHash());
+  }
+
+  // test getHandSize() and getCardInHand() agree with getPlayerHand() as cards are played
+  @Test
+  public void testGetCardInHand() {
+    ThreeTrioGameModel<PlayableCard> model = this.easySwitchColorGame();
+    for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+      List<PlayableCard> hand = model.getPlayerHand(playerIdx);
+      Assert.assertEquals(hand.size(), model.getHandSize(playerIdx));
+      for (int handIdx = 0; handIdx < hand.size(); handIdx++) {
+        Assert.assertEquals(hand.get(handIdx), model.getCardInHand(playerIdx, handIdx));
+      }
+    }
+    PlayableCard second = model.getCardInHand(0, 1);
+    model.playCard(0, 0, 2);
+    Assert.assertEquals(model.getPlayerHand(0).size(), model.getHandSize(0));
+    Assert.assertEquals(second, model.getCardInHand(0, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> model.getCardInHand(0, model.getHandSize(0)));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.getHandSize(2));
+    Assert.assertThrows(IllegalStateException.class, () -> new ThreeTrioModel().getHandSize(0));
+  }
+
+  // test countCardsAbove() matches a scan of the hand as cards are played and undone
+  @Test
+  public void testCountCardsAbove() {
+    UndoableThreeTrioGameModel<PlayableCard> model =
+            (UndoableThreeTrioGameModel<PlayableCard>) this.easySwitchColorGame();
+    this.assertCountsMatchHands(model);
+    model.applyMove(0, 0, 2);
+    this.assertCountsMatchHands(model);
+    model.undoMove();
+    this.assertCountsMatchHands(model);
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> model.countCardsAbove(2, Direction.NORTH, 1));
+    Assert.assertThrows(IllegalStateException.class,
+            () -> new ThreeTrioModel().countCardsAbove(0, Direction.NORTH, 1));
+  }
+
+  // Asserts countCardsAbove agrees with counting every card in each hand.
+  private void assertCountsMatchHands(ThreeTrioGameModel<PlayableCard> model) {
+    for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+      for (Direction side : Direction.values()) {
+        for (int value = 0; value <= 10; value++) {
+          int expected = 0;
+          for (PlayableCard card : model.getPlayerHand(playerIdx)) {
+            if (card.numAt(side) > value) {
+              expected++;
+            }
+          }
+          Assert.assertEquals(expected, model.countCardsAbove(playerIdx, side, value));
+        }
+      }
+    }
+  }
+
+  // test getRegions() splits the board where holes keep cards from reaching each other
+  @Test
+  public void testGetRegions() {
+    ThreeTrioGameModel<PlayableCard> model = new ThreeTrioModel();
+    Assert.assertThrows(IllegalStateException.class, model::getRegions);
+    model.startGame(new ReadGridConfig("BoardConfig" + File.separator
+                    + "ValidCardsCanNotReachEachOther").parseGrid(),
+            new ReadCardConfig("CardConfig" + File.separator + "ForPlus").parseCards());
+    BoardRegions regions = model.getRegions();
+    Assert.assertEquals(2, regions.getRegionCount());
+    Assert.assertEquals(0, regions.regionOf(4, 1));
+    Assert.assertEquals(1, regions.regionOf(4, 4));
+    Assert.assertEquals(BoardRegions.NO_REGION, regions.regionOf(4, 3));
+    Assert.assertEquals(List.of(0, 1, 5, 6, 10, 11, 15, 16, 20, 21), regions.getCells(0));
+    Assert.assertEquals(9, regions.getCells(1).size());
+    Assert.assertThrows(IllegalArgumentException.class, () -> regions.getCells(2));
+    Assert.assertThrows(IllegalArgumentException.class, () -> regions.regionOf(5, 0));
+
+    BoardRegions whole = BoardRegions.of(new ReadGridConfig("BoardConfig" + File.separator
+            + "HolesButAllCardsReachEachOther").parseGrid());
+    Assert.assertEquals(1, whole.getRegionCount());
+  }
+
+  // test the empty cells and legal moves follow the cells checkLegal allows as cards are played
+  // and undone
+  @Test
+  public void testGetLegalMoves() {
+    UndoableThreeTrioGameModel<PlayableCard> model =
+            (UndoableThreeTrioGameModel<PlayableCard>) this.easySwitchColorGame();
+    this.assertLegalMovesMatchCheckLegal(model);
+    model.applyMove(0, 0, 2);
+    this.assertLegalMovesMatchCheckLegal(model);
+    model.undoMove();
+    this.assertLegalMovesMatchCheckLegal(model);
+
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> model.getLegalMoves(0, new int[model.getEmptyCellCount()
+                    * model.getHandSize(0) - 1]));
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> model.getLegalMoves(2, new int[100]));
+    Assert.assertThrows(IllegalStateException.class, () -> new ThreeTrioModel().nextEmptyCell(0));
+  }
+
+  // Asserts the empty cells walked and the moves listed are exactly the legal ones.
+  private void assertLegalMovesMatchCheckLegal(ThreeTrioGameModel<PlayableCard> model) {
+    int width = model.getGridWidth();
+    List<Integer> legal = new ArrayList<>();
+    for (int row = 0; row < model.getGridLength(); row++) {
+      for (int col = 0; col < width; col++) {
+        if (model.checkLegal(row, col)) {
+          legal.add(row * width + col);
+        }
+      }
+    }
+    List<Integer> walked = new ArrayList<>();
+    for (int cell = model.nextEmptyCell(0); cell >= 0; cell = model.nextEmptyCell(cell + 1)) {
+      walked.add(cell);
+    }
+    Assert.assertEquals(legal, walked);
+    Assert.assertEquals(legal.size(), model.getEmptyCellCount());
+
+    for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+      int handSize = model.getHandSize(playerIdx);
+      int[] moves = new int[legal.size() * handSize];
+      Assert.assertEquals(moves.length, model.getLegalMoves(playerIdx, moves));
+      for (int move = 0; move < moves.length; move++) {
+        Assert.assertEquals((int) legal.get(move / handSize), Moves.cellOf(moves[move]));
+        Assert.assertEquals(move % handSize, Moves.handIdxOf(moves[move]));
+      }
+    }
+  }
+
+  // test getSnapshot() matches the grid and does not change as the game goes on
+  @Test
+  public void testGetSnapshot() {
+    UndoableThreeTrioGameModel<PlayableCard> model =
+            (UndoableThreeTrioGameModel<PlayableCard>) this.easySwitchColorGame();
+    BoardSnapshot start = model.getSnapshot();
+    Assert.assertSame(start, model.getSnapshot());
+    model.playCard(1, 0, 2);
+    model.battle();
+    BoardSnapshot played = model.getSnapshot();
+    Assert.assertNotSame(start, played);
+    for (int row = 0; row < model.getGridLength(); row++) {
+      for (int col = 0; col < model.getGridWidth(); col++) {
+        Assert.assertEquals(model.getGrid().get(row).get(col).isHole(), played.isHole(row, col));
+        Assert.assertEquals(model.getContentAtCell(row, col), played.getContent(row, col));
+        if (played.getContent(row, col).isPresent()) {
+          Assert.assertEquals(model.getCardOwner(row, col), played.getOwner(row, col));
+        }
+        Assert.assertFalse(start.getContent(row, col).isPresent());
+      }
+    }
+    Assert.assertEquals(model.getPlayerColor(0), played.getOwner(0, 2));
+
+    model.undoMove();
+    Assert.assertFalse(model.getSnapshot().getContent(0, 2).isPresent());
+    Assert.assertEquals(model.getPlayerColor(0), played.getOwner(0, 2));
+    Assert.assertTrue(played.toGrid().get(0).get(2).hasCard());
+    Assert.assertThrows(IllegalArgumentException.class, () -> played.isHole(-1, 0));
+    Assert.assertThrows(IllegalStateException.class, () -> new ThreeTrioModel().getSnapshot());
+  }
+
   // test the addModelNotificationListener() method adds a listener to the model's
   // list of listeners. So initially 0 listeners + 1 listener = 1 listener.
   @Test
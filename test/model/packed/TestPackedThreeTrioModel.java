@@ -0,0 +1,298 @@
+package model.packed;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import filereaders.ReadGridConfig;
+import model.Card;
+import model.Cells;
+import model.Colors;
+import model.Direction;
+import model.PlayableCard;
+import model.ThreeTrioGameModel;
+import model.ThreeTrioModel;
+import model.ruled.FallenAceRule;
+import model.ruled.FlipGreaterRule;
+import model.ruled.PlusRule;
+import model.ruled.ReverseRule;
+import model.ruled.RuledThreeTrioModel;
+import model.ruled.SameRule;
+import model.ruled.ThreeTrioRule;
+import old.controller.ThreeTrioController;
+import old.controller.ThreeTrioGameController;
+
+/**
+ * Test class to test the public methods of the PackedThreeTrioModel class.
+ */
+public class TestPackedThreeTrioModel {
+  // Starts the given model using a predefined board and card set.
+  private <M extends ThreeTrioGameModel<PlayableCard>> M start(M model, String boardName,
+                                                               String cardName) {
+    ThreeTrioGameController<PlayableCard> controller = new ThreeTrioController();
+    controller.startGame(model, boardName, cardName);
+    return model;
+  }
+
+  // Asserts both models show the same position.
+  private void assertSamePosition(ThreeTrioGameModel<PlayableCard> expected,
+                                  ThreeTrioGameModel<PlayableCard> actual) {
+    Assert.assertEquals(expected.getTurn(), actual.getTurn());
+    Assert.assertEquals(expected.getScore(0), actual.getScore(0));
+    Assert.assertEquals(expected.getScore(1), actual.getScore(1));
+    Assert.assertEquals(this.names(expected.getPlayerHand(0)),
+            this.names(actual.getPlayerHand(0)));
+    Assert.assertEquals(this.names(expected.getPlayerHand(1)),
+            this.names(actual.getPlayerHand(1)));
+    Assert.assertEquals(expected.isGameOver(), actual.isGameOver());
+    Assert.assertEquals(expected.getPositionHash(), actual.getPositionHash());
+    Assert.assertEquals(expected.getEmptyCellCount(), actual.getEmptyCellCount());
+    for (int cell = expected.nextEmptyCell(0); cell >= 0; cell = expected.nextEmptyCell(cell + 1)) {
+      Assert.assertEquals(cell, actual.nextEmptyCell(cell));
+    }
+    for (int player = 0; player < 2; player++) {
+      for (Direction side : Direction.values()) {
+        for (int value = 0; value <= 10; value++) {
+          Assert.assertEquals(expected.countCardsAbove(player, side, value),
+                  actual.countCardsAbove(player, side, value));
+        }
+      }
+    }
+    for (int row = 0; row < expected.getGridLength(); row++) {
+      for (int col = 0; col < expected.getGridWidth(); col++) {
+        Assert.assertEquals(expected.checkLegal(row, col), actual.checkLegal(row, col));
+        Optional<Card> content = expected.getContentAtCell(row, col);
+        Assert.assertEquals(content.map(Card::getName),
+                actual.getContentAtCell(row, col).map(Card::getName));
+        Assert.assertEquals(content.map(Card::getName),
+                actual.getSnapshot().getContent(row, col).map(Card::getName));
+        if (content.isPresent()) {
+          Assert.assertEquals(expected.getCardOwner(row, col), actual.getCardOwner(row, col));
+        }
+      }
+    }
+  }
+
+  // The names of the given cards, since each model reads its own copy of the card file.
+  private List<String> names(List<PlayableCard> cards) {
+    List<String> names = new ArrayList<>();
+    for (PlayableCard card : cards) {
+      names.add(card.getName());
+    }
+    return names;
+  }
+
+  // Plays random games on both models side by side, comparing every flip count on the way.
+  private void assertPlaysLikeRuled(Set<ThreeTrioRule> rules, String boardName,
+                                    String cardName) {
+    Random random = new Random(rules.size() * 31L + boardName.hashCode());
+    for (int game = 0; game < 5; game++) {
+      ThreeTrioGameModel<PlayableCard> ruled =
+              this.start(new RuledThreeTrioModel(rules), boardName, cardName);
+      ThreeTrioGameModel<PlayableCard> packed =
+              this.start(new PackedThreeTrioModel(rules), boardName, cardName);
+      this.assertSamePosition(ruled, packed);
+      while (!ruled.isGameOver()) {
+        int player = ruled.getTurn();
+        for (int row = 0; row < ruled.getGridLength(); row++) {
+          for (int col = 0; col < ruled.getGridWidth(); col++) {
+            if (ruled.checkLegal(row, col)) {
+              for (int card = 0; card < ruled.getPlayerHand(player).size(); card++) {
+                Assert.assertEquals(ruled.getFlipCount(player, card, row, col),
+                        packed.getFlipCount(player, card, row, col));
+              }
+            }
+          }
+        }
+        Assert.assertArrayEquals(ruled.getFlipCounts(player, false),
+                packed.getFlipCounts(player, true));
+        int row;
+        int col;
+        do {
+          row = random.nextInt(ruled.getGridLength());
+          col = random.nextInt(ruled.getGridWidth());
+        } while (!ruled.checkLegal(row, col));
+        int card = random.nextInt(ruled.getPlayerHand(player).size());
+        ruled.playCard(card, row, col);
+        ruled.battle();
+        packed.playCard(card, row, col);
+        packed.battle();
+        this.assertSamePosition(ruled, packed);
+        Assert.assertEquals(ruled.getLastFlips(), packed.getLastFlips());
+      }
+      Assert.assertEquals(ruled.didPlayerOneWin(), packed.didPlayerOneWin());
+      Assert.assertEquals(ruled.didPlayerTwoWin(), packed.didPlayerTwoWin());
+    }
+  }
+
+  // tests the packed model plays exactly like the ruled model under every kind of rule set
+  @Test
+  public void testPlaysLikeRuledModel() {
+    this.assertPlaysLikeRuled(Set.of(new FlipGreaterRule()), "NoHolesBoard",
+            "EnoughForAnyBoards");
+    this.assertPlaysLikeRuled(Set.of(new ReverseRule()), "HoleAndCardCellBoard",
+            "EnoughForAnyBoardsAce");
+    this.assertPlaysLikeRuled(Set.of(new FallenAceRule()), "NoHolesBoard",
+            "EnoughForAnyBoardsAce");
+    this.assertPlaysLikeRuled(Set.of(new ReverseRule(), new FallenAceRule()), "NoHolesBoard",
+            "EnoughForAnyBoardsAce");
+    this.assertPlaysLikeRuled(Set.of(new FlipGreaterRule(), new SameRule()),
+            "ValidCardsCanNotReachEachOther", "ForPlus");
+    this.assertPlaysLikeRuled(Set.of(new FlipGreaterRule(), new PlusRule()), "NoHolesBoard",
+            "ForPlus");
+    this.assertPlaysLikeRuled(Set.of(new ReverseRule(), new SameRule()), "3X3Grid", "ForPlus");
+  }
+
+  // tests the default packed model plays like the original ThreeTrioModel
+  @Test
+  public void testDefaultPlaysLikeThreeTrioModel() {
+    ThreeTrioGameModel<PlayableCard> original =
+            this.start(new ThreeTrioModel(), "ThreeByOneForTesting", "OnlyIncreasing");
+    ThreeTrioGameModel<PlayableCard> packed =
+            this.start(new PackedThreeTrioModel(), "ThreeByOneForTesting", "OnlyIncreasing");
+    for (int row = 0; row < 3; row++) {
+      original.playCard(0, row, 0);
+      original.battle();
+      packed.playCard(0, row, 0);
+      packed.battle();
+      this.assertSamePosition(original, packed);
+    }
+    Assert.assertTrue(packed.didPlayerOneWin());
+  }
+
+  // tests copies share nothing mutable with the game they were copied from
+  @Test
+  public void testCopyIsIndependent() {
+    PackedThreeTrioModel model = this.start(new PackedThreeTrioModel(), "3X3Grid",
+            "EnoughForAnyBoards");
+    model.playCard(0, 1, 1);
+    model.battle();
+    PackedThreeTrioModel copy = model.copy();
+    this.assertSamePosition(model, copy);
+
+    copy.playCard(0, 0, 1);
+    copy.battle();
+    Assert.assertTrue(model.checkLegal(0, 1));
+    Assert.assertFalse(copy.checkLegal(0, 1));
+    Assert.assertEquals(1, model.getTurn());
+    Assert.assertEquals(0, copy.getTurn());
+
+    copy.copyFrom(model);
+    this.assertSamePosition(model, copy);
+  }
+
+  // tests positions can not be copied between unrelated games
+  @Test
+  public void testCopyFromOtherGame() {
+    PackedThreeTrioModel model = this.start(new PackedThreeTrioModel(), "3X3Grid",
+            "EnoughForAnyBoards");
+    PackedThreeTrioModel other = this.start(new PackedThreeTrioModel(), "3X3Grid",
+            "EnoughForAnyBoards");
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.copyFrom(other));
+    Assert.assertThrows(IllegalStateException.class, () -> new PackedThreeTrioModel().copy());
+  }
+
+  // tests boards of the same shape share one geometry
+  @Test
+  public void testGeometryIsShared() {
+    PackedThreeTrioModel model = this.start(new PackedThreeTrioModel(), "Plus",
+            "OnlyIncreasing");
+    BoardGeometry geometry = BoardGeometry.of(model.getGrid());
+    Assert.assertSame(geometry, BoardGeometry.of(model.copy().getGrid()));
+    Assert.assertEquals(5, geometry.getCardCellCount());
+    Assert.assertTrue(geometry.isHole(0));
+    Assert.assertEquals(BoardGeometry.NO_NEIGHBOR, geometry.neighbor(1, 0));
+    Assert.assertEquals(4, geometry.neighbor(1, 1));
+    Assert.assertSame(geometry.getRegions(), model.getRegions());
+    Assert.assertEquals(1, model.getRegions().getRegionCount());
+  }
+
+  // tests only the boards used most recently keep their geometry
+  @Test
+  public void testGeometryCacheIsBounded() {
+    List<List<Cells>> grid = new ReadGridConfig("BoardConfig/3X3Grid").parseGrid();
+    Cells cell = grid.get(0).get(0);
+    BoardGeometry geometry = BoardGeometry.of(grid);
+    for (int length = 1; length <= 64; length++) {
+      BoardGeometry.of(List.of(Collections.nCopies(length, cell)));
+      // using a board again keeps it
+      Assert.assertSame(geometry, BoardGeometry.of(grid));
+    }
+    for (int length = 65; length <= 129; length++) {
+      BoardGeometry.of(List.of(Collections.nCopies(length, cell)));
+    }
+    Assert.assertNotSame(geometry, BoardGeometry.of(grid));
+  }
+
+  // tests a game started from a position in progress plays on like the game it came from
+  @Test
+  public void testStartFrom() {
+    Set<ThreeTrioRule> rules = Set.of(new FlipGreaterRule(), new SameRule());
+    ThreeTrioGameModel<PlayableCard> ruled =
+            this.start(new RuledThreeTrioModel(rules), "NoHolesBoard", "ForPlus");
+    ruled.playCard(2, 0, 0);
+    ruled.battle();
+    ruled.playCard(0, 0, 1);
+    ruled.battle();
+    ruled.playCard(4, 1, 1);
+    PackedThreeTrioModel packed = new PackedThreeTrioModel(rules);
+    packed.startFrom(ruled);
+    this.assertSamePosition(ruled, packed);
+
+    ruled.battle();
+    ruled.playCard(1, 1, 0);
+    ruled.battle();
+    PackedThreeTrioModel later = new PackedThreeTrioModel(rules);
+    later.startFrom(ruled);
+    this.assertSamePosition(ruled, later);
+    while (!ruled.isGameOver()) {
+      int cell = ruled.nextEmptyCell(0);
+      int width = ruled.getGridWidth();
+      ruled.playCard(0, cell / width, cell % width);
+      ruled.battle();
+      later.playCard(0, cell / width, cell % width);
+      later.battle();
+      this.assertSamePosition(ruled, later);
+    }
+    Assert.assertEquals(ruled.didPlayerOneWin(), later.didPlayerOneWin());
+
+    Assert.assertThrows(IllegalStateException.class, () -> packed.startFrom(ruled));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new PackedThreeTrioModel().startFrom(null));
+    Assert.assertThrows(IllegalStateException.class,
+        () -> new PackedThreeTrioModel().startFrom(new ThreeTrioModel()));
+  }
+
+  // tests the packed model rejects the same bad inputs as the ThreeTrioModel
+  @Test
+  public void testBadInputs() {
+    PackedThreeTrioModel notStarted = new PackedThreeTrioModel();
+    Assert.assertThrows(IllegalStateException.class, () -> notStarted.playCard(0, 0, 0));
+    Assert.assertThrows(IllegalStateException.class, notStarted::getGrid);
+    Assert.assertThrows(IllegalArgumentException.class, () -> new PackedThreeTrioModel(
+            Set.of(new FlipGreaterRule(), new ReverseRule())));
+    Assert.assertThrows(IllegalArgumentException.class, () -> this.start(
+            new PackedThreeTrioModel(), "NoHolesBoard", "EnoughForSomeBoards"));
+
+    PackedThreeTrioModel model = this.start(new PackedThreeTrioModel(), "Plus",
+            "OnlyIncreasing");
+    Assert.assertThrows(IllegalStateException.class, model::battle);
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.playCard(0, 0, 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.playCard(3, 1, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.playCard(0, 3, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.getCardOwner(1, 1));
+    model.playCard(0, 1, 1);
+    Assert.assertEquals(Colors.Red, model.getCardOwner(1, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.playCard(0, 1, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.getFlipCount(0, 0, 1, 1));
+    List<PlayableCard> hand = model.getPlayerHand(0);
+    hand.clear();
+    Assert.assertEquals(2, model.getPlayerHand(0).size());
+  }
+}
@@ -4,6 +4,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import filereaders.ReadCardConfig;
@@ -18,6 +19,7 @@ import model.Numbers;
 import model.PlayableCard;
 import model.ThreeTrioGameModel;
 import model.UpdatedThreeTrioModel;
+import model.packed.PackedThreeTrioModel;
 
 /**
  * Test class to test the public methods contained in the ruled package.
@@ -472,4 +474,280 @@ public class TestThreeTrioRuled {
     // double check that reverse rule causes the card to flip
     Assert.assertEquals(Colors.Red, model.getGrid().get(1).get(3).cellColor());
   }
+
+  // test RuleTable agrees with asking the pairwise rules directly, and ignores placement rules
+  @Test
+  public void testRuleTable() {
+    Set<ThreeTrioRule> rules = Set.of(new FallenAceRule(), new SameRule());
+    RuleTable table = new RuleTable(rules, false);
+    RuleTable reversed = new RuleTable(rules, true);
+    ThreeTrioRule fallenAce = new FallenAceRule();
+    for (Numbers attack : Numbers.values()) {
+      for (Numbers defend : Numbers.values()) {
+        Cells attacker = new CardCell(new PlayableCard("a", attack, attack, attack, attack));
+        Cells defender = new CardCell(new PlayableCard("d", defend, defend, defend, defend));
+        Assert.assertEquals(fallenAce.satisfiesFlip(attacker, defender, Direction.EAST),
+                table.flips(attack.toNum(), defend.toNum()));
+        Assert.assertEquals(fallenAce.reverseSatisfiesFlip(attacker, defender, Direction.EAST),
+                reversed.flips(attack.toNum(), defend.toNum()));
+      }
+    }
+    // the SameRule would flip equal values, but it is not part of the table
+    Assert.assertFalse(table.flips(5, 5));
+    Assert.assertTrue(table.flips(1, 10));
+    Assert.assertFalse(new RuleTable(Set.of(new SameRule()), false).flips(10, 1));
+  }
+
+  // test flipMask() gives every neighbor with a card once Same or Plus is triggered, and the
+  // beaten neighbors for pairwise rules
+  @Test
+  public void testFlipMask() {
+    Cells center = new CardCell(new PlayableCard("center",
+            Numbers.Five, Numbers.Two, Numbers.Five, Numbers.Three));
+    Cells north = new CardCell(new PlayableCard("north",
+            Numbers.One, Numbers.Five, Numbers.One, Numbers.One));
+    Cells east = new CardCell(new PlayableCard("east",
+            Numbers.One, Numbers.One, Numbers.One, Numbers.Five));
+    Cells west = new CardCell(new PlayableCard("west",
+            Numbers.One, Numbers.One, Numbers.One, Numbers.One));
+    center.addNeighbor(north, Direction.NORTH);
+    center.addNeighbor(east, Direction.EAST);
+    center.addNeighbor(west, Direction.WEST);
+    center.addNeighbor(new CardCell(), Direction.SOUTH);
+    int all = (1 << Direction.NORTH.ordinal()) | (1 << Direction.EAST.ordinal())
+            | (1 << Direction.WEST.ordinal());
+
+    // north and east match, so west is flipped too
+    Assert.assertEquals(all, new SameRule().flipMask(center, false));
+    Assert.assertEquals(all, new SameRule().flipMask(center, true));
+    // the sums towards north and east are both 10
+    Assert.assertEquals(all, new PlusRule().flipMask(center, false));
+    // only the west neighbor is weaker than the center
+    Assert.assertEquals(1 << Direction.WEST.ordinal(),
+            new FlipGreaterRule().flipMask(center, false));
+    Assert.assertEquals(1 << Direction.WEST.ordinal(),
+            new FallenAceRule().flipMask(center, false));
+    Assert.assertEquals(0, new FlipGreaterRule().flipMask(center, true));
+
+    center.removeCard();
+    Assert.assertEquals(0, new SameRule().flipMask(center, false));
+    Assert.assertEquals(0, new PlusRule().flipMask(center, false));
+  }
+
+  // A house rule allowed in combos where the card with the greater sum of values flips the
+  // other, whatever values face each other, so it cannot be compiled into a RuleTable.
+  private static class SumRule implements ThreeTrioRule {
+    private int sum(Card card) {
+      int sum = 0;
+      for (Direction direction : Direction.values()) {
+        sum += card.numAt(direction);
+      }
+      return sum;
+    }
+
+    @Override
+    public boolean satisfiesFlip(Cells input, Cells neighbor, Direction toNeighbor) {
+      return input.hasCard() && neighbor.hasCard()
+              && this.sum(input.getCard()) > this.sum(neighbor.getCard());
+    }
+
+    @Override
+    public boolean reverseSatisfiesFlip(Cells input, Cells neighbor, Direction toNeighbor) {
+      return input.hasCard() && neighbor.hasCard()
+              && this.sum(input.getCard()) < this.sum(neighbor.getCard());
+    }
+
+    @Override
+    public boolean isMutuallyExclusive(ThreeTrioRule opposing) {
+      return false;
+    }
+
+    @Override
+    public boolean allowCombo() {
+      return true;
+    }
+
+    @Override
+    public boolean isPairwise() {
+      return false;
+    }
+
+    @Override
+    public boolean reversesRules() {
+      return false;
+    }
+  }
+
+  // test a rule allowed in combos that is not pairwise is asked on every comparison, the same
+  // way by RuledThreeTrioModel and PackedThreeTrioModel
+  @Test
+  public void testComparisonRules() {
+    RuleEngine engine = RuleEngine.compile(Set.of(new SumRule()));
+    Assert.assertTrue(engine.hasComparisonRules());
+    Assert.assertFalse(engine.flips(9, 2));
+    Card wide = new PlayableCard("wide", Numbers.Two, Numbers.A, Numbers.A, Numbers.A);
+    Card tall = new PlayableCard("tall", Numbers.Nine, Numbers.Two, Numbers.Two, Numbers.Two);
+    Assert.assertTrue(engine.beats(wide, tall, Direction.NORTH));
+    Assert.assertFalse(engine.beats(tall, wide, Direction.SOUTH));
+    Assert.assertFalse(RuleEngine.compile(Set.of(new FlipGreaterRule())).hasComparisonRules());
+
+    RuledThreeTrioModel ruled = new RuledThreeTrioModel(engine);
+    PackedThreeTrioModel packed = new PackedThreeTrioModel(engine);
+    List<List<Cells>> grid = new ReadGridConfig("BoardConfig/NoHolesBoard").parseGrid();
+    List<PlayableCard> deck = new ReadCardConfig("CardConfig/ForPlus").parseCards();
+    ruled.startGame(grid, deck);
+    packed.startGame(grid, deck);
+    int flips = 0;
+    while (!ruled.isGameOver()) {
+      int cell = ruled.nextEmptyCell(0);
+      int row = cell / ruled.getGridWidth();
+      int col = cell % ruled.getGridWidth();
+      int handIdx = ruled.getHandSize(ruled.getTurn()) - 1;
+      Assert.assertEquals(ruled.getFlipCount(ruled.getTurn(), handIdx, row, col),
+              packed.getFlipCount(packed.getTurn(), handIdx, row, col));
+      ruled.playCard(handIdx, row, col);
+      ruled.battle();
+      flips += ruled.getLastFlips().size();
+      packed.playCard(handIdx, row, col);
+      packed.battle();
+      Assert.assertEquals(ruled.getScore(0), packed.getScore(0));
+      Assert.assertEquals(ruled.getScore(1), packed.getScore(1));
+    }
+    Assert.assertTrue(flips > 0);
+  }
+
+  // test RuleEngine.compile() settles reverse and placement rules once, and rejects rules that
+  // are mutually exclusive
+  @Test
+  public void testRuleEngine() {
+    RuleEngine reversed = RuleEngine.compile(Set.of(new ReverseRule(), new SameRule()));
+    Assert.assertTrue(reversed.isReverse());
+    Assert.assertTrue(reversed.hasPlacementRules());
+    Assert.assertTrue(reversed.flips(2, 9));
+    Assert.assertFalse(reversed.flips(9, 2));
+
+    RuleEngine plain = RuleEngine.compile(Set.of(new FlipGreaterRule()));
+    Assert.assertFalse(plain.isReverse());
+    Assert.assertFalse(plain.hasPlacementRules());
+    Card strong = new PlayableCard("strong", Numbers.Nine, Numbers.Nine, Numbers.Nine,
+            Numbers.Nine);
+    Card weak = new PlayableCard("weak", Numbers.Two, Numbers.Two, Numbers.Two, Numbers.Two);
+    Assert.assertTrue(plain.beats(strong, weak, Direction.EAST));
+    Assert.assertFalse(plain.beats(weak, strong, Direction.EAST));
+    Assert.assertEquals(0, plain.placementMask(new CardCell(strong)));
+
+    Assert.assertThrows(IllegalArgumentException.class, () -> RuleEngine.compile(
+            Set.of(new SameRule(), new PlusRule())));
+    Assert.assertThrows(IllegalArgumentException.class, () -> RuleEngine.compile(null));
+  }
+
+  // test RuleRegistry creates the built-in rules by name and adds the FlipGreaterRule when no
+  // pairwise rule is picked
+  @Test
+  public void testRuleRegistry() {
+    RuleRegistry registry = RuleRegistry.load();
+    Assert.assertTrue(registry.getNames().containsAll(
+            Set.of("default", "reverse", "fallen-ace", "same", "plus")));
+    Assert.assertEquals(new FallenAceRule(), registry.create("fallen-ace"));
+    Assert.assertTrue(registry.create("reverse").reversesRules());
+    Assert.assertEquals(Set.of(new FlipGreaterRule()), registry.createAll(List.of()));
+    Assert.assertEquals(Set.of(new SameRule(), new FlipGreaterRule()),
+            registry.createAll(List.of("same")));
+    Assert.assertEquals(Set.of(new PlusRule(), new FallenAceRule()),
+            registry.createAll(List.of("plus", "fallen-ace")));
+    Assert.assertThrows(IllegalArgumentException.class, () -> registry.create("unknown"));
+  }
+  // test a placement rule only scores hits on the neighbors it flips that the player does not
+  // own
+  @Test
+  public void testRuleStatsPlacementHits() {
+    RuleStats stats = new RuleStats(RuleEngine.compile(Set.of(new SameRule(),
+            new FlipGreaterRule())));
+    Cells placed = new CardCell(new PlayableCard("placed", Numbers.Five, Numbers.Five,
+            Numbers.Five, Numbers.Five));
+    placed.changeColor(Colors.Red);
+    Cells own = new CardCell(new PlayableCard("own", Numbers.Two, Numbers.Five, Numbers.Two,
+            Numbers.Two));
+    own.changeColor(Colors.Red);
+    Cells same = new CardCell(new PlayableCard("same", Numbers.Five, Numbers.Two, Numbers.Two,
+            Numbers.Two));
+    same.changeColor(Colors.Blue);
+    Cells other = new CardCell(new PlayableCard("other", Numbers.Two, Numbers.Two, Numbers.Two,
+            Numbers.Three));
+    other.changeColor(Colors.Blue);
+    placed.addNeighbor(own, Direction.NORTH);
+    placed.addNeighbor(same, Direction.SOUTH);
+    placed.addNeighbor(other, Direction.EAST);
+
+    // the own card matches too, so the rule fires, but it is not flipped
+    Assert.assertEquals(0b111, stats.placementMask(placed));
+    Assert.assertEquals(1, stats.getEvaluations("SameRule"));
+    Assert.assertEquals(2, stats.getHits("SameRule"));
+    Assert.assertEquals(0, stats.getEvaluations("FlipGreaterRule"));
+  }
+
+  // test RuleStats counts every battle and rule of a game without changing how it is played,
+  // and stops counting once removed
+  @Test
+  public void testRuleStats() {
+    RuleEngine engine = RuleEngine.compile(Set.of(new SameRule(), new FallenAceRule()));
+    RuledThreeTrioModel counted = new RuledThreeTrioModel(engine);
+    RuledThreeTrioModel plain = new RuledThreeTrioModel(engine);
+    List<List<Cells>> grid = new ReadGridConfig("BoardConfig/NoHolesBoard").parseGrid();
+    List<PlayableCard> deck = new ReadCardConfig("CardConfig/ForPlus").parseCards();
+    counted.startGame(grid, deck);
+    plain.startGame(grid, deck);
+    RuleStats stats = new RuleStats(engine);
+    counted.setRuleStats(stats);
+    Assert.assertSame(stats, counted.getRuleStats());
+
+    int moves = 0;
+    long flips = 0;
+    while (!plain.isGameOver()) {
+      // flip counts are dry runs, not battles
+      long evaluations = stats.getEvaluations("SameRule") + stats.getEvaluations("FallenAceRule");
+      counted.getFlipCounts(counted.getTurn(), false);
+      Assert.assertEquals(evaluations,
+              stats.getEvaluations("SameRule") + stats.getEvaluations("FallenAceRule"));
+      for (int cell = 0; ; cell++) {
+        int row = cell / plain.getGridWidth();
+        int col = cell % plain.getGridWidth();
+        if (plain.checkLegal(row, col)) {
+          flips += counted.applyMove(0, row, col);
+          Assert.assertEquals(plain.applyMove(0, row, col), counted.getLastFlips().size());
+          break;
+        }
+      }
+      moves++;
+    }
+    Assert.assertEquals(plain.getScore(0), counted.getScore(0));
+    Assert.assertEquals(moves, stats.getBattles());
+    Assert.assertEquals(flips, stats.getFlips());
+    long battles = 0;
+    for (long count : stats.getDepthHistogram().values()) {
+      battles += count;
+    }
+    Assert.assertEquals(moves, battles);
+    Assert.assertEquals(moves, stats.getEvaluations("SameRule"));
+    Assert.assertTrue(stats.getEvaluations("FallenAceRule") > 0);
+    Assert.assertTrue(stats.getHits("FallenAceRule") >= stats.getComboHits("FallenAceRule"));
+    Assert.assertTrue(stats.getHits("SameRule") + stats.getHits("FallenAceRule") >= flips);
+    Assert.assertEquals(0, stats.getNanos("FallenAceRule"));
+    Assert.assertTrue(stats.getBattleNanos() > 0);
+    Assert.assertEquals(2, stats.getRuleNames().size());
+    Assert.assertThrows(IllegalArgumentException.class, () -> stats.getHits("PlusRule"));
+
+    counted.setRuleStats(null);
+    int row = counted.lastPlayedRow();
+    int col = counted.lastPlayedCol();
+    counted.undoMove();
+    counted.applyMove(0, row, col);
+    Assert.assertEquals(moves, stats.getBattles());
+    stats.reset();
+    Assert.assertEquals(0, stats.getBattles());
+    Assert.assertEquals(0, stats.getBattleNanos());
+    Assert.assertTrue(stats.getDepthHistogram().isEmpty());
+    Assert.assertThrows(IllegalArgumentException.class, () -> counted.setRuleStats(
+            new RuleStats(RuleEngine.compile(Set.of(new FlipGreaterRule())))));
+  }
 }
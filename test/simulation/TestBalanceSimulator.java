@@ -0,0 +1,120 @@
+package simulation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import filereaders.ReadCardConfig;
+import filereaders.ReadGridConfig;
+import model.Cells;
+import model.PlayableCard;
+import model.ruled.FlipGreaterRule;
+import model.ruled.RuleEngine;
+import model.ruled.RuleRegistry;
+
+/**
+ * A test class to test the public methods of the BalanceSimulator and GameStats classes.
+ */
+public class TestBalanceSimulator {
+  List<List<Cells>> grid;
+  List<PlayableCard> deck;
+  RuleEngine engine;
+
+  @Before
+  public void setup() {
+    this.grid = new ReadGridConfig("BoardConfig/3X3Grid").parseGrid();
+    this.deck = new ReadCardConfig("CardConfig/ForPlus").parseCards();
+    this.engine = RuleEngine.compile(Set.of(new FlipGreaterRule()));
+  }
+
+  // test record() and merge() keep the totals of every game
+  @Test
+  public void testGameStats() {
+    GameStats stats = new GameStats();
+    stats.record(6, 4);
+    stats.record(5, 5);
+    GameStats other = new GameStats();
+    other.record(3, 7);
+    other.record(8, 2);
+    stats.merge(other);
+    Assert.assertEquals(4, stats.getGames());
+    Assert.assertEquals(2, stats.getFirstWins());
+    Assert.assertEquals(1, stats.getSecondWins());
+    Assert.assertEquals(1, stats.getTies());
+    Assert.assertEquals(5.5, stats.getAverageFirstScore(), 1e-9);
+    Assert.assertEquals(4.5, stats.getAverageSecondScore(), 1e-9);
+    Assert.assertEquals(0.25, stats.getFirstPlayerAdvantage(), 1e-9);
+    Assert.assertEquals(0, new GameStats().getFirstPlayerAdvantage(), 1e-9);
+    Assert.assertThrows(IllegalArgumentException.class, () -> stats.record(-1, 3));
+    Assert.assertThrows(IllegalArgumentException.class, () -> stats.merge(null));
+  }
+
+  // test run() plays every game, and its totals do not depend on how many threads play them
+  @Test
+  public void testRunMatchesSequentialPlay() {
+    BalanceSimulator simulator = new BalanceSimulator(this.grid, this.deck, this.engine,
+            SimulatedStrategy.FLIP_MOST, SimulatedStrategy.CORNER);
+    List<GameStats> updates = new ArrayList<>();
+    GameStats parallel = simulator.run(300, 7, new ForkJoinPool(4), updates::add);
+
+    GameStats sequential = new GameStats();
+    for (int gameIdx = 0; gameIdx < 300; gameIdx++) {
+      sequential.merge(simulator.play(gameIdx, 7));
+    }
+    Assert.assertEquals(300, parallel.getGames());
+    Assert.assertEquals(300,
+            parallel.getFirstWins() + parallel.getSecondWins() + parallel.getTies());
+    Assert.assertEquals(sequential.toString(), parallel.toString());
+    Assert.assertEquals(sequential.toString(),
+            simulator.run(300, 7, new ForkJoinPool(1), stats -> { }).toString());
+
+    // the progress updates only grow and end with the totals
+    Assert.assertFalse(updates.isEmpty());
+    for (int index = 1; index < updates.size(); index++) {
+      Assert.assertTrue(updates.get(index).getGames() > updates.get(index - 1).getGames());
+    }
+    Assert.assertEquals(parallel.toString(), updates.get(updates.size() - 1).toString());
+  }
+
+  // test run() rejects a deck too small for the board before playing
+  @Test
+  public void testRunRejectsSmallDeck() {
+    BalanceSimulator simulator = new BalanceSimulator(this.grid, this.deck.subList(0, 5),
+            this.engine, SimulatedStrategy.CORNER, SimulatedStrategy.CORNER);
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> simulator.run(10, 0, ForkJoinPool.commonPool(), stats -> { }));
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> new BalanceSimulator(null, this.deck, this.engine,
+                    SimulatedStrategy.CORNER, SimulatedStrategy.CORNER));
+  }
+
+  // test ruleSets() keeps each legal combination of rules once
+  @Test
+  public void testRuleSets() {
+    Map<String, RuleEngine> ruleSets = BalanceSimulator.ruleSets(RuleRegistry.load());
+    Assert.assertTrue(ruleSets.containsKey("default"));
+    Assert.assertTrue(ruleSets.containsKey("reverse"));
+    Assert.assertTrue(ruleSets.containsKey("same"));
+    Assert.assertTrue(ruleSets.containsKey("reverse+fallen-ace+plus"));
+    Assert.assertFalse(ruleSets.containsKey("default+reverse"));
+    Assert.assertFalse(ruleSets.containsKey("default+same"));
+    Assert.assertFalse(ruleSets.containsKey("same+plus"));
+    Assert.assertTrue(ruleSets.get("reverse").isReverse());
+    Assert.assertTrue(ruleSets.get("same").hasPlacementRules());
+  }
+
+  // test fromName() finds the strategies by the names ThreeTrios uses
+  @Test
+  public void testSimulatedStrategyFromName() {
+    Assert.assertEquals(SimulatedStrategy.CORNER, SimulatedStrategy.fromName("strategy1"));
+    Assert.assertEquals(SimulatedStrategy.MIN_MAX, SimulatedStrategy.fromName("strategy4"));
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> SimulatedStrategy.fromName("human"));
+  }
+}
@@ -0,0 +1,88 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+import filereaders.ReadCardConfig;
+import filereaders.ReadGridConfig;
+import model.PlayableCard;
+import model.ThreeTrioGameModel;
+import model.ruled.RuleEngine;
+import model.ruled.RuledThreeTrioModel;
+
+/**
+ * Games shared by the tests of the strategies: games started with a shuffled deck, and games
+ * played out against the flip most cards strategy.
+ */
+final class StrategyGames {
+  private StrategyGames() {
+    // only static helpers
+  }
+
+  // Starts a game on the 3x3 grid with the ForPlus cards shuffled by the given seed.
+  static ThreeTrioGameModel<PlayableCard> start(RuleEngine engine, long seed) {
+    return start(engine, "3X3Grid", "ForPlus", seed);
+  }
+
+  // Starts a game on the given board with the given cards shuffled by the given seed.
+  static ThreeTrioGameModel<PlayableCard> start(RuleEngine engine, String board, String cards,
+                                                long seed) {
+    List<PlayableCard> deck = new ArrayList<>(new ReadCardConfig("CardConfig/" + cards)
+            .parseCards());
+    Collections.shuffle(deck, new Random(seed));
+    ThreeTrioGameModel<PlayableCard> model = new RuledThreeTrioModel(engine);
+    model.startGame(new ReadGridConfig("BoardConfig/" + board).parseGrid(), deck);
+    return model;
+  }
+
+  // Plays the given move and its battle.
+  static void play(ThreeTrioGameModel<PlayableCard> model, Tuple<Coordinate, Integer> move) {
+    model.playCard(move.getValue(), move.getKey().getX(), move.getKey().getY());
+    model.battle();
+  }
+
+  // Plays the given number of moves of the flip most cards strategy, for both players.
+  static void playFlipMost(ThreeTrioGameModel<PlayableCard> model, int moves) {
+    FlipMostCardsStrategy<PlayableCard> flipMost = new FlipMostCardsStrategy<>();
+    for (int move = 0; move < moves; move++) {
+      play(model, flipMost.selectTile(model, model.getTurn()));
+    }
+  }
+
+  // Plays a game from either seat for each of the first six seeds, with the strategy made for
+  // the seed against the flip most cards strategy. Returns the games the strategy won, then
+  // the games it lost.
+  static int[] recordAgainstFlipMost(RuleEngine engine,
+                                     LongFunction<InfailableThreeTrioStrategy<PlayableCard>>
+                                             strategies) {
+    int[] record = new int[2];
+    FlipMostCardsStrategy<PlayableCard> flipMost = new FlipMostCardsStrategy<>();
+    for (long seed = 0; seed < 6; seed++) {
+      for (int strategyIdx = 0; strategyIdx < 2; strategyIdx++) {
+        ThreeTrioGameModel<PlayableCard> model = start(engine, seed);
+        InfailableThreeTrioStrategy<PlayableCard> strategy = strategies.apply(seed);
+        while (!model.isGameOver()) {
+          int turn = model.getTurn();
+          play(model, turn == strategyIdx
+                  ? strategy.selectTile(model, turn).get(0) : flipMost.selectTile(model, turn));
+        }
+        int difference = model.getScore(strategyIdx) - model.getScore(1 - strategyIdx);
+        record[0] += difference > 0 ? 1 : 0;
+        record[1] += difference < 0 ? 1 : 0;
+      }
+    }
+    return record;
+  }
+
+  // The moves of the given list as strings, in order.
+  static List<String> asStrings(List<Tuple<Coordinate, Integer>> moves) {
+    List<String> strings = new ArrayList<>();
+    for (Tuple<Coordinate, Integer> move : moves) {
+      strings.add(move.getKey().getX() + "," + move.getKey().getY() + ":" + move.getValue());
+    }
+    return strings;
+  }
+}
@@ -0,0 +1,142 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import model.PlayableCard;
+import model.ThreeTrioGameModel;
+import model.packed.PackedThreeTrioModel;
+import model.ruled.FlipGreaterRule;
+import model.ruled.RuleEngine;
+import model.ruled.RuledThreeTrioModel;
+import model.ruled.SameRule;
+
+/**
+ * A test class to test the public methods of the AlphaBetaStrategy class.
+ */
+public class TestAlphaBetaStrategy {
+  RuleEngine engine;
+
+  @Before
+  public void setup() {
+    this.engine = RuleEngine.compile(Set.of(new FlipGreaterRule()));
+  }
+
+  // tests a full search never loses to the flip most cards strategy from either seat
+  @Test
+  public void testBeatsFlipMost() {
+    int[] record = StrategyGames.recordAgainstFlipMost(this.engine,
+        seed -> new AlphaBetaStrategy<>(this.engine, 10_000));
+    Assert.assertEquals(0, record[1]);
+    Assert.assertTrue(record[0] > 0);
+  }
+
+  // tests the search looks at every move left when it has the time, and never at the model
+  @Test
+  public void testSearchesToTheEnd() {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(this.engine, 1);
+    model.playCard(0, 1, 1);
+    model.battle();
+    long hash = model.getPositionHash();
+    AlphaBetaStrategy<PlayableCard> search = new AlphaBetaStrategy<>(this.engine, 10_000);
+    List<Tuple<Coordinate, Integer>> moves = search.selectTile(model, 1);
+    Assert.assertFalse(moves.isEmpty());
+    Assert.assertEquals(8, search.getCompletedDepth());
+    Assert.assertEquals(hash, model.getPositionHash());
+    for (Tuple<Coordinate, Integer> move : moves) {
+      Assert.assertTrue(model.checkLegal(move.getKey().getX(), move.getKey().getY()));
+    }
+
+    AlphaBetaStrategy<PlayableCard> shallow = new AlphaBetaStrategy<>(this.engine, 10_000, 2);
+    Assert.assertFalse(shallow.selectTile(model, 1).isEmpty());
+    Assert.assertEquals(2, shallow.getCompletedDepth());
+  }
+
+  // The moves of the given list as strings, in no particular order.
+  private Set<String> asSet(List<Tuple<Coordinate, Integer>> moves) {
+    return new HashSet<>(StrategyGames.asStrings(moves));
+  }
+
+  // tests a full search finds the same best moves with or without a table, shared or not
+  @Test
+  public void testTranspositionTable() {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(this.engine, 3);
+    model.playCard(0, 0, 0);
+    model.battle();
+    TranspositionTable shared = new TranspositionTable(1 << 12);
+    Set<String> expected = this.asSet(new AlphaBetaStrategy<PlayableCard>(this.engine, 10_000,
+            Integer.MAX_VALUE, null).selectTile(model, 1));
+    Assert.assertEquals(expected, this.asSet(new AlphaBetaStrategy<PlayableCard>(this.engine,
+            10_000).selectTile(model, 1)));
+    Assert.assertEquals(expected, this.asSet(new AlphaBetaStrategy<PlayableCard>(this.engine,
+            10_000, Integer.MAX_VALUE, shared).selectTile(model, 1)));
+    // a second search on the same table finds the position already searched
+    PackedThreeTrioModel position = new PackedThreeTrioModel(this.engine);
+    position.startFrom(model);
+    Assert.assertNotEquals(TranspositionTable.NOT_FOUND,
+            shared.probe(TranspositionTable.keyOf(position)));
+    Assert.assertEquals(expected, this.asSet(new AlphaBetaStrategy<PlayableCard>(this.engine,
+            10_000, Integer.MAX_VALUE, shared).selectTile(model, 1)));
+  }
+
+  // tests a search out of time still returns the moves of the first finished search
+  @Test
+  public void testBudget() {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(this.engine, "NoHolesBoard",
+            "EnoughForAnyBoards", 0);
+    AlphaBetaStrategy<PlayableCard> search = new AlphaBetaStrategy<>(this.engine, 50);
+    long start = System.nanoTime();
+    Assert.assertFalse(search.selectTile(model, 0).isEmpty());
+    Assert.assertTrue(search.getCompletedDepth() >= 1);
+    Assert.assertTrue(search.getCompletedDepth() < model.getEmptyCellCount());
+    Assert.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+  }
+
+  // tests the search plays by the rules of the game it is given
+  @Test
+  public void testPlaysByRules() {
+    RuleEngine same = RuleEngine.compile(Set.of(new FlipGreaterRule(), new SameRule()));
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(same, 2);
+    AlphaBetaStrategy<PlayableCard> search = new AlphaBetaStrategy<>(same, 10_000, 1);
+    while (!model.isGameOver()) {
+      int turn = model.getTurn();
+      int most = -1;
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 3; col++) {
+          for (int card = 0; card < model.getHandSize(turn) && model.checkLegal(row, col);
+               card++) {
+            int flips = model.getFlipCount(turn, card, row, col);
+            most = Math.max(most, flips);
+          }
+        }
+      }
+      // one move ahead, the best moves are the ones flipping the most cards under these rules
+      Tuple<Coordinate, Integer> move = search.selectTile(model, turn).get(0);
+      Assert.assertEquals(most, model.getFlipCount(turn, move.getValue(),
+              move.getKey().getX(), move.getKey().getY()));
+      StrategyGames.play(model, move);
+    }
+    Assert.assertTrue(search.selectTile(model, model.getTurn()).isEmpty());
+  }
+
+  // tests bad inputs throw exceptions
+  @Test
+  public void testBadInputs() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AlphaBetaStrategy<PlayableCard>(null, 100));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AlphaBetaStrategy<PlayableCard>(this.engine, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AlphaBetaStrategy<PlayableCard>(this.engine, 100, 0));
+    AlphaBetaStrategy<PlayableCard> search = new AlphaBetaStrategy<>(this.engine, 100);
+    Assert.assertThrows(IllegalStateException.class,
+        () -> search.selectTile(new RuledThreeTrioModel(this.engine), 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> search.selectTile(StrategyGames.start(this.engine, 0), 1));
+  }
+}
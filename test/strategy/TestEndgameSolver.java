@@ -0,0 +1,156 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import model.PlayableCard;
+import model.ThreeTrioGameModel;
+import model.packed.PackedThreeTrioModel;
+import model.ruled.FlipGreaterRule;
+import model.ruled.RuleEngine;
+import model.ruled.RuledThreeTrioModel;
+import model.ruled.SameRule;
+
+/**
+ * A test class to test the public methods of the EndgameSolver class.
+ */
+public class TestEndgameSolver {
+  RuleEngine engine;
+
+  @Before
+  public void setup() {
+    this.engine = RuleEngine.compile(Set.of(new FlipGreaterRule()));
+  }
+
+  // Starts a game with the deck shuffled by the given seed, and plays the given number of
+  // moves of the flip most cards strategy.
+  private ThreeTrioGameModel<PlayableCard> start(RuleEngine engine, long seed, int moves) {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(engine, seed);
+    StrategyGames.playFlipMost(model, moves);
+    return model;
+  }
+
+  // The margin of the given position found by trying every move of every card, one by one.
+  private int bruteForce(PackedThreeTrioModel position) {
+    int player = position.getTurn();
+    if (position.isGameOver()) {
+      return position.getScore(player) - position.getScore(1 - player);
+    }
+    int best = Integer.MIN_VALUE;
+    int width = position.getGridWidth();
+    for (int cell = position.nextEmptyCell(0); cell >= 0;
+         cell = position.nextEmptyCell(cell + 1)) {
+      for (int handIdx = 0; handIdx < position.getHandSize(player); handIdx++) {
+        PackedThreeTrioModel next = position.copy();
+        next.playCard(handIdx, cell / width, cell % width);
+        next.battle();
+        best = Math.max(best, -this.bruteForce(next));
+      }
+    }
+    return best;
+  }
+
+  // A strategy that must never be asked for moves.
+  private InfailableThreeTrioStrategy<PlayableCard> unused() {
+    return (model, playerIdx) -> {
+      throw new AssertionError("The game should have been solved.");
+    };
+  }
+
+  // tests the solver finds the same margin as trying every move, under different rules, and
+  // never touches the model
+  @Test
+  public void testMatchesBruteForce() {
+    RuleEngine same = RuleEngine.compile(Set.of(new FlipGreaterRule(), new SameRule()));
+    for (RuleEngine rules : List.of(this.engine, same)) {
+      for (long seed = 0; seed < 4; seed++) {
+        ThreeTrioGameModel<PlayableCard> model = this.start(rules, seed, 3);
+        long hash = model.getPositionHash();
+        EndgameSolver<PlayableCard> solver = new EndgameSolver<>(rules, 6, this.unused());
+        Assert.assertFalse(solver.selectTile(model, model.getTurn()).isEmpty());
+        Assert.assertTrue(solver.isSolved());
+        Assert.assertEquals(hash, model.getPositionHash());
+
+        PackedThreeTrioModel position = new PackedThreeTrioModel(rules);
+        position.startFrom(model);
+        Assert.assertEquals(this.bruteForce(position), solver.getMargin());
+      }
+    }
+  }
+
+  // tests every move returned keeps the margin, and playing them out ends the game with it
+  @Test
+  public void testBestMovesKeepTheMargin() {
+    ThreeTrioGameModel<PlayableCard> model = this.start(this.engine, 5, 2);
+    EndgameSolver<PlayableCard> solver = new EndgameSolver<>(this.engine, 9, this.unused());
+    int turn = model.getTurn();
+    List<Tuple<Coordinate, Integer>> moves = solver.selectTile(model, turn);
+    int margin = solver.getMargin();
+    for (Tuple<Coordinate, Integer> move : moves) {
+      PackedThreeTrioModel position = new PackedThreeTrioModel(this.engine);
+      position.startFrom(model);
+      position.playCard(move.getValue(), move.getKey().getX(), move.getKey().getY());
+      position.battle();
+      Assert.assertEquals(margin, -this.bruteForce(position));
+    }
+
+    while (!model.isGameOver()) {
+      StrategyGames.play(model, solver.selectTile(model, model.getTurn()).get(0));
+    }
+    Assert.assertEquals(margin, model.getScore(turn) - model.getScore(1 - turn));
+    Assert.assertTrue(solver.selectTile(model, model.getTurn()).isEmpty());
+  }
+
+  // tests the other strategy plays while too many card cells are empty
+  @Test
+  public void testThreshold() {
+    ThreeTrioGameModel<PlayableCard> model = this.start(this.engine, 1, 4);
+    List<Tuple<Coordinate, Integer>> fixed = List.of(new Tuple<>(new Coordinate(0, 0), 0));
+    EndgameSolver<PlayableCard> solver = new EndgameSolver<>(this.engine, 4,
+        (position, playerIdx) -> fixed);
+    Assert.assertSame(fixed, solver.selectTile(model, model.getTurn()));
+    Assert.assertFalse(solver.isSolved());
+    Assert.assertThrows(IllegalStateException.class, solver::getMargin);
+
+    StrategyGames.playFlipMost(model, 1);
+    Assert.assertNotSame(fixed, solver.selectTile(model, model.getTurn()));
+    Assert.assertTrue(solver.isSolved());
+  }
+
+  // tests a solver used on one board solves a board of another shape like a new solver, though
+  // both start from the same position hash
+  @Test
+  public void testAnotherBoard() {
+    ThreeTrioGameModel<PlayableCard> small = StrategyGames.start(this.engine, "SmallBoard",
+            "EnoughForAnyBoards", 0);
+    ThreeTrioGameModel<PlayableCard> plus = StrategyGames.start(this.engine, "Plus",
+            "EnoughForAnyBoards", 0);
+    Assert.assertEquals(small.getPositionHash(), plus.getPositionHash());
+    EndgameSolver<PlayableCard> solver = new EndgameSolver<>(this.engine, 9, this.unused());
+    solver.selectTile(small, 0);
+    List<String> moves = StrategyGames.asStrings(solver.selectTile(plus, 0));
+    EndgameSolver<PlayableCard> fresh = new EndgameSolver<>(this.engine, 9, this.unused());
+    Assert.assertEquals(StrategyGames.asStrings(fresh.selectTile(plus, 0)), moves);
+    Assert.assertEquals(fresh.getMargin(), solver.getMargin());
+  }
+
+  // tests bad inputs throw exceptions
+  @Test
+  public void testBadInputs() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new EndgameSolver<>(null, 4, this.unused()));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new EndgameSolver<>(this.engine, 4, null));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new EndgameSolver<>(this.engine, 0, this.unused()));
+    EndgameSolver<PlayableCard> solver = new EndgameSolver<>(this.engine, 9, this.unused());
+    Assert.assertThrows(IllegalStateException.class,
+        () -> solver.selectTile(new RuledThreeTrioModel(this.engine), 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> solver.selectTile(this.start(this.engine, 0, 0), 1));
+  }
+}
@@ -0,0 +1,54 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import model.PlayableCard;
+import model.ThreeTrioGameModel;
+import model.ruled.FlipGreaterRule;
+import model.ruled.RuleEngine;
+
+/**
+ * A test class to test the public methods of the MinMaxStrategy class.
+ */
+public class TestMinMaxStrategy {
+  // Plays a game with the strategy for both players, checking on every turn that the moves
+  // selected are legal and are the moves expected, given as the hash code of their strings.
+  private void playExpected(ThreeTrioGameModel<PlayableCard> model, int[] expected) {
+    int move = 0;
+    while (!model.isGameOver()) {
+      int turn = model.getTurn();
+      List<Tuple<Coordinate, Integer>> moves = new MinMaxStrategy<PlayableCard>()
+              .selectTile(model, turn);
+      Assert.assertFalse(moves.isEmpty());
+      for (Tuple<Coordinate, Integer> tuple : moves) {
+        Assert.assertTrue(model.checkLegal(tuple.getKey().getX(), tuple.getKey().getY()));
+        Assert.assertTrue(tuple.getValue() < model.getHandSize(turn));
+      }
+      Assert.assertEquals("moves of turn " + move, expected[move],
+              StrategyGames.asStrings(moves).hashCode());
+      StrategyGames.play(model, moves.get(0));
+      move++;
+    }
+    Assert.assertEquals(expected.length, move);
+  }
+
+  // tests the moves evaluated in parallel are the moves, in the same order, that evaluating
+  // them one after another returned, as recorded from that sequential loop
+  @Test
+  public void testSelectTileMatchesSequential() {
+    RuleEngine engine = RuleEngine.compile(Set.of(new FlipGreaterRule()));
+    this.playExpected(StrategyGames.start(engine, 2), new int[] {
+        -1479622196, 203203907, 1087439183, -2122821427, -1759142100, -1391195775, 103493476,
+        -1241164125, 47536781});
+    this.playExpected(StrategyGames.start(engine, "HoleAndCardCellBoard",
+            "EnoughForAnyBoards", 0), new int[] {
+        1828715943, -1310625203, -1175155175, -830022465, -1884232981, -865343365, -1585292335,
+        3289729, 1065932221, 391696569, -541393678, 463271939, -17064894, 1144953215,
+        1431317570, -1735408063, -1794275377, 743794253, 267227888, 155237827, -1854848796,
+        -157231197, 49385745});
+  }
+}
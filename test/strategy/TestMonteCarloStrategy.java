@@ -0,0 +1,128 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import model.PlayableCard;
+import model.ThreeTrioGameModel;
+import model.ruled.FlipGreaterRule;
+import model.ruled.RuleEngine;
+import model.ruled.RuledThreeTrioModel;
+
+/**
+ * A test class to test the public methods of the MonteCarloStrategy class.
+ */
+public class TestMonteCarloStrategy {
+  RuleEngine engine;
+
+  @Before
+  public void setup() {
+    this.engine = RuleEngine.compile(Set.of(new FlipGreaterRule()));
+  }
+
+  // A strategy playing out the given number of games on the given number of threads.
+  private MonteCarloStrategy<PlayableCard> search(int iterations, int threads, long seed) {
+    return new MonteCarloStrategy<>(this.engine, 60_000, iterations, threads, 1 << 16,
+            MonteCarloStrategy.Rollout.GREEDY, seed);
+  }
+
+  // tests the search wins more than it loses against the flip most cards strategy
+  @Test
+  public void testBeatsFlipMost() {
+    int[] record = StrategyGames.recordAgainstFlipMost(this.engine,
+        seed -> this.search(2000, 1, seed));
+    Assert.assertTrue(record[0] > record[1]);
+  }
+
+  // tests a search on one thread picks the same legal moves for the same seed, and never
+  // touches the model
+  @Test
+  public void testSameSeedSameMoves() {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(this.engine, 1);
+    model.playCard(0, 1, 1);
+    model.battle();
+    long hash = model.getPositionHash();
+    MonteCarloStrategy<PlayableCard> search = this.search(3000, 1, 7);
+    List<Tuple<Coordinate, Integer>> moves = search.selectTile(model, 1);
+    Assert.assertFalse(moves.isEmpty());
+    Assert.assertEquals(3000, search.getIterations());
+    Assert.assertTrue(search.getNodeCount() > 1);
+    Assert.assertEquals(hash, model.getPositionHash());
+    for (Tuple<Coordinate, Integer> move : moves) {
+      Assert.assertTrue(model.checkLegal(move.getKey().getX(), move.getKey().getY()));
+    }
+    Assert.assertEquals(StrategyGames.asStrings(moves),
+            StrategyGames.asStrings(this.search(3000, 1, 7).selectTile(model, 1)));
+  }
+
+  // tests searching on several threads plays out exactly the games it was given
+  @Test
+  public void testThreads() {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(this.engine, 2);
+    MonteCarloStrategy<PlayableCard> search = this.search(4000, 4, 3);
+    for (int move = 0; move < 3; move++) {
+      List<Tuple<Coordinate, Integer>> moves = search.selectTile(model, model.getTurn());
+      Assert.assertEquals(4000, search.getIterations());
+      Tuple<Coordinate, Integer> best = moves.get(0);
+      Assert.assertTrue(model.checkLegal(best.getKey().getX(), best.getKey().getY()));
+      StrategyGames.play(model, best);
+    }
+  }
+
+  // tests a search out of time stops early with the moves played out so far
+  @Test
+  public void testBudget() {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(this.engine, "NoHolesBoard",
+            "EnoughForAnyBoards", 0);
+    MonteCarloStrategy<PlayableCard> search = new MonteCarloStrategy<>(this.engine, 50);
+    long start = System.nanoTime();
+    Assert.assertFalse(search.selectTile(model, 0).isEmpty());
+    Assert.assertTrue(search.getIterations() >= 1);
+    Assert.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+  }
+
+  // tests a full tree only stops the tree from growing, and a finished game has no moves
+  @Test
+  public void testSmallTree() {
+    ThreeTrioGameModel<PlayableCard> model = StrategyGames.start(this.engine, 4);
+    MonteCarloStrategy<PlayableCard> search = new MonteCarloStrategy<>(this.engine, 60_000,
+            500, 1, 64, MonteCarloStrategy.Rollout.RANDOM, 5);
+    while (!model.isGameOver()) {
+      Tuple<Coordinate, Integer> move = search.selectTile(model, model.getTurn()).get(0);
+      Assert.assertTrue(search.getNodeCount() <= 64);
+      StrategyGames.play(model, move);
+    }
+    Assert.assertTrue(search.selectTile(model, model.getTurn()).isEmpty());
+    Assert.assertEquals(0, search.getIterations());
+  }
+
+  // tests bad inputs throw exceptions
+  @Test
+  public void testBadInputs() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy<PlayableCard>(null, 100));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy<PlayableCard>(this.engine, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy<PlayableCard>(this.engine, 100, 0, 1, 16,
+                MonteCarloStrategy.Rollout.RANDOM, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy<PlayableCard>(this.engine, 100, 10, 0, 16,
+                MonteCarloStrategy.Rollout.RANDOM, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy<PlayableCard>(this.engine, 100, 10, 1, 16, null, 0));
+    MonteCarloStrategy<PlayableCard> search = this.search(10, 1, 0);
+    Assert.assertThrows(IllegalStateException.class,
+        () -> search.selectTile(new RuledThreeTrioModel(this.engine), 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> search.selectTile(StrategyGames.start(this.engine, 0), 1));
+    MonteCarloStrategy<PlayableCard> tiny = new MonteCarloStrategy<>(this.engine, 100, 10, 1, 4,
+            MonteCarloStrategy.Rollout.RANDOM, 0);
+    Assert.assertThrows(IllegalStateException.class,
+        () -> tiny.selectTile(StrategyGames.start(this.engine, 0), 0));
+  }
+}
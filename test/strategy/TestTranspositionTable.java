@@ -0,0 +1,102 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+
+import filereaders.ReadCardConfig;
+import filereaders.ReadGridConfig;
+import model.packed.PackedThreeTrioModel;
+import model.ruled.FlipGreaterRule;
+import model.ruled.RuleEngine;
+
+/**
+ * A test class to test the public methods of the TranspositionTable class.
+ */
+public class TestTranspositionTable {
+  // test stored entries are found with everything they were stored with
+  @Test
+  public void testStoreAndProbe() {
+    TranspositionTable table = new TranspositionTable(16);
+    Assert.assertEquals(TranspositionTable.NOT_FOUND, table.probe(42L));
+    table.store(42L, 3, TranspositionTable.LOWER, -7, 12);
+    int slot = table.probe(42L);
+    Assert.assertNotEquals(TranspositionTable.NOT_FOUND, slot);
+    Assert.assertEquals(3, table.getDepth(slot));
+    Assert.assertEquals(TranspositionTable.LOWER, table.getBound(slot));
+    Assert.assertEquals(-7, table.getScore(slot));
+    Assert.assertEquals(12, table.getMove(slot));
+    Assert.assertEquals(TranspositionTable.NOT_FOUND, table.probe(43L));
+
+    table.store(42L, 1, TranspositionTable.EXACT, 5, 6);
+    Assert.assertEquals(1, table.getDepth(table.probe(42L)));
+    table.clear();
+    Assert.assertEquals(TranspositionTable.NOT_FOUND, table.probe(42L));
+  }
+
+  // test the first slot of a bucket keeps the deepest search and the second the latest one
+  @Test
+  public void testReplacement() {
+    TranspositionTable table = new TranspositionTable(4); // two buckets, even keys share one
+    table.store(0L, 5, TranspositionTable.EXACT, 1, 1);
+    table.store(2L, 2, TranspositionTable.EXACT, 2, 2);
+    table.store(4L, 3, TranspositionTable.EXACT, 3, 3);
+    Assert.assertEquals(1, table.getScore(table.probe(0L)));
+    Assert.assertEquals(TranspositionTable.NOT_FOUND, table.probe(2L));
+    Assert.assertEquals(3, table.getScore(table.probe(4L)));
+
+    // a deeper search takes the first slot and moves the old one to the second
+    table.store(6L, 5, TranspositionTable.UPPER, 4, 4);
+    Assert.assertEquals(4, table.getScore(table.probe(6L)));
+    Assert.assertEquals(1, table.getScore(table.probe(0L)));
+    Assert.assertEquals(TranspositionTable.NOT_FOUND, table.probe(4L));
+    Assert.assertEquals(TranspositionTable.NOT_FOUND, table.probe(1L));
+  }
+
+  // test the capacity is rounded up to a power of two
+  @Test
+  public void testCapacity() {
+    Assert.assertEquals(2, new TranspositionTable(2).getCapacity());
+    Assert.assertEquals(8, new TranspositionTable(5).getCapacity());
+    Assert.assertEquals(1024, new TranspositionTable(1024).getCapacity());
+  }
+
+  // test bad inputs throw exceptions
+  @Test
+  public void testBadInputs() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(1));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new TranspositionTable(Integer.MAX_VALUE));
+    TranspositionTable table = new TranspositionTable(8);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> table.store(1L, -1, TranspositionTable.EXACT, 0, 0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> table.store(1L, 1, 0, 0, 0));
+  }
+
+  // Starts a game on the given board with the cards in the order of their file.
+  private PackedThreeTrioModel start(RuleEngine engine, String board) {
+    PackedThreeTrioModel position = new PackedThreeTrioModel(engine);
+    position.startGame(new ReadGridConfig("BoardConfig/" + board).parseGrid(),
+            new ReadCardConfig("CardConfig/EnoughForAnyBoards").parseCards());
+    return position;
+  }
+
+  // test the same position hash on boards of different shapes is kept under different keys
+  @Test
+  public void testKeyOf() {
+    RuleEngine engine = RuleEngine.compile(Set.of(new FlipGreaterRule()));
+    PackedThreeTrioModel small = this.start(engine, "SmallBoard");
+    PackedThreeTrioModel plus = this.start(engine, "Plus");
+    // both boards have five card cells, so the same hands are dealt and nothing is played yet
+    Assert.assertEquals(small.getPositionHash(), plus.getPositionHash());
+    Assert.assertNotEquals(TranspositionTable.keyOf(small), TranspositionTable.keyOf(plus));
+    Assert.assertEquals(TranspositionTable.keyOf(small),
+            TranspositionTable.keyOf(this.start(engine, "SmallBoard")));
+
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(TranspositionTable.keyOf(small), 5, TranspositionTable.EXACT, 1, 0);
+    Assert.assertEquals(TranspositionTable.NOT_FOUND, table.probe(TranspositionTable.keyOf(plus)));
+  }
+}